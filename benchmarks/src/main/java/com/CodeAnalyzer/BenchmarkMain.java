@@ -0,0 +1,54 @@
+package com.CodeAnalyzer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Point d'entrée des benchmarks.
+ * Accepte les options habituelles de JMH ; sauf indication contraire ({@code -rf}/{@code -rff}),
+ * les résultats sont écrits en JSON dans {@code jmh-result-<version>.json} pour comparer les versions.
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+            return;
+        }
+
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            ResultFormatType format = commandLine.getResultFormat().orElse(ResultFormatType.JSON);
+            builder.result("jmh-result-" + version() + "." + format.name().toLowerCase());
+        }
+        Options options = builder.build();
+        run(options);
+    }
+
+    private static void run(Options options) throws RunnerException {
+        new Runner(options).run();
+    }
+
+    /**
+     * Version de l'analyseur mesurée, renseignée par Maven à la construction.
+     */
+    private static String version() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = BenchmarkMain.class.getResourceAsStream("/benchmarks.properties")) {
+            if (in != null) properties.load(in);
+        }
+        return properties.getProperty("version", "dev");
+    }
+}
@@ -0,0 +1,103 @@
+package com.CodeAnalyzer;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Construction du graphe d'appel, recherche des appelants et calcul de la profondeur.
+ * Le graphe synthétique relie chaque méthode à des méthodes proches (longues chaînes)
+ * et contient quelques arêtes retour pour former des cycles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CallGraphBenchmark {
+    private static final int EDGES_PER_METHOD = 8;
+    private static final int LOOKUPS = 1_000;
+
+    @Param({"1000", "10000", "100000"})
+    public int methods;
+
+    private String[] callers;
+    private String[] callees;
+    private String[] lookups;
+    private CallGraph mutableGraph;
+    private CallGraph frozenGraph;
+    private CompactCallGraph compactGraph;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] names = new String[methods];
+        for (int i = 0; i < methods; i++) {
+            names[i] = "Class" + (i / 20) + ".method" + i;
+        }
+
+        int edges = methods * EDGES_PER_METHOD;
+        callers = new String[edges];
+        callees = new String[edges];
+        for (int e = 0; e < edges; e++) {
+            int caller = e / EDGES_PER_METHOD;
+            int callee = random.nextInt(100) == 0
+                ? random.nextInt(caller + 1)
+                : Math.min(methods - 1, caller + 1 + random.nextInt(50));
+            callers[e] = names[caller];
+            callees[e] = names[callee];
+        }
+
+        lookups = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = names[random.nextInt(methods)];
+        }
+
+        mutableGraph = buildGraph();
+        frozenGraph = buildGraph();
+        frozenGraph.freeze();
+        compactGraph = mutableGraph.compactView();
+    }
+
+    private CallGraph buildGraph() {
+        CallGraph graph = new CallGraph();
+        for (int e = 0; e < callers.length; e++) {
+            graph.addCall(callers[e], callees[e]);
+        }
+        return graph;
+    }
+
+    @Benchmark
+    public CallGraph addCall() {
+        return buildGraph();
+    }
+
+    @Benchmark
+    public CompactCallGraph freeze() {
+        return mutableGraph.compactView();
+    }
+
+    @Benchmark
+    public int getCallersMutable() {
+        int total = 0;
+        for (String method : lookups) {
+            total += mutableGraph.getCallers(method).size();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int getCallersFrozen() {
+        int total = 0;
+        for (String method : lookups) {
+            total += frozenGraph.getCallers(method).size();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int maxCallDepth() {
+        return new StronglyConnectedComponents(compactGraph).maxDepth();
+    }
+}
@@ -0,0 +1,52 @@
+package com.CodeAnalyzer;
+
+import com.github.javaparser.JavaParser;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Analyse et extraction d'un fichier source, pour des classes de tailles croissantes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtractionBenchmark {
+    @Param({"10", "100", "1000"})
+    public int methods;
+
+    private CodeAnalyzer analyzer;
+    private Path file;
+    private byte[] content;
+    private String source;
+
+    @Setup
+    public void setUp() throws IOException {
+        source = SyntheticSources.javaClass("bench", "Generated", methods, 8, 3, 42);
+        content = source.getBytes(StandardCharsets.UTF_8);
+        file = Files.createTempFile("Generated", ".java");
+        Files.write(file, content);
+        analyzer = new CodeAnalyzer();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Object parseOnly() {
+        return new JavaParser().parse(source).getResult().orElseThrow();
+    }
+
+    @Benchmark
+    public Object parseAndExtract() {
+        return analyzer.parseJavaFile(file, file.toString(), SourcePrefetcher.Content.of(content));
+    }
+}
@@ -0,0 +1,49 @@
+package com.CodeAnalyzer;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Métriques de lignes d'une classe déjà analysée : construction de l'index des lignes
+ * à partir des jetons, puis interrogation pour chaque méthode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LineCountBenchmark {
+    @Param({"10", "100", "1000"})
+    public int methods;
+
+    private CompilationUnit cu;
+    private List<MethodDeclaration> declarations;
+    private LineIndex lineIndex;
+
+    @Setup
+    public void setUp() {
+        String source = SyntheticSources.javaClass("bench", "Generated", methods, 8, 3, 42);
+        cu = new JavaParser().parse(source).getResult().orElseThrow();
+        declarations = cu.findAll(MethodDeclaration.class);
+        lineIndex = LineIndex.of(cu);
+    }
+
+    @Benchmark
+    public LineIndex buildLineIndex() {
+        return LineIndex.of(cu);
+    }
+
+    @Benchmark
+    public int countMethodLines() {
+        int total = 0;
+        for (MethodDeclaration declaration : declarations) {
+            total += lineIndex.metrics(declaration).getSource();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,180 @@
+package com.CodeAnalyzer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Mesure de bout en bout du passage à l'échelle de l'analyseur.
+ *
+ * Pour chaque taille, un projet synthétique est généré (ou réutilisé), puis l'analyse
+ * complète est exécutée : {@code analyze}, {@code printStatistics} et
+ * {@code printCallGraphStatistics}. Le temps, le débit, le pic de tas et le temps de GC
+ * de chaque étape sont écrits en CSV, avec l'exposant de croissance entre deux tailles
+ * (1 = linéaire) pour repérer les régressions super-linéaires. La profondeur d'appel et le
+ * nombre de cycles observés montrent que les chaînes et cycles générés atteignent l'analyse.
+ *
+ * Usage : {@code ScalabilityHarness [--sizes 1000,10000,100000] [--work dir]
+ * [--output fichier.csv] [--parallelism n]}
+ */
+public class ScalabilityHarness {
+
+    public static void main(String[] args) throws IOException {
+        List<Integer> sizes = List.of(1_000, 10_000, 100_000);
+        Path work = Paths.get("target", "scalability");
+        Path output = Paths.get("scalability-result.csv");
+        int parallelism = Runtime.getRuntime().availableProcessors();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--sizes" -> {
+                    List<Integer> parsed = new ArrayList<>();
+                    for (String size : args[++i].split(",")) {
+                        parsed.add(Integer.parseInt(size.trim()));
+                    }
+                    sizes = parsed;
+                }
+                case "--work" -> work = Paths.get(args[++i]);
+                case "--output" -> output = Paths.get(args[++i]);
+                case "--parallelism" -> parallelism = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Option inconnue : " + args[i]);
+            }
+        }
+
+        SyntheticProjectGenerator generator = new SyntheticProjectGenerator(new SyntheticProjectGenerator.Shape());
+        List<Step> steps = new ArrayList<>();
+        for (int size : sizes) {
+            SyntheticProjectGenerator.Project project = prepare(generator, work.resolve("project-" + size), size);
+            Step step = measure(project, parallelism);
+            steps.add(step);
+            System.out.printf(Locale.ROOT,
+                "%,d fichiers : %,d ms, %,.0f fichiers/s, %,.0f lignes/s, pic %d Mo, GC %d ms, profondeur %d, %d cycles%n",
+                step.files, step.wallMillis, step.filesPerSecond(), step.linesPerSecond(),
+                step.peakHeapBytes >> 20, step.gcMillis, step.maxCallDepth, step.recursiveCycles);
+        }
+        write(output, steps);
+        System.out.println("Résultats écrits dans " + output.toAbsolutePath());
+    }
+
+    /**
+     * Génère le projet, sauf s'il existe déjà (la génération n'est pas mesurée).
+     */
+    private static SyntheticProjectGenerator.Project prepare(SyntheticProjectGenerator generator, Path root, int size)
+            throws IOException {
+        Path marker = root.resolve(".generated");
+        if (Files.exists(marker)) {
+            String[] content = Files.readString(marker).trim().split(" ");
+            return new SyntheticProjectGenerator.Project(root, Integer.parseInt(content[0]), Long.parseLong(content[1]));
+        }
+        SyntheticProjectGenerator.Project project = generator.generate(root, size);
+        Files.writeString(marker, project.files + " " + project.lines);
+        return project;
+    }
+
+    private static Step measure(SyntheticProjectGenerator.Project project, int parallelism) {
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+                heapPools.add(pool);
+            }
+        }
+        long gcBefore = totalGcMillis();
+
+        PrintStream console = System.out;
+        CodeAnalyzer analyzer = new CodeAnalyzer();
+        long start = System.nanoTime();
+        try {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            analyzer.setParallelism(parallelism);
+            analyzer.analyze(project.root);
+            analyzer.printStatistics();
+            analyzer.printCallGraphStatistics();
+        } finally {
+            System.setOut(console);
+        }
+        long wallMillis = (System.nanoTime() - start) / 1_000_000;
+
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peakHeap += pool.getPeakUsage().getUsed();
+        }
+        long gcMillis = totalGcMillis() - gcBefore;
+        // Composantes déjà calculées par printCallGraphStatistics : lecture hors mesure
+        CallGraph callGraph = analyzer.getCallGraph();
+        return new Step(project.files, project.lines, wallMillis, peakHeap, gcMillis,
+            callGraph.getMaxCallDepth(), callGraph.getRecursiveCycles().size());
+    }
+
+    private static long totalGcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+
+    private static void write(Path output, List<Step> steps) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(output))) {
+            writer.println("files,lines,wall_ms,files_per_s,lines_per_s,peak_heap_bytes,gc_ms,growth_exponent,"
+                + "max_call_depth,recursive_cycles");
+            Step previous = null;
+            for (Step step : steps) {
+                String exponent = previous == null ? "" : String.format(Locale.ROOT, "%.3f", step.growthExponent(previous));
+                writer.printf(Locale.ROOT, "%d,%d,%d,%.1f,%.1f,%d,%d,%s,%d,%d%n", step.files, step.lines, step.wallMillis,
+                    step.filesPerSecond(), step.linesPerSecond(), step.peakHeapBytes, step.gcMillis, exponent,
+                    step.maxCallDepth, step.recursiveCycles);
+                previous = step;
+            }
+        }
+    }
+
+    private static final class Step {
+        final int files;
+        final long lines;
+        final long wallMillis;
+        final long peakHeapBytes;
+        final long gcMillis;
+        final int maxCallDepth;
+        final int recursiveCycles;
+
+        Step(int files, long lines, long wallMillis, long peakHeapBytes, long gcMillis,
+             int maxCallDepth, int recursiveCycles) {
+            this.files = files;
+            this.lines = lines;
+            this.wallMillis = wallMillis;
+            this.peakHeapBytes = peakHeapBytes;
+            this.gcMillis = gcMillis;
+            this.maxCallDepth = maxCallDepth;
+            this.recursiveCycles = recursiveCycles;
+        }
+
+        double filesPerSecond() {
+            return files * 1000.0 / Math.max(1, wallMillis);
+        }
+
+        double linesPerSecond() {
+            return lines * 1000.0 / Math.max(1, wallMillis);
+        }
+
+        /**
+         * Exposant k tel que temps ~ taille^k entre deux étapes.
+         */
+        double growthExponent(Step previous) {
+            return Math.log((double) Math.max(1, wallMillis) / Math.max(1, previous.wallMillis))
+                / Math.log((double) files / previous.files);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.CodeAnalyzer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Générateur de projets Java synthétiques pour les mesures de passage à l'échelle.
+ *
+ * Les classes sont réparties en packages et reliées par des appels : appels internes
+ * aléatoires (densité réglable), chaînes d'appels profondes d'une classe à la suivante
+ * et, à la fin de certaines chaînes, un appel retour vers le début qui forme un cycle.
+ * Le contenu est déterministe pour une forme et une graine données.
+ */
+final class SyntheticProjectGenerator {
+    /**
+     * Forme du projet généré ; les valeurs par défaut imitent un projet applicatif courant.
+     */
+    static final class Shape {
+        int classesPerPackage = 40;
+        int methodsPerClass = 12;
+        int fieldsPerClass = 4;
+        int statementsPerMethod = 6;
+        int callsPerMethod = 3;
+        int chainLength = 25;
+        double cycleRatio = 0.2;
+        long seed = 42;
+    }
+
+    /**
+     * Taille du projet effectivement écrit.
+     */
+    static final class Project {
+        final Path root;
+        final int files;
+        final long lines;
+
+        Project(Path root, int files, long lines) {
+            this.root = root;
+            this.files = files;
+            this.lines = lines;
+        }
+    }
+
+    private final Shape shape;
+
+    SyntheticProjectGenerator(Shape shape) {
+        this.shape = shape;
+    }
+
+    /**
+     * Écrit un projet de {@code classCount} fichiers sous {@code root}.
+     */
+    Project generate(Path root, int classCount) throws IOException {
+        Random random = new Random(shape.seed);
+        long lines = 0;
+        for (int index = 0; index < classCount; index++) {
+            String packageName = packageName(index);
+            Path directory = root.resolve(packageName.replace('.', '/'));
+            Files.createDirectories(directory);
+            String source = classSource(index, classCount, random);
+            try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve(className(index) + ".java"),
+                    StandardCharsets.UTF_8)) {
+                writer.write(source);
+            }
+            lines += source.chars().filter(c -> c == '\n').count();
+        }
+        return new Project(root, classCount, lines);
+    }
+
+    private String packageName(int index) {
+        return "generated.module" + (index / shape.classesPerPackage);
+    }
+
+    private static String className(int index) {
+        return "Component" + index;
+    }
+
+    private String qualifiedName(int index) {
+        return packageName(index) + "." + className(index);
+    }
+
+    private String classSource(int index, int classCount, Random random) {
+        StringBuilder source = new StringBuilder(4096);
+        source.append("package ").append(packageName(index)).append(";\n\n");
+        source.append("import java.util.*;\n\n");
+        source.append("/**\n * Composant généré numéro ").append(index).append(".\n */\n");
+        source.append("public class ").append(className(index)).append(" {\n");
+        for (int f = 0; f < shape.fieldsPerClass; f++) {
+            source.append("    private static int field").append(f).append(" = ").append(f).append(";\n");
+        }
+        source.append('\n');
+
+        int chainPosition = index % shape.chainLength;
+        int chainStart = index - chainPosition;
+        for (int m = 0; m < shape.methodsPerClass; m++) {
+            source.append("    public static int method").append(m).append("(int value) {\n");
+            source.append("        int result = value + ").append(m).append(";\n");
+            for (int s = 0; s < shape.statementsPerMethod; s++) {
+                switch (random.nextInt(3)) {
+                    case 0 -> source.append("        if (result % ").append(2 + random.nextInt(5))
+                        .append(" == 0) {\n            result += field").append(random.nextInt(shape.fieldsPerClass))
+                        .append(";\n        }\n");
+                    case 1 -> source.append("        for (int i = 0; i < ").append(1 + random.nextInt(3))
+                        .append("; i++) {\n            result ^= i;\n        }\n");
+                    default -> source.append("        result = Math.max(result, ").append(s).append(");\n");
+                }
+            }
+            for (int c = 0; c < shape.callsPerMethod; c++) {
+                if (random.nextBoolean()) {
+                    source.append("        result += method").append(random.nextInt(shape.methodsPerClass)).append("(result);\n");
+                } else {
+                    source.append("        result += ").append(qualifiedName(random.nextInt(classCount)))
+                        .append(".method").append(random.nextInt(shape.methodsPerClass)).append("(result);\n");
+                }
+            }
+            if (m == 0) {
+                // Chaîne profonde : method0 appelle method0 du composant suivant de la chaîne
+                boolean lastOfChain = chainPosition == shape.chainLength - 1 || index == classCount - 1;
+                if (!lastOfChain) {
+                    source.append("        result += ").append(qualifiedName(index + 1)).append(".method0(result);\n");
+                } else if (random.nextDouble() < shape.cycleRatio) {
+                    source.append("        result += ").append(qualifiedName(chainStart)).append(".method0(result);\n");
+                }
+            }
+            source.append("        return result;\n    }\n\n");
+        }
+        source.append("}\n");
+        return source.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package com.CodeAnalyzer;
+
+import java.util.Random;
+
+/**
+ * Générateur de sources Java synthétiques pour les benchmarks.
+ * Le contenu est déterministe pour une graine donnée : deux exécutions mesurent le même code.
+ */
+final class SyntheticSources {
+
+    private SyntheticSources() {
+    }
+
+    /**
+     * Génère une classe avec des attributs, des méthodes paramétrées, des structures
+     * de contrôle et des appels vers les autres méthodes de la classe et vers d'autres classes.
+     */
+    static String javaClass(String packageName, String className, int methods,
+                            int statementsPerMethod, int callsPerMethod, long seed) {
+        Random random = new Random(seed);
+        StringBuilder source = new StringBuilder(methods * statementsPerMethod * 48);
+        if (packageName != null) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import java.util.*;\n\n");
+        source.append("/**\n * Classe générée ").append(className).append(".\n */\n");
+        source.append("public class ").append(className).append(" {\n");
+
+        int fields = Math.max(1, methods / 4);
+        for (int f = 0; f < fields; f++) {
+            source.append("    private int field").append(f).append(" = ").append(f).append(";\n");
+        }
+        source.append('\n');
+
+        int[] parameterCounts = new int[methods];
+        for (int m = 0; m < methods; m++) {
+            parameterCounts[m] = random.nextInt(5);
+        }
+
+        for (int m = 0; m < methods; m++) {
+            int parameters = parameterCounts[m];
+            source.append("    // Méthode générée ").append(m).append('\n');
+            source.append("    public int method").append(m).append('(');
+            for (int p = 0; p < parameters; p++) {
+                if (p > 0) source.append(", ");
+                source.append("int arg").append(p);
+            }
+            source.append(") {\n");
+            source.append("        int result = ").append(m).append(";\n");
+            for (int s = 0; s < statementsPerMethod; s++) {
+                switch (random.nextInt(4)) {
+                    case 0 -> source.append("        result += field").append(random.nextInt(fields)).append(";\n");
+                    case 1 -> source.append("        if (result % ").append(2 + random.nextInt(7))
+                        .append(" == 0) {\n            result ^= ").append(s).append(";\n        }\n");
+                    case 2 -> source.append("        for (int i = 0; i < ").append(1 + random.nextInt(4))
+                        .append("; i++) {\n            result += i * ").append(s).append(";\n        }\n");
+                    default -> source.append("\n");
+                }
+            }
+            for (int c = 0; c < callsPerMethod; c++) {
+                if (methods > 1 && random.nextBoolean()) {
+                    int callee = random.nextInt(methods);
+                    source.append("        result += method").append(callee).append('(');
+                    for (int p = 0; p < parameterCounts[callee]; p++) {
+                        if (p > 0) source.append(", ");
+                        source.append("helper").append(c).append("()");
+                    }
+                    source.append(");\n");
+                } else {
+                    source.append("        result += Objects.hash(result, \"").append(className).append("\");\n");
+                }
+            }
+            source.append("        return result;\n    }\n\n");
+        }
+        for (int c = 0; c < callsPerMethod; c++) {
+            source.append("    private int helper").append(c).append("() {\n        return field0;\n    }\n\n");
+        }
+        source.append("}\n");
+        return source.toString();
+    }
+}
@@ -0,0 +1,284 @@
+package com.CodeAnalyzer;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cache disque des résultats d'analyse par fichier.
+ *
+ * Une entrée est indexée par le chemin du fichier et validée par sa taille, sa date
+ * de modification et l'empreinte SHA-256 de son contenu : un fichier dont seule la
+ * date a changé reste un succès de cache. Le fichier de cache porte la version de
+ * l'extraction ({@link CodeAnalyzer#EXTRACTOR_VERSION}) et l'empreinte des métriques enregistrées
+ * ({@link MetricRegistry#SIGNATURE}) ; il est ignoré si l'une ou l'autre diffère.
+ * Au-delà de la taille maximale, les entrées les moins récemment utilisées sont évincées.
+ */
+public class AnalysisCache {
+    private static final int MAGIC = 0x43414348;  // "CACH"
+    private static final int FORMAT_VERSION = 2;
+    private static final int ENTRY_OVERHEAD = 64;
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private final Path file;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes = 0;
+    private boolean modified = false;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    private AnalysisCache(Path file, long maxBytes) {
+        this.file = file;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Ouvre le cache stocké dans le fichier donné.
+     * Un fichier absent, corrompu ou d'une autre version donne un cache vide.
+     */
+    public static AnalysisCache open(Path file, long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("La taille du cache doit être positive : " + maxBytes);
+        }
+        AnalysisCache cache = new AnalysisCache(file, maxBytes);
+        if (Files.isRegularFile(file)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                cache.load(in);
+            } catch (IOException e) {
+                cache.entries.clear();
+                cache.totalBytes = 0;
+                cache.modified = true;
+            }
+        }
+        return cache;
+    }
+
+    private void load(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC
+                || in.readInt() != FORMAT_VERSION
+                || in.readInt() != CodeAnalyzer.EXTRACTOR_VERSION
+                || in.readInt() != MetricRegistry.SIGNATURE) {
+            modified = true;  // Format obsolète : le fichier sera réécrit
+            return;
+        }
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String path = in.readUTF();
+            long size = in.readLong();
+            long modifiedTime = in.readLong();
+            byte[] hash = new byte[in.readUnsignedByte()];
+            in.readFully(hash);
+            byte[] payload = new byte[in.readInt()];
+            in.readFully(payload);
+            put(path, new Entry(size, modifiedTime, hash, payload));
+        }
+        modified = false;
+    }
+
+    /**
+     * Écrit le cache sur disque, du moins récemment utilisé au plus récent,
+     * de sorte que l'ordre d'éviction survive au rechargement.
+     */
+    public synchronized void save() throws IOException {
+        if (!modified) return;
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(CodeAnalyzer.EXTRACTOR_VERSION);
+            out.writeInt(MetricRegistry.SIGNATURE);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+                Entry entry = mapEntry.getValue();
+                out.writeUTF(mapEntry.getKey());
+                out.writeLong(entry.size);
+                out.writeLong(entry.modifiedTime);
+                out.writeByte(entry.hash.length);
+                out.write(entry.hash);
+                out.writeInt(entry.payload.length);
+                out.write(entry.payload);
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        modified = false;
+    }
+
+    /**
+     * Lit la taille et la date de modification du fichier, sans lire son contenu.
+     */
+    public Fingerprint fingerprint(Path source) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+        return new Fingerprint(SourceArchives.displayPath(source), SourceArchives.key(source),
+            attributes.size(), attributes.lastModifiedTime().toMillis(), null);
+    }
+
+    /**
+     * Cherche le résultat d'un fichier inchangé.
+     * Sans contenu, seules la taille et la date sont comparées ; avec contenu,
+     * l'empreinte décide et la date enregistrée est mise à jour.
+     */
+    CodeAnalyzer.FileAnalysis lookup(Fingerprint fingerprint) {
+        byte[] payload;
+        synchronized (this) {
+            Entry entry = entries.get(fingerprint.key);
+            if (entry == null || entry.size != fingerprint.size) {
+                payload = null;
+            } else if (fingerprint.hash == null) {
+                payload = entry.modifiedTime == fingerprint.modifiedTime ? entry.payload : null;
+            } else if (Arrays.equals(entry.hash, fingerprint.hash)) {
+                if (entry.modifiedTime != fingerprint.modifiedTime) {
+                    entries.put(fingerprint.key, entry.touch(fingerprint.modifiedTime));
+                    modified = true;
+                }
+                payload = entry.payload;
+            } else {
+                payload = null;
+            }
+        }
+
+        if (payload == null) {
+            // Un échec sans contenu sera suivi d'une recherche par empreinte
+            if (fingerprint.hash != null) misses.incrementAndGet();
+            return null;
+        }
+        try {
+            CodeAnalyzer.FileAnalysis result = CodeAnalyzer.FileAnalysis.read(
+                fingerprint.path, new DataInputStream(new ByteArrayInputStream(payload)));
+            hits.incrementAndGet();
+            return result;
+        } catch (IOException e) {
+            synchronized (this) {
+                remove(fingerprint.key);
+            }
+            misses.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * Enregistre le résultat d'un fichier dont le contenu a été lu.
+     */
+    void store(Fingerprint fingerprint, CodeAnalyzer.FileAnalysis result) {
+        if (fingerprint.hash == null) {
+            throw new IllegalArgumentException("L'empreinte du contenu est requise : " + fingerprint.path);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            result.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        synchronized (this) {
+            remove(fingerprint.key);
+            put(fingerprint.key, new Entry(fingerprint.size, fingerprint.modifiedTime, fingerprint.hash, bytes.toByteArray()));
+            modified = true;
+        }
+    }
+
+    private void put(String key, Entry entry) {
+        entries.put(key, entry);
+        totalBytes += entry.weight(key);
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Entry> evicted = eldest.next();
+            totalBytes -= evicted.getValue().weight(evicted.getKey());
+            eldest.remove();
+        }
+    }
+
+    private void remove(String key) {
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            totalBytes -= previous.weight(key);
+            modified = true;
+        }
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Identité d'un fichier source : chemin, taille, date et, si le contenu a été lu, empreinte.
+     * Les chemins sont fixés à la création, tant que l'archive d'une entrée est encore ouverte.
+     */
+    public static class Fingerprint {
+        final String path;
+        final String key;
+        final long size;
+        final long modifiedTime;
+        final byte[] hash;
+
+        private Fingerprint(String path, String key, long size, long modifiedTime, byte[] hash) {
+            this.path = path;
+            this.key = key;
+            this.size = size;
+            this.modifiedTime = modifiedTime;
+            this.hash = hash;
+        }
+
+        /**
+         * Complète l'empreinte avec le contenu effectivement lu, de la position du tampon à sa
+         * limite, sans la modifier.
+         */
+        public Fingerprint withContent(ByteBuffer content) {
+            return new Fingerprint(path, key, content.remaining(), modifiedTime, sha256(content.duplicate()));
+        }
+    }
+
+    private static byte[] sha256(ByteBuffer content) {
+        MessageDigest digest = sha256();
+        digest.update(content);
+        return digest.digest();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    private static class Entry {
+        final long size;
+        final long modifiedTime;
+        final byte[] hash;
+        final byte[] payload;
+
+        Entry(long size, long modifiedTime, byte[] hash, byte[] payload) {
+            this.size = size;
+            this.modifiedTime = modifiedTime;
+            this.hash = hash;
+            this.payload = payload;
+        }
+
+        Entry touch(long newModifiedTime) {
+            return new Entry(size, newModifiedTime, hash, payload);
+        }
+
+        long weight(String key) {
+            return ENTRY_OVERHEAD + 2L * key.length() + hash.length + payload.length;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.CodeAnalyzer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Résultats complets d'une analyse, qu'ils viennent d'être calculés ({@link CodeAnalyzer})
+ * ou qu'ils soient relus depuis un fichier ({@link AnalysisSnapshot}).
+ * Le mode batch et l'interface graphique ne dépendent que de cette interface.
+ */
+interface AnalysisModel {
+
+    AnalysisResult getResult();
+
+    /**
+     * Classes analysées, dans l'ordre d'analyse, avec leurs méthodes.
+     */
+    List<CodeAnalyzer.ClassInfo> getClasses();
+
+    Set<String> getPackages();
+
+    CallGraph getCallGraph();
+
+    Map<String, String> getFailedFiles();
+
+    /**
+     * Classes ayant au moins {@code threshold} méthodes, dans l'ordre d'analyse.
+     */
+    List<AnalysisResult.ClassSummary> getClassesWithManyMethods(int threshold);
+}
@@ -0,0 +1,25 @@
+package com.CodeAnalyzer;
+
+/**
+ * Avancement d'une analyse en cours, transmis à l'écouteur de {@link CodeAnalyzer#setProgressListener}.
+ *
+ * {@code discoveredFiles} compte les fichiers trouvés jusqu'ici : il augmente pendant
+ * le parcours et n'est définitif que lorsque {@code finished} est vrai.
+ * {@code statistics} reflète les fichiers déjà fusionnés.
+ */
+public record AnalysisProgress(
+    int discoveredFiles,
+    int analyzedFiles,
+    int failedFiles,
+    long elapsedNanos,
+    boolean finished,
+    AnalysisResult.Statistics statistics
+) {
+
+    /**
+     * Débit moyen depuis le début de l'analyse, en fichiers par seconde.
+     */
+    public double filesPerSecond() {
+        return elapsedNanos == 0 ? 0 : analyzedFiles * 1_000_000_000.0 / elapsedNanos;
+    }
+}
@@ -0,0 +1,97 @@
+package com.CodeAnalyzer;
+
+import java.util.*;
+
+/**
+ * Résultat immuable d'une analyse : statistiques globales, classements et résumé du graphe d'appel.
+ *
+ * C'est un instantané pris par {@link CodeAnalyzer#getResult()} ; la console, le mode batch
+ * et l'interface graphique en font chacun leur propre rendu. Les listes sont non modifiables.
+ */
+public record AnalysisResult(
+    Statistics statistics,
+    List<ClassSummary> topClassesByMethods,
+    List<ClassSummary> topClassesByAttributes,
+    List<ClassSummary> topClassesInBoth,
+    List<MethodSummary> topMethodsByLines,
+    List<Distribution> distributions,
+    CallGraphSummary callGraph,
+    Map<String, String> failedFiles
+) {
+    public AnalysisResult {
+        topClassesByMethods = List.copyOf(topClassesByMethods);
+        topClassesByAttributes = List.copyOf(topClassesByAttributes);
+        topClassesInBoth = List.copyOf(topClassesInBoth);
+        topMethodsByLines = List.copyOf(topMethodsByLines);
+        distributions = List.copyOf(distributions);
+        // L'ordre des échecs (ordre de parcours) est conservé
+        failedFiles = Collections.unmodifiableMap(new LinkedHashMap<>(failedFiles));
+    }
+
+    /**
+     * Statistiques globales du projet (éléments 1 à 7 et 13 du rapport console).
+     */
+    public record Statistics(
+        int classCount,
+        int packageCount,
+        int methodCount,
+        int attributeCount,
+        LineMetrics lines,
+        double averageMethodsPerClass,
+        double averageLinesPerMethod,
+        double averageAttributesPerClass,
+        int maxParameters
+    ) {
+    }
+
+    /**
+     * Classe analysée ; {@code packageName} est nul pour le package par défaut.
+     */
+    public record ClassSummary(String packageName, String name, int methodCount, int attributeCount, LineMetrics lines) {
+
+        static ClassSummary of(CodeAnalyzer.ClassInfo classInfo) {
+            return new ClassSummary(classInfo.packageName, classInfo.name,
+                classInfo.methods.size(), classInfo.attributes(), classInfo.lines);
+        }
+    }
+
+    /**
+     * Méthode analysée, avec la classe qui la déclare.
+     */
+    public record MethodSummary(String packageName, String className, String name, int parameterCount, LineMetrics lines) {
+
+        static MethodSummary of(CodeAnalyzer.MethodDetail detail) {
+            return new MethodSummary(detail.packageName, detail.className,
+                detail.method.name, detail.method.parameters(), detail.method.lines);
+        }
+    }
+
+    /**
+     * Médiane, 90e et 99e percentiles et maximum d'une métrique.
+     */
+    public record Distribution(String label, int p50, int p90, int p99, int max) {
+
+        static Distribution of(String label, MetricsIndex.IntHistogram histogram) {
+            return new Distribution(label, histogram.percentile(50), histogram.percentile(90),
+                histogram.percentile(99), histogram.max());
+        }
+    }
+
+    /**
+     * Résumé du graphe d'appel. {@code mostCalledMethod} est nul si aucun appel n'a été trouvé.
+     */
+    public record CallGraphSummary(
+        int methodCount,
+        int callCount,
+        long memoryFootprint,
+        int maxCallDepth,
+        List<List<String>> recursiveCycles,
+        String mostCalledMethod,
+        List<String> mostCalledBy
+    ) {
+        public CallGraphSummary {
+            recursiveCycles = List.copyOf(recursiveCycles);
+            mostCalledBy = List.copyOf(mostCalledBy);
+        }
+    }
+}
@@ -0,0 +1,631 @@
+package com.CodeAnalyzer;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Instantané binaire d'une analyse complète, relu par projection en mémoire.
+ *
+ * Le fichier commence par un en-tête (signature, version, table des sections) suivi de
+ * sections repérées par leur position : résultat (statistiques et classements), packages,
+ * classes, méthodes, graphe d'appel (CSR) et table des chaînes. Chaque chaîne n'est stockée
+ * qu'une fois, en UTF-8, et désignée ailleurs par son indice. Les classes et les méthodes
+ * sont des enregistrements de taille fixe, accessibles par indice sans lecture séquentielle ;
+ * leurs sections commencent par les noms des métriques enregistrées, dont les valeurs
+ * terminent chaque enregistrement et sont relues par nom.
+ *
+ * L'ouverture ne lit que l'en-tête et vérifie la structure des sections (nombre et taille des
+ * enregistrements, table des chaînes) : les sections sont projetées avec {@link FileChannel#map}
+ * et ne sont décodées qu'au premier accès (le résultat et le graphe d'appel une seule fois,
+ * chaque classe à chaque lecture). Une incohérence découverte au décodage lève
+ * {@link CorruptedException}. Une section est limitée à 2 Go, le fichier ne l'est pas.
+ */
+public final class AnalysisSnapshot implements AnalysisModel {
+    private static final int MAGIC = 0x43415350;  // "CASP"
+    private static final int FORMAT_VERSION = 2;
+
+    private static final int RESULT = 0;
+    private static final int PACKAGES = 1;
+    private static final int CLASSES = 2;
+    private static final int METHODS = 3;
+    private static final int CALL_GRAPH = 4;
+    private static final int STRINGS = 5;
+    private static final int SECTION_COUNT = 6;
+    private static final int HEADER_SIZE = 3 * Integer.BYTES + SECTION_COUNT * 2 * Long.BYTES;
+
+    // Enregistrements de taille fixe, en nombre d'entiers, suivis des valeurs des métriques
+    private static final int CLASS_FIELDS = 8;   // nom, package, 4 x lignes, 1re méthode, nb méthodes
+    private static final int METHOD_FIELDS = 5;  // nom, 4 x lignes
+    private static final int METHOD_COUNT_FIELD = 7;
+    private static final int NO_STRING = -1;
+
+    /**
+     * Instantané corrompu découvert au décodage d'une section, après l'ouverture.
+     */
+    static final class CorruptedException extends UncheckedIOException {
+        private static final long serialVersionUID = 1L;
+
+        CorruptedException(Path file) {
+            this("Instantané tronqué ou corrompu : " + file);
+        }
+
+        private CorruptedException(String message) {
+            super(message, new IOException(message));
+        }
+    }
+
+    private final ByteBuffer[] sections;
+    private final Path file;
+    private final int classCount;
+    private final Records classRecords;
+    private final Records methodRecords;
+    private final String[] decodedStrings;
+    private AnalysisResult result;
+    private Set<String> packages;
+    private CallGraph callGraph;
+
+    private AnalysisSnapshot(ByteBuffer[] sections, Path file) {
+        this.sections = sections;
+        this.file = file;
+        this.classCount = sections[CLASSES].getInt(0);
+        this.decodedStrings = new String[sections[STRINGS].getInt(0)];
+        this.classRecords = new Records(sections[CLASSES], CLASS_FIELDS, MetricRegistry.classMetrics());
+        this.methodRecords = new Records(sections[METHODS], METHOD_FIELDS, MetricRegistry.methodMetrics());
+    }
+
+    /**
+     * Disposition des enregistrements d'une section : nombre, noms des métriques, puis enregistrements.
+     * {@code columns} associe à chaque métrique enregistrée sa colonne dans l'instantané, -1 si absente.
+     */
+    private final class Records {
+        final int base;
+        final int width;
+        final int[] columns;
+
+        Records(ByteBuffer buffer, int fields, List<CodeMetric> metrics) {
+            int metricCount = buffer.getInt(Integer.BYTES);
+            String[] names = new String[metricCount];
+            for (int i = 0; i < metricCount; i++) {
+                names[i] = string(buffer.getInt(Integer.BYTES * (2 + i)));
+            }
+            this.base = Integer.BYTES * (2 + metricCount);
+            this.width = fields + metricCount;
+            this.columns = new int[metrics.size()];
+            for (int slot = 0; slot < columns.length; slot++) {
+                int column = Arrays.asList(names).indexOf(metrics.get(slot).name());
+                columns[slot] = column < 0 ? -1 : fields + column;
+            }
+        }
+
+        int field(int index, int field) {
+            return base + Integer.BYTES * (index * width + field);
+        }
+
+        void readMetrics(ByteBuffer buffer, int index, int[] metrics) {
+            for (int slot = 0; slot < columns.length; slot++) {
+                if (columns[slot] >= 0) metrics[slot] = buffer.getInt(field(index, columns[slot]));
+            }
+        }
+    }
+
+    /**
+     * Ouvre un instantané : seul l'en-tête est lu, le reste est projeté en mémoire.
+     */
+    public static AnalysisSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) break;
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+                throw new IOException("Ce fichier n'est pas un instantané d'analyse : " + file);
+            }
+            int version = header.getInt();
+            if (version != FORMAT_VERSION || header.getInt() != SECTION_COUNT) {
+                throw new IOException("Version d'instantané non prise en charge : " + version);
+            }
+            ByteBuffer[] sections = new ByteBuffer[SECTION_COUNT];
+            for (int section = 0; section < SECTION_COUNT; section++) {
+                long offset = header.getLong();
+                long length = header.getLong();
+                if (offset < HEADER_SIZE || length < Integer.BYTES || length > Integer.MAX_VALUE || offset + length > size) {
+                    throw new IOException("Instantané tronqué ou corrompu : " + file);
+                }
+                // La projection reste valide après la fermeture du canal
+                sections[section] = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            }
+            if (!isWellFormed(sections)) {
+                throw new IOException("Instantané tronqué ou corrompu : " + file);
+            }
+            try {
+                return new AnalysisSnapshot(sections, file);
+            } catch (CorruptedException e) {
+                throw e.getCause();  // Noms de métriques invalides
+            }
+        }
+    }
+
+    /**
+     * Vérifie que les nombres d'enregistrements tiennent dans leurs sections et que la table
+     * des chaînes est croissante et contenue dans la section ; le contenu est vérifié au décodage.
+     */
+    private static boolean isWellFormed(ByteBuffer[] sections) {
+        ByteBuffer strings = sections[STRINGS];
+        long count = strings.getInt(0);
+        long blob = Integer.BYTES * (count + 2);
+        if (count < 0 || blob > strings.capacity()) return false;
+        int previous = 0;
+        for (int id = 0; id <= count; id++) {
+            int offset = strings.getInt(Integer.BYTES * (id + 1));
+            if (offset < previous || (id == 0 && offset != 0)) return false;
+            previous = offset;
+        }
+        if (previous > strings.capacity() - blob) return false;
+
+        ByteBuffer packages = sections[PACKAGES];
+        if (!fits(packages, 1, packages.getInt(0), 1)) return false;
+        ByteBuffer callGraph = sections[CALL_GRAPH];
+        if (callGraph.capacity() < 2 * Integer.BYTES) return false;
+        int methodCount = callGraph.getInt(0);
+        int edgeCount = callGraph.getInt(Integer.BYTES);
+        if (methodCount < 0 || edgeCount < 0
+                || Integer.BYTES * (3L + 2L * methodCount + edgeCount) > callGraph.capacity()) return false;
+        return hasRecords(sections[CLASSES], CLASS_FIELDS) && hasRecords(sections[METHODS], METHOD_FIELDS);
+    }
+
+    /**
+     * Section d'enregistrements : nombre, nombre de métriques et leurs noms, puis les enregistrements.
+     */
+    private static boolean hasRecords(ByteBuffer section, int fields) {
+        if (section.capacity() < 2 * Integer.BYTES) return false;
+        int metricCount = section.getInt(Integer.BYTES);
+        return metricCount >= 0 && fits(section, 2L + metricCount, section.getInt(0), fields + (long) metricCount);
+    }
+
+    /**
+     * Vrai si {@code count} enregistrements de {@code width} entiers tiennent après {@code header} entiers.
+     */
+    private static boolean fits(ByteBuffer section, long header, int count, long width) {
+        return count >= 0 && Integer.BYTES * (header + count * width) <= section.capacity();
+    }
+
+    /**
+     * Écrit l'instantané d'une analyse ; le fichier est remplacé atomiquement.
+     */
+    static void write(AnalysisModel analysis, Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                new Writer(channel).write(analysis);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    @Override
+    public synchronized AnalysisResult getResult() {
+        if (result == null) {
+            try {
+                result = readResult(sections[RESULT]);
+            } catch (IndexOutOfBoundsException | BufferUnderflowException | NegativeArraySizeException e) {
+                throw new CorruptedException(file);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Vue des classes : chaque accès décode une classe et ses méthodes depuis la projection.
+     */
+    @Override
+    public List<CodeAnalyzer.ClassInfo> getClasses() {
+        return new AbstractList<>() {
+            @Override
+            public CodeAnalyzer.ClassInfo get(int index) {
+                return readClass(Objects.checkIndex(index, classCount));
+            }
+
+            @Override
+            public int size() {
+                return classCount;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Set<String> getPackages() {
+        if (packages == null) {
+            ByteBuffer buffer = sections[PACKAGES];
+            Set<String> names = new LinkedHashSet<>();
+            for (int i = 0, count = buffer.getInt(0); i < count; i++) {
+                names.add(string(buffer.getInt(Integer.BYTES * (i + 1))));
+            }
+            packages = Collections.unmodifiableSet(names);
+        }
+        return packages;
+    }
+
+    /**
+     * Graphe d'appel figé, reconstruit à partir des tableaux CSR au premier accès.
+     */
+    @Override
+    public synchronized CallGraph getCallGraph() {
+        if (callGraph == null) {
+            ByteBuffer buffer = sections[CALL_GRAPH];
+            int methodCount = buffer.getInt(0);
+            int edgeCount = buffer.getInt(Integer.BYTES);
+            int[] nameIds = new int[methodCount];
+            int[] offsets = new int[methodCount + 1];
+            int[] targets = new int[edgeCount];
+            buffer.slice(2 * Integer.BYTES, buffer.capacity() - 2 * Integer.BYTES).asIntBuffer()
+                .get(nameIds).get(offsets).get(targets);
+            if (offsets[0] != 0 || offsets[methodCount] != edgeCount) throw new CorruptedException(file);
+            for (int i = 0; i < methodCount; i++) {
+                if (offsets[i + 1] < offsets[i]) throw new CorruptedException(file);
+            }
+            for (int target : targets) {
+                if (target < 0 || target >= methodCount) throw new CorruptedException(file);
+            }
+            String[] names = new String[methodCount];
+            for (int i = 0; i < methodCount; i++) {
+                names[i] = string(nameIds[i]);
+            }
+            callGraph = CallGraph.frozen(CompactCallGraph.fromCsr(names, offsets, targets));
+        }
+        return callGraph;
+    }
+
+    @Override
+    public Map<String, String> getFailedFiles() {
+        return getResult().failedFiles();
+    }
+
+    /**
+     * Ne décode que les classes retenues : le nombre de méthodes est lu directement dans l'enregistrement.
+     */
+    @Override
+    public List<AnalysisResult.ClassSummary> getClassesWithManyMethods(int threshold) {
+        ByteBuffer buffer = sections[CLASSES];
+        List<AnalysisResult.ClassSummary> found = new ArrayList<>();
+        for (int index = 0; index < classCount; index++) {
+            if (buffer.getInt(classRecords.field(index, METHOD_COUNT_FIELD)) >= threshold) {
+                found.add(AnalysisResult.ClassSummary.of(readClass(index)));
+            }
+        }
+        return found;
+    }
+
+    private CodeAnalyzer.ClassInfo readClass(int index) {
+        try {
+            return decodeClass(index);
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new CorruptedException(file);
+        }
+    }
+
+    private CodeAnalyzer.ClassInfo decodeClass(int index) {
+        ByteBuffer classes = sections[CLASSES];
+        ByteBuffer methods = sections[METHODS];
+        CodeAnalyzer.ClassInfo classInfo = new CodeAnalyzer.ClassInfo(string(classes.getInt(classRecords.field(index, 0))));
+        classInfo.packageName = string(classes.getInt(classRecords.field(index, 1)));
+        int position = classRecords.field(index, 2);
+        classInfo.lines = new LineMetrics(classes.getInt(position), classes.getInt(position + 4),
+            classes.getInt(position + 8), classes.getInt(position + 12));
+        classRecords.readMetrics(classes, index, classInfo.metrics);
+        int firstMethod = classes.getInt(classRecords.field(index, 6));
+        int methodCount = classes.getInt(classRecords.field(index, METHOD_COUNT_FIELD));
+        for (int method = firstMethod; method < firstMethod + methodCount; method++) {
+            position = methodRecords.field(method, 0);
+            LineMetrics lines = new LineMetrics(methods.getInt(position + 4), methods.getInt(position + 8),
+                methods.getInt(position + 12), methods.getInt(position + 16));
+            CodeAnalyzer.MethodInfo methodInfo = new CodeAnalyzer.MethodInfo(string(methods.getInt(position)), lines);
+            methodRecords.readMetrics(methods, method, methodInfo.metrics);
+            classInfo.methods.add(methodInfo);
+        }
+        return classInfo;
+    }
+
+    /**
+     * Chaîne d'indice donné, décodée au premier accès ; null pour {@link #NO_STRING}.
+     * Les chaînes étant immuables, le partage du tableau entre threads est sans risque.
+     */
+    private String string(int id) {
+        if (id == NO_STRING) return null;
+        if (id < 0 || id >= decodedStrings.length) throw new CorruptedException(file);
+        String value = decodedStrings[id];
+        if (value == null) {
+            ByteBuffer buffer = sections[STRINGS];
+            int count = decodedStrings.length;
+            int blob = Integer.BYTES * (count + 2);
+            int start = buffer.getInt(Integer.BYTES * (id + 1));
+            int end = buffer.getInt(Integer.BYTES * (id + 2));
+            byte[] bytes = new byte[end - start];
+            buffer.get(blob + start, bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            decodedStrings[id] = value;
+        }
+        return value;
+    }
+
+    private AnalysisResult readResult(ByteBuffer section) {
+        ByteBuffer in = section.duplicate();
+        AnalysisResult.Statistics statistics = new AnalysisResult.Statistics(
+            in.getInt(), in.getInt(), in.getInt(), in.getInt(), readLines(in),
+            in.getDouble(), in.getDouble(), in.getDouble(), in.getInt());
+        List<AnalysisResult.ClassSummary> topByMethods = readClassSummaries(in);
+        List<AnalysisResult.ClassSummary> topByAttributes = readClassSummaries(in);
+        List<AnalysisResult.ClassSummary> topInBoth = readClassSummaries(in);
+        List<AnalysisResult.MethodSummary> topMethods = new ArrayList<>();
+        for (int i = 0, count = in.getInt(); i < count; i++) {
+            topMethods.add(new AnalysisResult.MethodSummary(string(in.getInt()), string(in.getInt()),
+                string(in.getInt()), in.getInt(), readLines(in)));
+        }
+        List<AnalysisResult.Distribution> distributions = new ArrayList<>();
+        for (int i = 0, count = in.getInt(); i < count; i++) {
+            distributions.add(new AnalysisResult.Distribution(string(in.getInt()),
+                in.getInt(), in.getInt(), in.getInt(), in.getInt()));
+        }
+        int methodCount = in.getInt();
+        int callCount = in.getInt();
+        long memoryFootprint = in.getLong();
+        int maxCallDepth = in.getInt();
+        List<List<String>> cycles = new ArrayList<>();
+        for (int i = 0, count = in.getInt(); i < count; i++) {
+            cycles.add(readStrings(in));
+        }
+        String mostCalledMethod = string(in.getInt());
+        List<String> mostCalledBy = readStrings(in);
+        Map<String, String> failedFiles = new LinkedHashMap<>();
+        for (int i = 0, count = in.getInt(); i < count; i++) {
+            failedFiles.put(string(in.getInt()), string(in.getInt()));
+        }
+        return new AnalysisResult(statistics, topByMethods, topByAttributes, topInBoth, topMethods, distributions,
+            new AnalysisResult.CallGraphSummary(methodCount, callCount, memoryFootprint, maxCallDepth,
+                cycles, mostCalledMethod, mostCalledBy),
+            failedFiles);
+    }
+
+    private List<AnalysisResult.ClassSummary> readClassSummaries(ByteBuffer in) {
+        List<AnalysisResult.ClassSummary> summaries = new ArrayList<>();
+        for (int i = 0, count = in.getInt(); i < count; i++) {
+            summaries.add(new AnalysisResult.ClassSummary(string(in.getInt()), string(in.getInt()),
+                in.getInt(), in.getInt(), readLines(in)));
+        }
+        return summaries;
+    }
+
+    private List<String> readStrings(ByteBuffer in) {
+        List<String> strings = new ArrayList<>();
+        for (int i = 0, count = in.getInt(); i < count; i++) {
+            strings.add(string(in.getInt()));
+        }
+        return strings;
+    }
+
+    private static LineMetrics readLines(ByteBuffer in) {
+        return new LineMetrics(in.getInt(), in.getInt(), in.getInt(), in.getInt());
+    }
+
+    /**
+     * Écriture séquentielle des sections ; la table des sections est écrite en dernier, dans l'en-tête.
+     * Les chaînes reçoivent leur indice au fil de l'écriture, d'où la table des chaînes en fin de fichier.
+     */
+    private static final class Writer {
+        private final FileChannel channel;
+        private final DataOutputStream out;
+        private final Map<String, Integer> stringIds = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private final long[] offsets = new long[SECTION_COUNT];
+        private final long[] lengths = new long[SECTION_COUNT];
+
+        Writer(FileChannel channel) throws IOException {
+            this.channel = channel;
+            channel.position(HEADER_SIZE);
+            this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+        }
+
+        void write(AnalysisModel analysis) throws IOException {
+            begin(RESULT);
+            writeResult(analysis.getResult());
+            end(RESULT);
+
+            begin(PACKAGES);
+            Set<String> packages = analysis.getPackages();
+            out.writeInt(packages.size());
+            for (String packageName : packages) {
+                out.writeInt(id(packageName));
+            }
+            end(PACKAGES);
+
+            List<CodeAnalyzer.ClassInfo> classes = analysis.getClasses();
+            begin(CLASSES);
+            out.writeInt(classes.size());
+            writeMetricNames(MetricRegistry.classMetrics());
+            int firstMethod = 0;
+            for (CodeAnalyzer.ClassInfo classInfo : classes) {
+                out.writeInt(id(classInfo.name));
+                out.writeInt(id(classInfo.packageName));
+                classInfo.lines.write(out);
+                out.writeInt(firstMethod);
+                out.writeInt(classInfo.methods.size());
+                writeMetrics(classInfo.metrics);
+                firstMethod += classInfo.methods.size();
+            }
+            end(CLASSES);
+
+            begin(METHODS);
+            out.writeInt(firstMethod);
+            writeMetricNames(MetricRegistry.methodMetrics());
+            for (CodeAnalyzer.ClassInfo classInfo : classes) {
+                for (CodeAnalyzer.MethodInfo method : classInfo.methods) {
+                    out.writeInt(id(method.name));
+                    method.lines.write(out);
+                    writeMetrics(method.metrics);
+                }
+            }
+            end(METHODS);
+
+            begin(CALL_GRAPH);
+            CompactCallGraph graph = analysis.getCallGraph().compactView();
+            out.writeInt(graph.methodCount());
+            out.writeInt(graph.edgeCount());
+            for (int method = 0; method < graph.methodCount(); method++) {
+                out.writeInt(id(graph.nameOf(method)));
+            }
+            for (int offset : graph.forwardOffsets()) {
+                out.writeInt(offset);
+            }
+            for (int target : graph.forwardTargets()) {
+                out.writeInt(target);
+            }
+            end(CALL_GRAPH);
+
+            begin(STRINGS);
+            byte[][] encoded = new byte[strings.size()][];
+            out.writeInt(strings.size());
+            int position = 0;
+            out.writeInt(position);
+            for (int i = 0; i < encoded.length; i++) {
+                encoded[i] = strings.get(i).getBytes(StandardCharsets.UTF_8);
+                if (position > Integer.MAX_VALUE - encoded[i].length) {
+                    throw new IOException("Table des chaînes trop grande pour un instantané");
+                }
+                position += encoded[i].length;
+                out.writeInt(position);
+            }
+            for (byte[] bytes : encoded) {
+                out.write(bytes);
+            }
+            end(STRINGS);
+
+            out.flush();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(SECTION_COUNT);
+            for (int section = 0; section < SECTION_COUNT; section++) {
+                header.putLong(offsets[section]).putLong(lengths[section]);
+            }
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+
+        private void writeMetricNames(List<CodeMetric> metrics) throws IOException {
+            out.writeInt(metrics.size());
+            for (CodeMetric metric : metrics) {
+                out.writeInt(id(metric.name()));
+            }
+        }
+
+        private void writeMetrics(int[] metrics) throws IOException {
+            for (int value : metrics) {
+                out.writeInt(value);
+            }
+        }
+
+        private void writeResult(AnalysisResult result) throws IOException {
+            AnalysisResult.Statistics statistics = result.statistics();
+            out.writeInt(statistics.classCount());
+            out.writeInt(statistics.packageCount());
+            out.writeInt(statistics.methodCount());
+            out.writeInt(statistics.attributeCount());
+            statistics.lines().write(out);
+            out.writeDouble(statistics.averageMethodsPerClass());
+            out.writeDouble(statistics.averageLinesPerMethod());
+            out.writeDouble(statistics.averageAttributesPerClass());
+            out.writeInt(statistics.maxParameters());
+            writeClassSummaries(result.topClassesByMethods());
+            writeClassSummaries(result.topClassesByAttributes());
+            writeClassSummaries(result.topClassesInBoth());
+            out.writeInt(result.topMethodsByLines().size());
+            for (AnalysisResult.MethodSummary method : result.topMethodsByLines()) {
+                out.writeInt(id(method.packageName()));
+                out.writeInt(id(method.className()));
+                out.writeInt(id(method.name()));
+                out.writeInt(method.parameterCount());
+                method.lines().write(out);
+            }
+            out.writeInt(result.distributions().size());
+            for (AnalysisResult.Distribution distribution : result.distributions()) {
+                out.writeInt(id(distribution.label()));
+                out.writeInt(distribution.p50());
+                out.writeInt(distribution.p90());
+                out.writeInt(distribution.p99());
+                out.writeInt(distribution.max());
+            }
+            AnalysisResult.CallGraphSummary callGraph = result.callGraph();
+            out.writeInt(callGraph.methodCount());
+            out.writeInt(callGraph.callCount());
+            out.writeLong(callGraph.memoryFootprint());
+            out.writeInt(callGraph.maxCallDepth());
+            out.writeInt(callGraph.recursiveCycles().size());
+            for (List<String> cycle : callGraph.recursiveCycles()) {
+                writeStrings(cycle);
+            }
+            out.writeInt(id(callGraph.mostCalledMethod()));
+            writeStrings(callGraph.mostCalledBy());
+            out.writeInt(result.failedFiles().size());
+            for (Map.Entry<String, String> failure : result.failedFiles().entrySet()) {
+                out.writeInt(id(failure.getKey()));
+                out.writeInt(id(failure.getValue()));
+            }
+        }
+
+        private void writeClassSummaries(List<AnalysisResult.ClassSummary> summaries) throws IOException {
+            out.writeInt(summaries.size());
+            for (AnalysisResult.ClassSummary summary : summaries) {
+                out.writeInt(id(summary.packageName()));
+                out.writeInt(id(summary.name()));
+                out.writeInt(summary.methodCount());
+                out.writeInt(summary.attributeCount());
+                summary.lines().write(out);
+            }
+        }
+
+        private void writeStrings(List<String> values) throws IOException {
+            out.writeInt(values.size());
+            for (String value : values) {
+                out.writeInt(id(value));
+            }
+        }
+
+        private int id(String value) {
+            if (value == null) return NO_STRING;
+            return stringIds.computeIfAbsent(value, key -> {
+                strings.add(key);
+                return strings.size() - 1;
+            });
+        }
+
+        private void begin(int section) throws IOException {
+            out.flush();
+            offsets[section] = channel.position();
+        }
+
+        private void end(int section) throws IOException {
+            out.flush();
+            lengths[section] = channel.position() - offsets[section];
+            if (lengths[section] > Integer.MAX_VALUE) {
+                throw new IOException("Section d'instantané trop grande (plus de 2 Go)");
+            }
+        }
+    }
+}
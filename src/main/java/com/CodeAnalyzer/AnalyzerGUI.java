@@ -1,25 +1,61 @@
 package com.CodeAnalyzer;
 
 import java.io.File;
-import java.io.ByteArrayOutputStream;
-import java.io.PrintStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.stage.DirectoryChooser;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
 /**
  * Interface graphique principale pour l'analyseur de code Java.
  * Utilise JavaFX pour créer une fenêtre interactive permettant à l'utilisateur
  * de sélectionner un projet à analyser et d'afficher les résultats.
+ * Les résultats ({@link AnalysisResult}) sont affichés dans des tableaux et listes
+ * virtualisés : seules les lignes visibles sont rendues. L'analyse s'exécute en
+ * arrière-plan et peut être annulée. Une analyse peut être enregistrée puis rouverte
+ * sans nouvelle analyse ({@link AnalysisSnapshot}). Le projet analysé peut être surveillé :
+ * les fichiers modifiés sont relus et les résultats rafraîchis ({@link ProjectWatcher}).
  */
 public class AnalyzerGUI extends Application {
-    private TextArea resultArea;
-    private CodeAnalyzer analyzer;
+    private final TableView<Metric> statisticsTable = metricTable("Métrique", "Valeur");
+    private final TableView<AnalysisResult.ClassSummary> topClassesByMethodsTable = classTable();
+    private final TableView<AnalysisResult.ClassSummary> topClassesByAttributesTable = classTable();
+    private final TableView<AnalysisResult.ClassSummary> topClassesInBothTable = classTable();
+    private final TableView<AnalysisResult.MethodSummary> topMethodsTable = methodTable();
+    private final ListView<String> cyclesList = new ListView<>();
+    private final TableView<Metric> failedFilesTable = metricTable("Fichier", "Erreur");
+    private final TableView<AnalysisResult.ClassSummary> manyMethodsTable = classTable();
+    private final ProgressBar progressBar = new ProgressBar(0);
+    private final Label progressLabel = new Label();
+    private TabPane resultTabs;
+    private Tab manyMethodsTab;
+    private AnalysisModel analysis;
+    private CodeAnalyzer runningAnalyzer;
+    private Path analysisRoot;
+    private ProjectWatcher watcher;
+    private CheckBox watchBox;
+    private Button chooseButton;
+    private Button cancelButton;
+    private Button openSnapshotButton;
+    private Button saveSnapshotButton;
+    private Button showCallGraphButton;
+    private Button analyzeManyMethodsButton;
     private Stage primaryStage;
     private TextField methodThresholdField;
 
@@ -31,32 +67,64 @@ public class AnalyzerGUI extends Application {
         VBox root = new VBox(10);
         root.setPadding(new Insets(10));
 
-        Button chooseButton = new Button("Choisir un projet");
-        Button showCallGraphButton = new Button("Afficher le graphe d'appel");
+        chooseButton = new Button("Choisir un projet");
+        cancelButton = new Button("Annuler");
+        cancelButton.setDisable(true);  // Activé uniquement pendant l'analyse
+        openSnapshotButton = new Button("Ouvrir un instantané");
+        saveSnapshotButton = new Button("Enregistrer l'instantané");
+        saveSnapshotButton.setDisable(true);  // Désactivé jusqu'à ce que l'analyse soit effectuée
+        showCallGraphButton = new Button("Afficher le graphe d'appel");
         showCallGraphButton.setDisable(true);  // Désactivé jusqu'à ce que l'analyse soit effectuée
+        watchBox = new CheckBox("Surveiller les modifications");
+        watchBox.setDisable(true);  // Activé pour un projet analysé, pas pour un instantané
         
         methodThresholdField = new TextField();
         methodThresholdField.setPromptText("Nombre de méthodes");
-        Button analyzeManyMethodsButton = new Button("Rechercher");
+        analyzeManyMethodsButton = new Button("Rechercher");
         analyzeManyMethodsButton.setDisable(true);  // Désactivé jusqu'à ce que l'analyse soit effectuée
         
+        HBox projectBox = new HBox(10, chooseButton, cancelButton, openSnapshotButton, saveSnapshotButton, watchBox);
         HBox analysisBox = new HBox(10, methodThresholdField, analyzeManyMethodsButton);
+
+        progressBar.setMaxWidth(Double.MAX_VALUE);
+        HBox.setHgrow(progressBar, Priority.ALWAYS);
+        HBox progressBox = new HBox(10, progressBar, progressLabel);
         
-        resultArea = new TextArea();
-        resultArea.setEditable(false);
-        resultArea.setPrefRowCount(20);
-
-        chooseButton.setOnAction(e -> {
-            chooseAndAnalyzeProject(primaryStage);
-            showCallGraphButton.setDisable(false);
-            analyzeManyMethodsButton.setDisable(false);
+        manyMethodsTab = new Tab("Recherche", manyMethodsTable);
+        resultTabs = new TabPane(
+            new Tab("Statistiques", statisticsTable),
+            new Tab("Classes (méthodes)", topClassesByMethodsTable),
+            new Tab("Classes (attributs)", topClassesByAttributesTable),
+            new Tab("Classes (les deux)", topClassesInBothTable),
+            new Tab("Méthodes", topMethodsTable),
+            new Tab("Cycles récursifs", cyclesList),
+            new Tab("Fichiers ignorés", failedFilesTable),
+            manyMethodsTab
+        );
+        resultTabs.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
+        VBox.setVgrow(resultTabs, Priority.ALWAYS);
+
+        chooseButton.setOnAction(e -> chooseAndAnalyzeProject(primaryStage));
+
+        cancelButton.setOnAction(e -> {
+            if (runningAnalyzer != null) {
+                runningAnalyzer.cancel();
+                cancelButton.setDisable(true);
+                progressLabel.setText("Annulation en cours...");
+            }
         });
 
+        openSnapshotButton.setOnAction(e -> openSnapshot(primaryStage));
+
+        saveSnapshotButton.setOnAction(e -> saveSnapshot(primaryStage));
+
+        watchBox.setOnAction(e -> updateWatcher());
+
         showCallGraphButton.setOnAction(e -> launchCallGraphGUI());
 
         analyzeManyMethodsButton.setOnAction(e -> analyzeManyMethods());
 
-        root.getChildren().addAll(chooseButton, showCallGraphButton, analysisBox, resultArea);
+        root.getChildren().addAll(projectBox, progressBox, showCallGraphButton, analysisBox, resultTabs);
 
         Scene scene = new Scene(root, 800, 600);
         primaryStage.setScene(scene);
@@ -64,44 +132,275 @@ public class AnalyzerGUI extends Application {
     }
     
     /**
-     * Ouvre un sélecteur de dossier pour choisir le projet à analyser,
-     * puis lance l'analyse et affiche les résultats.
+     * Ouvre un sélecteur de dossier pour choisir le projet à analyser, puis lance
+     * l'analyse en arrière-plan. L'avancement et les statistiques partielles sont
+     * affichés au fil de l'analyse ; les résultats complets à la fin.
      */
     private void chooseAndAnalyzeProject(Stage stage) {
         DirectoryChooser directoryChooser = new DirectoryChooser();
         directoryChooser.setTitle("Sélectionner un projet Java");
         File selectedDirectory = directoryChooser.showDialog(stage);
-        
-        if (selectedDirectory != null) {
-            analyzer = new CodeAnalyzer();
-            analyzer.analyze(selectedDirectory.getPath());
-            
-            String results = captureOutput(() -> {
-                analyzer.printStatistics();
-                analyzer.printCallGraphStatistics();
-            });
-            
-            resultArea.setText(results);
+        if (selectedDirectory == null) return;
+
+        CodeAnalyzer running = new CodeAnalyzer();
+        running.setParallelism(Runtime.getRuntime().availableProcessors());
+        running.setIncremental(true);  // Permet de surveiller le projet une fois l'analyse terminée
+        // Seul le dernier avancement non encore affiché est conservé : le thread JavaFX n'est jamais submergé
+        AtomicReference<AnalysisProgress> latestProgress = new AtomicReference<>();
+        running.setProgressListener(progress -> {
+            if (latestProgress.getAndSet(progress) == null) {
+                Platform.runLater(() -> showProgress(latestProgress.getAndSet(null)));
+            }
+        });
+
+        Task<AnalysisResult> task = new Task<>() {
+            @Override
+            protected AnalysisResult call() {
+                running.analyze(selectedDirectory.toPath());
+                return running.getResult();
+            }
+        };
+        task.setOnSucceeded(e -> {
+            analysis = running;
+            finishAnalysis();
+            showResult(task.getValue());
+            if (running.isCancelled()) {
+                progressLabel.setText("Analyse annulée : résultats partiels. " + progressLabel.getText());
+            }
+        });
+        task.setOnFailed(e -> {
+            finishAnalysis();
+            progressLabel.setText("Échec de l'analyse");
+            showAlert("Erreur", "L'analyse a échoué : " + task.getException().getMessage());
+        });
+
+        stopWatching();
+        analysis = null;
+        analysisRoot = selectedDirectory.toPath();
+        runningAnalyzer = running;
+        clearResults();
+        progressBar.setProgress(ProgressBar.INDETERMINATE_PROGRESS);
+        progressLabel.setText("Recherche des fichiers...");
+        chooseButton.setDisable(true);
+        cancelButton.setDisable(false);
+        openSnapshotButton.setDisable(true);
+        saveSnapshotButton.setDisable(true);
+        showCallGraphButton.setDisable(true);
+        analyzeManyMethodsButton.setDisable(true);
+
+        Thread thread = new Thread(task, "analyse-" + selectedDirectory.getName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Réactive les commandes une fois l'analyse réellement terminée (ou en échec).
+     */
+    private void finishAnalysis() {
+        runningAnalyzer = null;
+        chooseButton.setDisable(false);
+        cancelButton.setDisable(true);
+        openSnapshotButton.setDisable(false);
+        saveSnapshotButton.setDisable(analysis == null);
+        showCallGraphButton.setDisable(analysis == null);
+        analyzeManyMethodsButton.setDisable(analysis == null);
+        watchBox.setDisable(!(analysis instanceof CodeAnalyzer analyzer && analyzer.isIncremental()
+            && !analyzer.isCancelled()));
+        if (progressBar.getProgress() < 0) progressBar.setProgress(0);
+        updateWatcher();
+    }
+
+    /**
+     * Démarre ou arrête la surveillance du projet affiché selon la case à cocher.
+     * Les fichiers sont relus sur le thread de surveillance ; seul le résultat est affiché
+     * sur le thread JavaFX.
+     */
+    private void updateWatcher() {
+        if (!watchBox.isSelected() || watchBox.isDisabled()) {
+            stopWatching();
+            return;
+        }
+        if (watcher != null) return;
+        CodeAnalyzer watched = (CodeAnalyzer) analysis;
+        try {
+            watcher = new ProjectWatcher(watched, analysisRoot, update -> Platform.runLater(() -> {
+                if (analysis != watched) return;  // Mise à jour d'un projet qui n'est plus affiché
+                showResult(update.result());
+                progressLabel.setText(String.format("%d fichier(s) mis à jour en %d ms",
+                    update.files().size(), update.durationNanos() / 1_000_000));
+            }));
+            watcher.start();
+            progressLabel.setText("Surveillance de " + analysisRoot);
+        } catch (IOException e) {
+            watchBox.setSelected(false);
+            showAlert("Erreur", "Impossible de surveiller le projet : " + e.getMessage());
         }
     }
 
+    private void stopWatching() {
+        if (watcher == null) return;
+        try {
+            watcher.close();
+        } catch (IOException e) {
+            // La surveillance est arrêtée dans tous les cas
+        }
+        watcher = null;
+    }
+
+    /**
+     * Rouvre une analyse enregistrée : le fichier est projeté en mémoire et seuls le résultat
+     * et les statistiques sont décodés ; le graphe d'appel l'est à sa première ouverture.
+     */
+    private void openSnapshot(Stage stage) {
+        File file = snapshotChooser("Ouvrir un instantané d'analyse").showOpenDialog(stage);
+        if (file == null) return;
+        try {
+            AnalysisSnapshot snapshot = AnalysisSnapshot.open(file.toPath());
+            stopWatching();
+            analysis = snapshot;
+            clearResults();
+            showResult(snapshot.getResult());
+            progressBar.setProgress(1);
+            progressLabel.setText("Instantané ouvert : " + file.getName());
+        } catch (IOException | RuntimeException e) {
+            analysis = null;
+            showAlert("Erreur", "Impossible d'ouvrir l'instantané : " + e.getMessage());
+        }
+        finishAnalysis();
+    }
+
+    /**
+     * Enregistre l'analyse affichée en arrière-plan.
+     */
+    private void saveSnapshot(Stage stage) {
+        if (analysis == null) return;
+        File file = snapshotChooser("Enregistrer l'instantané d'analyse").showSaveDialog(stage);
+        if (file == null) return;
+        AnalysisModel saved = analysis;
+        Task<Void> task = new Task<>() {
+            @Override
+            protected Void call() throws IOException {
+                synchronized (saved) {  // Le projet surveillé ne change pas pendant l'écriture
+                    AnalysisSnapshot.write(saved, file.toPath());
+                }
+                return null;
+            }
+        };
+        task.setOnSucceeded(e -> {
+            saveSnapshotButton.setDisable(false);
+            progressLabel.setText("Instantané enregistré : " + file.getName());
+        });
+        task.setOnFailed(e -> {
+            saveSnapshotButton.setDisable(false);
+            showAlert("Erreur", "Impossible d'enregistrer l'instantané : " + task.getException().getMessage());
+        });
+        saveSnapshotButton.setDisable(true);
+        Thread thread = new Thread(task, "instantane-" + file.getName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static FileChooser snapshotChooser(String title) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle(title);
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Instantané d'analyse", "*.snap"));
+        return chooser;
+    }
+
+    /**
+     * Affiche l'avancement et les statistiques partielles ; appelée sur le thread JavaFX.
+     */
+    private void showProgress(AnalysisProgress progress) {
+        progressBar.setProgress(progress.finished() ? 1
+            : progress.discoveredFiles() == 0 ? ProgressBar.INDETERMINATE_PROGRESS
+            : (double) progress.analyzedFiles() / progress.discoveredFiles());
+        progressLabel.setText(String.format("%d fichiers découverts, %d analysés, %d en échec (%.1f fichiers/s)",
+            progress.discoveredFiles(), progress.analyzedFiles(), progress.failedFiles(), progress.filesPerSecond()));
+        statisticsTable.setItems(FXCollections.observableList(statisticsRows(progress.statistics())));
+    }
+
+    private void clearResults() {
+        statisticsTable.getItems().clear();
+        topClassesByMethodsTable.getItems().clear();
+        topClassesByAttributesTable.getItems().clear();
+        topClassesInBothTable.getItems().clear();
+        topMethodsTable.getItems().clear();
+        cyclesList.getItems().clear();
+        failedFilesTable.getItems().clear();
+        manyMethodsTable.getItems().clear();
+    }
+
+    private static List<Metric> statisticsRows(AnalysisResult.Statistics statistics) {
+        return new ArrayList<>(List.of(
+            new Metric("Nombre de classes", statistics.classCount()),
+            new Metric("Nombre de lignes de code", statistics.lines().getPhysical()),
+            new Metric("Lignes de code source", statistics.lines().getSource()),
+            new Metric("Lignes de commentaires", statistics.lines().getComment()),
+            new Metric("Lignes vides", statistics.lines().getBlank()),
+            new Metric("Nombre total de méthodes", statistics.methodCount()),
+            new Metric("Nombre total de packages", statistics.packageCount()),
+            new Metric("Moyenne de méthodes par classe", statistics.averageMethodsPerClass()),
+            new Metric("Moyenne de lignes par méthode", statistics.averageLinesPerMethod()),
+            new Metric("Moyenne d'attributs par classe", statistics.averageAttributesPerClass()),
+            new Metric("Nombre maximal de paramètres", statistics.maxParameters())
+        ));
+    }
+
+    /**
+     * Remplit les tableaux à partir du résultat de l'analyse.
+     */
+    private void showResult(AnalysisResult result) {
+        AnalysisResult.CallGraphSummary callGraph = result.callGraph();
+        List<Metric> metrics = statisticsRows(result.statistics());
+        for (AnalysisResult.Distribution distribution : result.distributions()) {
+            metrics.add(new Metric(distribution.label() + " (p50 / p90 / p99 / max)", String.format("%d / %d / %d / %d",
+                distribution.p50(), distribution.p90(), distribution.p99(), distribution.max())));
+        }
+        metrics.add(new Metric("Méthodes du graphe d'appel", callGraph.methodCount()));
+        metrics.add(new Metric("Appels du graphe d'appel", callGraph.callCount()));
+        metrics.add(new Metric("Empreinte mémoire du graphe (Ko)", callGraph.memoryFootprint() / 1024));
+        metrics.add(new Metric("Profondeur maximale des appels", callGraph.maxCallDepth()));
+        metrics.add(new Metric("Cycles récursifs", callGraph.recursiveCycles().size()));
+        metrics.add(new Metric("Méthode la plus appelée",
+            callGraph.mostCalledMethod() == null ? "Aucune méthode trouvée" : callGraph.mostCalledMethod()));
+        metrics.add(new Metric("Appelée par", String.join(", ", callGraph.mostCalledBy())));
+        metrics.add(new Metric("Fichiers ignorés", result.failedFiles().size()));
+
+        statisticsTable.setItems(FXCollections.observableList(metrics));
+        topClassesByMethodsTable.setItems(FXCollections.observableList(result.topClassesByMethods()));
+        topClassesByAttributesTable.setItems(FXCollections.observableList(result.topClassesByAttributes()));
+        topClassesInBothTable.setItems(FXCollections.observableList(result.topClassesInBoth()));
+        topMethodsTable.setItems(FXCollections.observableList(result.topMethodsByLines()));
+        cyclesList.setItems(FXCollections.observableList(
+            callGraph.recursiveCycles().stream().map(cycle -> String.join(" <-> ", cycle)).toList()));
+        failedFilesTable.setItems(FXCollections.observableList(
+            result.failedFiles().entrySet().stream().map(e -> new Metric(e.getKey(), e.getValue())).toList()));
+        manyMethodsTable.getItems().clear();
+    }
+
     /**
      * Lance l'interface graphique du graphe d'appel.
      */
     private void launchCallGraphGUI() {
-        if (analyzer != null && analyzer.getCallGraph() != null) {
+        if (analysis != null && analysis.getCallGraph() != null) {
             System.out.println("lancement du call graph");
-            CallGraphGUI.displayGraph(analyzer.getCallGraph(), primaryStage);
+            // La surveillance, activée avant ou après l'ouverture, modifie le graphe :
+            // la fenêtre affiche une copie figée, prise sous le verrou de l'analyse
+            CallGraph graph;
+            synchronized (analysis) {
+                graph = CallGraph.frozen(analysis.getCallGraph().compactView());
+            }
+            CallGraphGUI.displayGraph(graph, primaryStage);
         } else {
             showAlert("Erreur", "Veuillez d'abord analyser un projet avant d'afficher le graphe d'appel.");
         }
     }
 
     /**
-     * Analyse les classes avec beaucoup de méthodes et ajoute les résultats au texte existant.
+     * Recherche les classes avec beaucoup de méthodes et les affiche dans l'onglet de recherche.
      */
     private void analyzeManyMethods() {
-        if (analyzer == null) {
+        if (analysis == null) {
             showAlert("Erreur", "Veuillez d'abord analyser un projet.");
             return;
         }
@@ -109,31 +408,64 @@ public class AnalyzerGUI extends Application {
         try {
             int threshold = Integer.parseInt(methodThresholdField.getText());
             
-            String results = captureOutput(() -> analyzer.printClassesWithManyMethods(threshold));
-            
-            resultArea.appendText("\n\n" + results);
+            List<AnalysisResult.ClassSummary> classes;
+            synchronized (analysis) {
+                classes = analysis.getClassesWithManyMethods(threshold);
+            }
+            manyMethodsTable.setItems(FXCollections.observableList(classes));
+            manyMethodsTab.setText("Classes avec au moins " + threshold + " méthodes");
+            resultTabs.getSelectionModel().select(manyMethodsTab);
         } catch (NumberFormatException e) {
             showAlert("Erreur", "Veuillez entrer un nombre valide dans le champ 'Nombre de méthodes'.");
         }
     }
     
+    private static TableView<AnalysisResult.ClassSummary> classTable() {
+        TableView<AnalysisResult.ClassSummary> table = new TableView<>();
+        table.getColumns().addAll(List.of(
+            column("Package", AnalysisResult.ClassSummary::packageName),
+            column("Classe", AnalysisResult.ClassSummary::name),
+            column("Méthodes", AnalysisResult.ClassSummary::methodCount),
+            column("Attributs", AnalysisResult.ClassSummary::attributeCount),
+            column("Lignes", c -> c.lines().getPhysical())
+        ));
+        return table;
+    }
+
+    private static TableView<AnalysisResult.MethodSummary> methodTable() {
+        TableView<AnalysisResult.MethodSummary> table = new TableView<>();
+        table.getColumns().addAll(List.of(
+            column("Classe", AnalysisResult.MethodSummary::className),
+            column("Méthode", AnalysisResult.MethodSummary::name),
+            column("Paramètres", AnalysisResult.MethodSummary::parameterCount),
+            column("Lignes", m -> m.lines().getPhysical())
+        ));
+        return table;
+    }
+
+    private static TableView<Metric> metricTable(String labelTitle, String valueTitle) {
+        TableView<Metric> table = new TableView<>();
+        table.getColumns().addAll(List.of(column(labelTitle, Metric::label), column(valueTitle, Metric::value)));
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+        return table;
+    }
+
+    private static <T> TableColumn<T, Object> column(String title, Function<T, Object> value) {
+        TableColumn<T, Object> column = new TableColumn<>(title);
+        column.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(value.apply(cell.getValue())));
+        return column;
+    }
+
     /**
-     * Capture la sortie console d'une opération et la retourne sous forme de chaîne.
+     * Ligne « libellé / valeur » d'un tableau de statistiques.
      */
-    private String captureOutput(Runnable operation) {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PrintStream ps = new PrintStream(baos);
-        PrintStream old = System.out;
-        System.setOut(ps);
-        
-        operation.run();
-        
-        System.out.flush();
-        System.setOut(old);
-        
-        return baos.toString();
+    private record Metric(String label, String value) {
+
+        Metric(String label, Number value) {
+            this(label, value instanceof Double d ? String.format("%.2f", d) : value.toString());
+        }
     }
-    
+
     /**
      * Affiche une boîte de dialogue d'alerte avec le titre et le contenu spécifiés.
      */
@@ -0,0 +1,29 @@
+package com.CodeAnalyzer;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.FieldDeclaration;
+
+/**
+ * Nombre de déclarations d'attributs faites directement dans la classe
+ * ({@code int a, b;} compte pour une).
+ */
+public final class AttributeCountMetric implements CodeMetric {
+    static final String NAME = "attributes";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Level level() {
+        return Level.CLASS;
+    }
+
+    @Override
+    public void enter(Node node, MetricContext context) {
+        if (node instanceof FieldDeclaration && node.getParentNode().orElse(null) == context.declaration()) {
+            context.add(1);
+        }
+    }
+}
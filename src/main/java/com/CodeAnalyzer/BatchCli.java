@@ -0,0 +1,634 @@
+package com.CodeAnalyzer;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Mode ligne de commande non interactif, destiné à l'intégration continue.
+ *
+ * L'analyse est configurée par les arguments et le rapport est écrit en flux
+ * (JSON Lines ou CSV) sur la sortie standard ou dans un fichier. Cette classe ne
+ * dépend d'aucune classe JavaFX : le mode batch démarre sans charger la boîte à outils.
+ *
+ * Avec {@code --watch}, le projet reste surveillé après le rapport initial : chaque lot de
+ * fichiers modifiés produit des enregistrements {@code update} (un par fichier relu ou retiré)
+ * suivis des statistiques globales mises à jour, jusqu'à l'arrêt du processus.
+ *
+ * Un grand projet peut être réparti entre plusieurs processus : chacun analyse un fragment
+ * ({@code --shard i/n} ou {@code --shard-list}) et enregistre un résultat partiel
+ * ({@code --save-partial}) ; {@code --merge} combine ensuite ces résultats, éventuellement
+ * par étapes, en un rapport identique à celui d'une analyse unique.
+ *
+ * Codes de sortie : 0 en cas de succès, 1 si le rapport n'a pas pu être écrit,
+ * 2 si les arguments sont invalides.
+ */
+public class BatchCli {
+    static final int EXIT_OK = 0;
+    static final int EXIT_IO_ERROR = 1;
+    static final int EXIT_USAGE = 2;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+        "Usage : CodeAnalyzer <chemin du projet ou archive .jar/.zip> [options]",
+        "        CodeAnalyzer --snapshot <fichier> [options]",
+        "        CodeAnalyzer --merge <fichier> [--merge <fichier> ...] [options]",
+        "  --format jsonl|csv        format du rapport (par défaut : jsonl)",
+        "  --output <fichier>        fichier de sortie (par défaut : sortie standard)",
+        "  --min-methods <n>         n'écrit que les classes d'au moins n méthodes",
+        "  --min-method-lines <n>    n'écrit que les méthodes d'au moins n lignes",
+        "  --metrics                 écrit les métriques enfichables de chaque classe et méthode",
+        "  --quick                   analyse rapide sans AST : statistiques, classes et méthodes, sans appels",
+        "  --parallelism <n>         nombre de threads d'analyse (par défaut : nombre de processeurs)",
+        "  --read-ahead <octets>     plafond des fichiers lus à l'avance en mémoire (par défaut : 32 Mo)",
+        "  --io-stats                affiche sur l'erreur standard les temps de lecture et d'analyse, et le cache",
+        "  --include <motif>         motif des fichiers à analyser, répétable (par défaut : *.java)",
+        "  --exclude <motif>         motif à exclure, répétable",
+        "  --max-file-size <octets>  ignore les fichiers plus gros",
+        "  --no-ignore-files         ne lit pas les fichiers .gitignore",
+        "  --archives                analyse aussi les sources des archives .jar et .zip du projet",
+        "  --cache <fichier>         active le cache d'analyse incrémentale",
+        "  --save-snapshot <fichier> enregistre l'analyse dans un instantané binaire",
+        "  --snapshot <fichier>      relit un instantané au lieu d'analyser un projet",
+        "  --watch                   surveille le projet et écrit les mises à jour en continu",
+        "  --shard <i>/<n>           n'analyse que le fragment i (de 0 à n-1) sur n, réparti par hachage",
+        "  --shard-list <fichier>    n'analyse que les chemins relatifs listés dans le fichier",
+        "  --save-partial <fichier>  enregistre un résultat partiel, à combiner avec --merge",
+        "  --merge <fichier>         combine des résultats partiels au lieu d'analyser, répétable",
+        "  --reachability            méthodes et classes inatteignables, appelants et appelées transitifs",
+        "  --entry-point <motif>     point d'entrée « Classe.méthode » (jokers * et ?), répétable",
+        "                            (par défaut : *.main, *.start, *.run, *.call, *.handle*)",
+        "  --closure <méthode>       appelées et appelants transitifs d'une méthode",
+        "  --help                    affiche cette aide");
+
+    private Path projectPath;
+    private String format = "jsonl";
+    private Path output;
+    private int minMethods = 0;
+    private int minMethodLines = 0;
+    private boolean metrics = false;
+    private boolean quick = false;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private long readAheadBytes = SourcePrefetcher.DEFAULT_MAX_BUFFERED_BYTES;
+    private boolean ioStats = false;
+    private final List<String> includes = new ArrayList<>();
+    private final List<String> excludes = new ArrayList<>();
+    private long maxFileSize = 0;
+    private boolean useIgnoreFiles = true;
+    private boolean scanArchives = false;
+    private Path cacheFile;
+    private Path saveSnapshotFile;
+    private Path snapshotFile;
+    private boolean watch = false;
+    private Predicate<String> shard;
+    private Path shardListFile;
+    private Path savePartialFile;
+    private final List<Path> mergeFiles = new ArrayList<>();
+    private boolean reachability = false;
+    private final List<String> entryPoints = new ArrayList<>();
+    private String closureMethod;
+
+    public static void main(String[] args) {
+        int status = run(args);
+        if (status != EXIT_OK) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Analyse le projet désigné par les arguments et écrit le rapport.
+     */
+    public static int run(String[] args) {
+        BatchCli cli = new BatchCli();
+        try {
+            if (!cli.parseArguments(args)) {
+                System.out.println(USAGE);
+                return EXIT_OK;
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Erreur : " + e.getMessage());
+            System.err.println(USAGE);
+            return EXIT_USAGE;
+        }
+        return cli.execute();
+    }
+
+    /**
+     * Lit les arguments ; retourne faux si l'aide a été demandée.
+     */
+    private boolean parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--help":
+                case "-h":
+                    return false;
+                case "--format":
+                    format = value(args, ++i, arg);
+                    break;
+                case "--output":
+                    output = Paths.get(value(args, ++i, arg));
+                    break;
+                case "--min-methods":
+                    minMethods = intValue(args, ++i, arg, 0);
+                    break;
+                case "--min-method-lines":
+                    minMethodLines = intValue(args, ++i, arg, 0);
+                    break;
+                case "--metrics":
+                    metrics = true;
+                    break;
+                case "--quick":
+                    quick = true;
+                    break;
+                case "--parallelism":
+                    parallelism = intValue(args, ++i, arg, 1);
+                    break;
+                case "--read-ahead":
+                    readAheadBytes = longValue(args, ++i, arg);
+                    if (readAheadBytes < 1) {
+                        throw new IllegalArgumentException("Valeur invalide pour " + arg + " : " + args[i]);
+                    }
+                    break;
+                case "--io-stats":
+                    ioStats = true;
+                    break;
+                case "--include":
+                    includes.add(value(args, ++i, arg));
+                    break;
+                case "--exclude":
+                    excludes.add(value(args, ++i, arg));
+                    break;
+                case "--max-file-size":
+                    maxFileSize = longValue(args, ++i, arg);
+                    break;
+                case "--no-ignore-files":
+                    useIgnoreFiles = false;
+                    break;
+                case "--archives":
+                    scanArchives = true;
+                    break;
+                case "--cache":
+                    cacheFile = Paths.get(value(args, ++i, arg));
+                    break;
+                case "--save-snapshot":
+                    saveSnapshotFile = Paths.get(value(args, ++i, arg));
+                    break;
+                case "--snapshot":
+                    snapshotFile = Paths.get(value(args, ++i, arg));
+                    break;
+                case "--watch":
+                    watch = true;
+                    break;
+                case "--shard":
+                    shard = parseShard(value(args, ++i, arg));
+                    break;
+                case "--shard-list":
+                    shardListFile = Paths.get(value(args, ++i, arg));
+                    break;
+                case "--save-partial":
+                    savePartialFile = Paths.get(value(args, ++i, arg));
+                    break;
+                case "--merge":
+                    mergeFiles.add(Paths.get(value(args, ++i, arg)));
+                    break;
+                case "--reachability":
+                    reachability = true;
+                    break;
+                case "--entry-point":
+                    entryPoints.add(value(args, ++i, arg));
+                    break;
+                case "--closure":
+                    closureMethod = value(args, ++i, arg);
+                    break;
+                default:
+                    if (arg.startsWith("--")) {
+                        throw new IllegalArgumentException("Option inconnue : " + arg);
+                    }
+                    if (projectPath != null) {
+                        throw new IllegalArgumentException("Un seul chemin de projet est attendu : " + arg);
+                    }
+                    projectPath = Paths.get(arg);
+            }
+        }
+        if (!entryPoints.isEmpty() && !reachability) {
+            throw new IllegalArgumentException("--entry-point nécessite --reachability");
+        }
+        if (shard != null && shardListFile != null) {
+            throw new IllegalArgumentException("--shard et --shard-list sont incompatibles");
+        }
+        boolean sharded = shard != null || shardListFile != null;
+        if (quick && (metrics || reachability || closureMethod != null)) {
+            throw new IllegalArgumentException("--quick ne construit ni graphe d'appel ni métriques enfichables");
+        }
+        if (quick && (cacheFile != null || saveSnapshotFile != null || savePartialFile != null
+                || snapshotFile != null || !mergeFiles.isEmpty())) {
+            throw new IllegalArgumentException("--quick ne s'applique qu'à l'analyse directe d'un projet");
+        }
+        if (ioStats && (snapshotFile != null || !mergeFiles.isEmpty())) {
+            throw new IllegalArgumentException("--io-stats ne s'applique qu'à l'analyse d'un projet");
+        }
+        if (watch && (sharded || savePartialFile != null)) {
+            throw new IllegalArgumentException("--watch ne s'applique pas à une analyse fragmentée");
+        }
+        if (!mergeFiles.isEmpty()) {
+            if (projectPath != null || snapshotFile != null || sharded || watch) {
+                throw new IllegalArgumentException("--merge remplace l'analyse d'un projet");
+            }
+            for (Path mergeFile : mergeFiles) {
+                if (!Files.isRegularFile(mergeFile)) {
+                    throw new IllegalArgumentException("Résultat partiel introuvable : " + mergeFile);
+                }
+            }
+        } else if (snapshotFile != null) {
+            if (sharded || savePartialFile != null) {
+                throw new IllegalArgumentException("--snapshot ne s'applique pas à une analyse fragmentée");
+            }
+            if (projectPath != null) {
+                throw new IllegalArgumentException("--snapshot remplace le chemin du projet : " + projectPath);
+            }
+            if (watch) {
+                throw new IllegalArgumentException("--watch nécessite un chemin de projet");
+            }
+            if (!Files.isRegularFile(snapshotFile)) {
+                throw new IllegalArgumentException("Instantané introuvable : " + snapshotFile);
+            }
+        } else if (projectPath == null) {
+            throw new IllegalArgumentException("Le chemin du projet est obligatoire.");
+        } else if (SourceArchives.isArchive(projectPath) && Files.isRegularFile(projectPath)) {
+            if (watch) {
+                throw new IllegalArgumentException("--watch ne s'applique pas à une archive");
+            }
+        } else if (!Files.isDirectory(projectPath)) {
+            throw new IllegalArgumentException("Le chemin du projet n'est ni un répertoire ni une archive : " + projectPath);
+        }
+        if (watch && scanArchives) {
+            throw new IllegalArgumentException("--watch ne suit pas le contenu des archives");
+        }
+        if (!format.equalsIgnoreCase("jsonl") && !format.equalsIgnoreCase("json") && !format.equalsIgnoreCase("csv")) {
+            throw new IllegalArgumentException("Format de rapport inconnu : " + format);
+        }
+        return true;
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Valeur manquante pour " + option);
+        }
+        return args[index];
+    }
+
+    private static Predicate<String> parseShard(String text) {
+        int slash = text.indexOf('/');
+        try {
+            return PartialAnalysis.hashShard(Integer.parseInt(text.substring(0, slash)),
+                Integer.parseInt(text.substring(slash + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Fragment attendu sous la forme i/n : " + text);
+        }
+    }
+
+    private static int intValue(String[] args, int index, String option, int minimum) {
+        long value = longValue(args, index, option);
+        if (value < minimum || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Valeur invalide pour " + option + " : " + args[index]);
+        }
+        return (int) value;
+    }
+
+    private static long longValue(String[] args, int index, String option) {
+        String text = value(args, index, option);
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Nombre attendu pour " + option + " : " + text);
+        }
+    }
+
+    private int execute() {
+        AnalysisModel analysis;
+        PartialAnalysis partial = null;
+        if (snapshotFile != null) {
+            try {
+                analysis = AnalysisSnapshot.open(snapshotFile);
+            } catch (IOException e) {
+                System.err.println("Impossible de lire l'instantané : " + e.getMessage());
+                return EXIT_IO_ERROR;
+            }
+        } else if (!mergeFiles.isEmpty()) {
+            try {
+                partial = mergePartials();
+            } catch (IOException e) {
+                System.err.println("Impossible de lire le résultat partiel : " + e.getMessage());
+                return EXIT_IO_ERROR;
+            } catch (IllegalArgumentException e) {
+                System.err.println("Erreur : " + e.getMessage());
+                return EXIT_USAGE;
+            }
+            if (!partial.isComplete()) {
+                System.err.println("Attention : résultat partiel, " + partial.size() + " fichiers sur "
+                    + partial.fileCount());
+            }
+            CodeAnalyzer analyzer = new CodeAnalyzer();
+            analyzer.load(partial);
+            analysis = analyzer;
+        } else {
+            CodeAnalyzer analyzer;
+            try {
+                analyzer = analyze();
+            } catch (IOException e) {
+                System.err.println("Impossible de lire la liste du fragment : " + e.getMessage());
+                return EXIT_IO_ERROR;
+            }
+            partial = analyzer.getPartial();
+            analysis = analyzer;
+            if (ioStats && analyzer.getPipelineStatistics() != null) {
+                printPipelineStatistics(analyzer.getPipelineStatistics());
+            }
+            if (ioStats && analyzer.getCache() != null) {
+                printCacheStatistics(analyzer.getCache());
+            }
+        }
+        if (savePartialFile != null) {
+            try {
+                partial.write(savePartialFile);
+            } catch (IOException e) {
+                System.err.println("Impossible d'enregistrer le résultat partiel : " + e.getMessage());
+                return EXIT_IO_ERROR;
+            }
+        }
+        if (saveSnapshotFile != null) {
+            try {
+                AnalysisSnapshot.write(analysis, saveSnapshotFile);
+            } catch (AnalysisSnapshot.CorruptedException e) {
+                System.err.println("Impossible de lire l'instantané : " + e.getMessage());
+                return EXIT_IO_ERROR;
+            } catch (IOException e) {
+                System.err.println("Impossible d'enregistrer l'instantané : " + e.getMessage());
+                return EXIT_IO_ERROR;
+            }
+        }
+
+        try (ReportWriter report = ReportWriter.create(format, openOutput())) {
+            writeReport(analysis, report);
+            if (watch) {
+                report.flush();
+                watch((CodeAnalyzer) analysis, report);
+            }
+        } catch (AnalysisSnapshot.CorruptedException e) {
+            System.err.println("Impossible de lire l'instantané : " + e.getMessage());
+            return EXIT_IO_ERROR;
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Impossible d'écrire le rapport : " + e.getMessage());
+            return EXIT_IO_ERROR;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Erreur : " + e.getMessage());
+            return EXIT_USAGE;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return EXIT_OK;
+    }
+
+    /**
+     * Écrit les mises à jour du projet au fil de l'eau, jusqu'à l'interruption du thread
+     * ou une erreur d'écriture.
+     */
+    private void watch(CodeAnalyzer analyzer, ReportWriter report) throws IOException, InterruptedException {
+        try (ProjectWatcher watcher = new ProjectWatcher(analyzer, projectPath, update -> {
+            try {
+                for (Path file : update.files()) {
+                    report.record("update", "path", file.toString());
+                }
+                writeSummary(analyzer, report);
+                report.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        })) {
+            watcher.run();
+        }
+    }
+
+    /**
+     * Lit et fusionne les résultats partiels ; l'ordre des fichiers est indifférent.
+     */
+    private PartialAnalysis mergePartials() throws IOException {
+        PartialAnalysis merged = null;
+        for (Path mergeFile : mergeFiles) {
+            PartialAnalysis partial = PartialAnalysis.read(mergeFile);
+            merged = merged == null ? partial : PartialAnalysis.merge(merged, partial);
+        }
+        return merged;
+    }
+
+    private CodeAnalyzer analyze() throws IOException {
+        CodeAnalyzer analyzer = new CodeAnalyzer();
+        analyzer.setParallelism(parallelism);
+        analyzer.setReadAheadBytes(readAheadBytes);
+        analyzer.setIncremental(watch);
+        analyzer.setQuickScan(quick);
+        SourceDiscovery discovery = analyzer.getDiscovery();
+        if (!includes.isEmpty()) discovery.setIncludes(includes);
+        excludes.forEach(discovery::addExclude);
+        if (maxFileSize > 0) discovery.setMaxFileSize(maxFileSize);
+        discovery.setUseIgnoreFiles(useIgnoreFiles);
+        discovery.setScanArchives(scanArchives);
+        if (cacheFile != null) {
+            analyzer.setCache(AnalysisCache.open(cacheFile, AnalysisCache.DEFAULT_MAX_BYTES));
+        }
+
+        if (shard != null) {
+            analyzer.setShard(shard);
+        } else if (shardListFile != null) {
+            analyzer.setShard(PartialAnalysis.listShard(shardListFile));
+        } else if (savePartialFile != null) {
+            analyzer.setShard(path -> true);  // Résultat partiel couvrant tout le projet
+        }
+
+        analyzer.analyze(projectPath);
+        return analyzer;
+    }
+
+    /**
+     * Affiche les compteurs de lecture anticipée sur l'erreur standard, hors du rapport
+     * dont le contenu ne dépend pas des temps mesurés.
+     */
+    private static void printPipelineStatistics(PipelineStatistics statistics) {
+        System.err.printf("Lecture : %d fichiers, %d octets (%d projetés), %d ms, pic en mémoire %d octets%n",
+            statistics.filesRead(), statistics.bytesRead(), statistics.mappedFiles(),
+            statistics.readNanos() / 1_000_000, statistics.peakBufferedBytes());
+        System.err.printf("Attente : analyse sur lecture %d ms (%.1f %%), lecture sur analyse %d ms%n",
+            statistics.ioWaitNanos() / 1_000_000, statistics.ioWaitRatio() * 100,
+            statistics.backpressureNanos() / 1_000_000);
+        System.err.printf("Analyse : %d ms (cumul des threads) en %d ms%n",
+            statistics.parseNanos() / 1_000_000, statistics.elapsedNanos() / 1_000_000);
+        System.err.println("Goulot : " + (statistics.ioBound() ? "lecture" : "analyse"));
+    }
+
+    private static void printCacheStatistics(AnalysisCache cache) {
+        System.err.printf("Cache : %d fichiers retrouvés, %d absents ou modifiés, %d entrées%n",
+            cache.getHits(), cache.getMisses(), cache.size());
+    }
+
+    private Writer openOutput() throws IOException {
+        OutputStream stream = output == null
+            ? new FilterOutputStream(System.out) {
+                @Override
+                public void close() throws IOException {
+                    flush();  // La sortie standard reste ouverte
+                }
+            }
+            : Files.newOutputStream(output);
+        return new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Écrit les statistiques globales, puis les classes suivies de leurs méthodes,
+     * les appels du graphe et les fichiers en échec.
+     */
+    void writeReport(AnalysisModel analysis, ReportWriter report) throws IOException {
+        writeSummary(analysis, report);
+
+        for (CodeAnalyzer.ClassInfo classInfo : analysis.getClasses()) {
+            if (classInfo.methods.size() < minMethods) continue;
+            report.record("class",
+                "package", classInfo.packageName,
+                "class", classInfo.name,
+                "methods", classInfo.methods.size(),
+                "attributes", classInfo.attributes(),
+                "lines", classInfo.lines.getPhysical(),
+                "source_lines", classInfo.lines.getSource(),
+                "comment_lines", classInfo.lines.getComment(),
+                "blank_lines", classInfo.lines.getBlank());
+            if (metrics) {
+                writeMetrics(report, classInfo, null, MetricRegistry.classMetrics(), classInfo.metrics,
+                    MetricRegistry.ATTRIBUTES);
+            }
+            for (CodeAnalyzer.MethodInfo method : classInfo.methods) {
+                if (method.lines.getPhysical() < minMethodLines) continue;
+                report.record("method",
+                    "package", classInfo.packageName,
+                    "class", classInfo.name,
+                    "method", method.name,
+                    "parameters", method.parameters(),
+                    "lines", method.lines.getPhysical(),
+                    "source_lines", method.lines.getSource(),
+                    "comment_lines", method.lines.getComment(),
+                    "blank_lines", method.lines.getBlank());
+                if (metrics) {
+                    writeMetrics(report, classInfo, method.name, MetricRegistry.methodMetrics(), method.metrics,
+                        MetricRegistry.PARAMETERS);
+                }
+            }
+        }
+
+        CallGraph callGraph = analysis.getCallGraph();
+        for (String caller : callGraph.getAllMethods()) {
+            for (String callee : callGraph.getCallees(caller)) {
+                report.record("call", "caller", caller, "callee", callee);
+            }
+        }
+
+        for (Map.Entry<String, String> failure : analysis.getFailedFiles().entrySet()) {
+            report.record("failure", "path", failure.getKey(), "error", failure.getValue());
+        }
+
+        if (reachability || closureMethod != null) {
+            writeReachability(new CallGraphReachability(callGraph, analysis.getClasses()), report);
+        }
+    }
+
+    /**
+     * Un enregistrement {@code metric} par métrique enregistrée d'une classe ou d'une méthode,
+     * sauf celle déjà écrite dans l'enregistrement {@code class} ou {@code method}.
+     */
+    private static void writeMetrics(ReportWriter report, CodeAnalyzer.ClassInfo classInfo, String method,
+                                     List<CodeMetric> registered, int[] values, int written) throws IOException {
+        for (int slot = 0; slot < values.length; slot++) {
+            if (slot == written) continue;
+            report.record("metric",
+                "package", classInfo.packageName,
+                "class", classInfo.name,
+                "method", method,
+                "key", registered.get(slot).name(),
+                "value", values[slot]);
+        }
+    }
+
+    /**
+     * Écrit les méthodes et classes inatteignables depuis les points d'entrée, les nombres
+     * transitifs d'appelants et d'appelées de chaque méthode et la fermeture demandée.
+     */
+    private void writeReachability(CallGraphReachability engine, ReportWriter report) throws IOException {
+        if (closureMethod != null) {
+            for (String callee : engine.closure(closureMethod, true)) {
+                report.record("closure", "method", closureMethod, "callee", callee);
+            }
+            for (String caller : engine.closure(closureMethod, false)) {
+                report.record("closure", "method", closureMethod, "caller", caller);
+            }
+        }
+        if (!reachability) return;
+
+        CallGraphReachability.Result result = engine.unreachable(
+            entryPoints.isEmpty() ? CallGraphReachability.DEFAULT_ENTRY_POINTS : entryPoints);
+        summary(report, "entry_points", result.entryPoints().size());
+        summary(report, "declared_methods", result.declaredMethods());
+        summary(report, "reachable_methods", result.reachableMethods());
+        summary(report, "unreachable_methods", result.unreachableMethods().size());
+        summary(report, "unreachable_classes", result.unreachableClasses().size());
+        for (CodeAnalyzer.ClassInfo classInfo : result.unreachableClasses()) {
+            report.record("unreachable_class", "package", classInfo.packageName, "class", classInfo.name);
+        }
+        for (String method : result.unreachableMethods()) {
+            int dot = method.lastIndexOf('.');
+            report.record("unreachable_method", "class", method.substring(0, dot), "method", method.substring(dot + 1));
+        }
+
+        CallGraphReachability.TransitiveCounts counts = engine.transitiveCounts();
+        List<String> methods = engine.declaredMethods();
+        for (int i = 0; i < methods.size(); i++) {
+            String method = methods.get(i);
+            int dot = method.lastIndexOf('.');
+            report.record("transitive", "class", method.substring(0, dot), "method", method.substring(dot + 1),
+                "fan_in", counts.fanIn()[i], "fan_out", counts.fanOut()[i]);
+        }
+    }
+
+    private void writeSummary(AnalysisModel analysis, ReportWriter report) throws IOException {
+        AnalysisResult result = analysis.getResult();
+        AnalysisResult.Statistics statistics = result.statistics();
+        AnalysisResult.CallGraphSummary callGraph = result.callGraph();
+        summary(report, "classes", statistics.classCount());
+        summary(report, "packages", statistics.packageCount());
+        summary(report, "methods", statistics.methodCount());
+        summary(report, "attributes", statistics.attributeCount());
+        summary(report, "lines", statistics.lines().getPhysical());
+        summary(report, "source_lines", statistics.lines().getSource());
+        summary(report, "comment_lines", statistics.lines().getComment());
+        summary(report, "blank_lines", statistics.lines().getBlank());
+        summary(report, "methods_per_class_mean", statistics.averageMethodsPerClass());
+        summary(report, "lines_per_method_mean", statistics.averageLinesPerMethod());
+        summary(report, "attributes_per_class_mean", statistics.averageAttributesPerClass());
+        summary(report, "max_parameters", statistics.maxParameters());
+        if (!quick) {
+            summary(report, "call_graph_methods", callGraph.methodCount());
+            summary(report, "call_graph_calls", callGraph.callCount());
+            summary(report, "max_call_depth", callGraph.maxCallDepth());
+            summary(report, "recursive_cycles", callGraph.recursiveCycles().size());
+        }
+        summary(report, "failed_files", result.failedFiles().size());
+    }
+
+    private static void summary(ReportWriter report, String key, Number value) throws IOException {
+        report.record("summary", "key", key, "value", value);
+    }
+}
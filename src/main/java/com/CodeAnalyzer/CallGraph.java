@@ -5,21 +5,194 @@ import java.util.*;
 /**
  * Représente le graphe d'appel des méthodes dans le code analysé.
  * Stocke les relations entre les méthodes appelantes et appelées.
+ * Un index inverse (appelé vers appelants) est maintenu à chaque ajout, de sorte
+ * que les appelants et les degrés entrant et sortant s'obtiennent en temps constant.
+ *
+ * Une fois l'analyse terminée, {@link #freeze()} remplace les ensembles de chaînes
+ * par une représentation compacte ({@link CompactCallGraph}) ; toutes les requêtes
+ * restent disponibles et un nouvel ajout repasse automatiquement en mode mutable.
+ * Les appels peuvent aussi être retirés ({@link #removeCall(String, String)}), ce qu'utilise
+ * le mode surveillance pour remplacer les appels d'un fichier modifié. Tant que le graphe mutable
+ * n'est pas modifié, sa vue compacte et ses composantes fortement connexes sont conservées.
  */
 public class CallGraph {
     private Map<String, Set<String>> graph = new HashMap<>();
+    private Map<String, Set<String>> reverseGraph = new HashMap<>();
+    private Set<String> methods = new HashSet<>();
+    private int edgeCount = 0;
+    private CompactCallGraph compact;
+    private CompactCallGraph view;
+    private StronglyConnectedComponents components;
     
+    /**
+     * Retourne une vue non modifiable de toutes les méthodes (appelantes ou appelées).
+     */
     public Set<String> getAllMethods() {
-        Set<String> allMethods = new HashSet<>(graph.keySet());
-        graph.values().forEach(allMethods::addAll);
-        return allMethods;
+        if (compact != null) return compact.allMethods();
+        return Collections.unmodifiableSet(methods);
     }
 
     public void addCall(String caller, String callee) {
-        graph.computeIfAbsent(caller, k -> new HashSet<>()).add(callee);
+        if (compact != null) thaw();
+        if (graph.computeIfAbsent(caller, k -> new HashSet<>()).add(callee)) {
+            reverseGraph.computeIfAbsent(callee, k -> new HashSet<>()).add(caller);
+            methods.add(caller);
+            methods.add(callee);
+            edgeCount++;
+            modified();
+        }
+    }
+
+    /**
+     * Retire un appel ; une méthode qui n'a plus ni appelant ni appelée disparaît du graphe.
+     * Retourne faux si l'appel n'existait pas ; le graphe figé n'est alors pas dégelé.
+     */
+    public boolean removeCall(String caller, String callee) {
+        if (compact != null) {
+            if (!compact.callees(caller).contains(callee)) return false;
+            thaw();
+        }
+        Set<String> callees = graph.get(caller);
+        if (callees == null || !callees.remove(callee)) return false;
+        if (callees.isEmpty()) graph.remove(caller);
+        Set<String> callers = reverseGraph.get(callee);
+        callers.remove(caller);
+        if (callers.isEmpty()) reverseGraph.remove(callee);
+        edgeCount--;
+        removeIfIsolated(caller);
+        removeIfIsolated(callee);
+        modified();
+        return true;
+    }
+
+    /**
+     * Invalide la vue compacte et les composantes calculées sur le graphe mutable.
+     */
+    private void modified() {
+        view = null;
+        components = null;
+    }
+
+    private void removeIfIsolated(String method) {
+        if (!graph.containsKey(method) && !reverseGraph.containsKey(method)) {
+            methods.remove(method);
+        }
+    }
+
+    /**
+     * Fige le graphe dans sa représentation compacte et libère les ensembles mutables.
+     */
+    public void freeze() {
+        if (compact != null) return;
+        compact = compactView();
+        view = null;
+        graph = null;
+        reverseGraph = null;
+        methods = null;
+    }
+
+    /**
+     * Graphe figé construit directement sur une représentation compacte existante.
+     */
+    static CallGraph frozen(CompactCallGraph compact) {
+        CallGraph callGraph = new CallGraph();
+        callGraph.compact = compact;
+        callGraph.graph = null;
+        callGraph.reverseGraph = null;
+        callGraph.methods = null;
+        return callGraph;
+    }
+
+    public boolean isFrozen() {
+        return compact != null;
+    }
+
+    /**
+     * Reconstruit les ensembles mutables à partir de la représentation compacte, directement
+     * depuis ses tableaux : chaque arête n'est insérée qu'une fois dans chaque sens.
+     */
+    private void thaw() {
+        CompactCallGraph frozen = compact;
+        compact = null;
+        components = null;
+        methods = new HashSet<>(frozen.allMethods());
+        graph = adjacency(frozen, frozen.forwardOffsets(), frozen.forwardTargets());
+        reverseGraph = adjacency(frozen, frozen.reverseOffsets(), frozen.reverseSources());
+        edgeCount = frozen.edgeCount();
+    }
+
+    private static Map<String, Set<String>> adjacency(CompactCallGraph frozen, int[] offsets, int[] targets) {
+        Map<String, Set<String>> adjacency = new HashMap<>();
+        for (int id = 0; id < frozen.methodCount(); id++) {
+            int degree = offsets[id + 1] - offsets[id];
+            if (degree == 0) continue;
+            Set<String> neighbours = HashSet.newHashSet(degree);
+            for (int e = offsets[id]; e < offsets[id + 1]; e++) {
+                neighbours.add(frozen.nameOf(targets[e]));
+            }
+            adjacency.put(frozen.nameOf(id), neighbours);
+        }
+        return adjacency;
+    }
+
+    /**
+     * Retourne la représentation compacte : celle du graphe figé, ou celle du graphe mutable,
+     * construite une fois puis conservée jusqu'à la prochaine modification.
+     */
+    CompactCallGraph compactView() {
+        if (compact != null) return compact;
+        if (view == null) view = CompactCallGraph.build(methods, graph);
+        return view;
+    }
+
+    /**
+     * Estimation de la mémoire occupée par la représentation compacte, en octets.
+     */
+    public long estimateCompactMemoryFootprint() {
+        return compactView().estimateMemoryFootprint();
+    }
+
+    /**
+     * Nombre d'arêtes distinctes (appelant, appelé) du graphe.
+     */
+    public int getEdgeCount() {
+        if (compact != null) return compact.edgeCount();
+        return edgeCount;
+    }
+
+    /**
+     * Nombre de méthodes distinctes qui appellent la méthode spécifiée.
+     */
+    public int getInDegree(String method) {
+        if (compact != null) {
+            int id = compact.idOf(method);
+            return id < 0 ? 0 : compact.inDegree(id);
+        }
+        Set<String> callers = reverseGraph.get(method);
+        return callers == null ? 0 : callers.size();
+    }
+
+    /**
+     * Nombre de méthodes distinctes appelées par la méthode spécifiée.
+     */
+    public int getOutDegree(String method) {
+        if (compact != null) {
+            int id = compact.idOf(method);
+            return id < 0 ? 0 : compact.outDegree(id);
+        }
+        Set<String> callees = graph.get(method);
+        return callees == null ? 0 : callees.size();
     }
 
     public void printGraph() {
+        if (compact != null) {
+            for (int id = 0; id < compact.methodCount(); id++) {
+                if (compact.outDegree(id) == 0) continue;
+                String caller = compact.nameOf(id);
+                System.out.println(caller + " appelle : " + compact.callees(caller));
+            }
+            return;
+        }
         for (Map.Entry<String, Set<String>> entry : graph.entrySet()) {
             System.out.println(entry.getKey() + " appelle : " + entry.getValue());
         }
@@ -29,7 +202,9 @@ public class CallGraph {
      * Retourne l'ensemble des méthodes appelées par la méthode spécifiée.
      */
     public Set<String> getCallees(String method) {
-        return graph.getOrDefault(method, Collections.emptySet());
+        if (compact != null) return compact.callees(method);
+        Set<String> callees = graph.get(method);
+        return callees == null ? Collections.emptySet() : Collections.unmodifiableSet(callees);
     }
 
 
@@ -37,43 +212,83 @@ public class CallGraph {
      * Retourne l'ensemble des méthodes qui appellent la méthode spécifiée.
      */
     public Set<String> getCallers(String method) {
-        Set<String> callers = new HashSet<>();
-        for (Map.Entry<String, Set<String>> entry : graph.entrySet()) {
-            if (entry.getValue().contains(method)) {
-                callers.add(entry.getKey());
+        if (compact != null) return compact.callers(method);
+        Set<String> callers = reverseGraph.get(method);
+        return callers == null ? Collections.emptySet() : Collections.unmodifiableSet(callers);
+    }
+
+    /**
+     * Retourne les k méthodes les plus appelées (degré entrant décroissant, puis nom).
+     */
+    public List<String> getMostCalledMethods(int k) {
+        if (compact != null) return compact.topK(k, true);
+        return topK(reverseGraph, k);
+    }
+
+    /**
+     * Retourne les k méthodes qui appellent le plus de méthodes distinctes.
+     */
+    public List<String> getMostCallingMethods(int k) {
+        if (compact != null) return compact.topK(k, false);
+        return topK(graph, k);
+    }
+
+    /**
+     * Sélection des k plus grands degrés avec un tas borné : O(V log k) au lieu d'un tri complet.
+     */
+    private static List<String> topK(Map<String, Set<String>> adjacency, int k) {
+        if (k <= 0) return Collections.emptyList();
+
+        Comparator<Map.Entry<String, Set<String>>> byDegree = Comparator
+            .comparingInt((Map.Entry<String, Set<String>> entry) -> entry.getValue().size())
+            .thenComparing(Map.Entry::getKey, Comparator.reverseOrder());
+        PriorityQueue<Map.Entry<String, Set<String>>> heap = new PriorityQueue<>(k + 1, byDegree);
+        for (Map.Entry<String, Set<String>> entry : adjacency.entrySet()) {
+            if (heap.size() < k) {
+                heap.add(entry);
+            } else if (byDegree.compare(entry, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(entry);
             }
         }
-        return callers;
+
+        List<String> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            result.add(heap.poll().getKey());
+        }
+        Collections.reverse(result);
+        return result;
     }
     
     
     /**
-     * Calcule la profondeur maximale du graphe d'appel.
+     * Calcule la profondeur maximale du graphe d'appel, les appels étant résolus vers les
+     * méthodes déclarées de même nom ({@link CompactCallGraph#resolve}).
+     * Les cycles (récursion directe ou mutuelle) sont réduits à une seule étape
+     * dont la longueur est le nombre de méthodes du cycle.
      */
     public int getMaxCallDepth() {
-        Map<String, Integer> memo = new HashMap<>();
-        int maxDepth = 0;
-        for (String node : graph.keySet()) {
-            maxDepth = Math.max(maxDepth, getDepth(node, memo));
-        }
-        return maxDepth;
+        return components().maxDepth();
+    }
+
+    /**
+     * Retourne les cycles d'appels récursifs détectés entre méthodes déclarées (appels résolus
+     * par nom), chacun sous forme de liste triée des méthodes « Classe.méthode » qui le composent.
+     * Faute de types, les noms très répandus ({@code get}, {@code size}) relient les méthodes
+     * de toutes les classes qui les déclarent : sur un grand projet, une composante peut
+     * regrouper une grande partie des méthodes.
+     */
+    public List<List<String>> getRecursiveCycles() {
+        return components().cycles();
     }
-    
 
     /**
-     * Méthode récursive pour calculer la profondeur d'un nœud dans le graphe.
-     * Utilise la mémoïzation pour optimiser les calculs répétés.
+     * Composantes fortement connexes du graphe résolu, conservées jusqu'à la prochaine modification.
      */
-    private int getDepth(String node, Map<String, Integer> memo) {
-        if (memo.containsKey(node)) return memo.get(node);
-        
-        int maxChildDepth = 0;
-        for (String child : graph.getOrDefault(node, Collections.emptySet())) {
-            maxChildDepth = Math.max(maxChildDepth, getDepth(child, memo));
+    private StronglyConnectedComponents components() {
+        if (components == null) {
+            components = new StronglyConnectedComponents(CompactCallGraph.resolve(compactView(), Set.of()));
         }
-        
-        int depth = 1 + maxChildDepth;
-        memo.put(node, depth);
-        return depth;
+        return components;
     }
-}
\ No newline at end of file
+}
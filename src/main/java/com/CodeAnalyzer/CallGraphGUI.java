@@ -1,154 +1,345 @@
 package com.CodeAnalyzer;
 
 import javafx.application.Application;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.geometry.Insets;
 import javafx.scene.Scene;
-import javafx.scene.layout.Pane;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Circle;
-import javafx.scene.shape.Line;
-import javafx.scene.text.Text;
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.Spinner;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
-import java.util.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
 
 /**
  * Interface graphique pour visualiser le graphe d'appel.
- * Utilise JavaFX pour créer une représentation visuelle du graphe.
+ * Le graphe est dessiné par une {@link GraphView} : glisser pour déplacer la vue,
+ * molette pour zoomer, clic pour sélectionner une méthode et ses appels.
+ *
+ * Les positions sont calculées en arrière-plan par un {@link LayoutRunner} et conservées
+ * par graphe : rouvrir la fenêtre affiche immédiatement la dernière disposition.
+ * Le mode exploration n'affiche que le voisinage d'une méthode ({@link CallGraphNeighborhood}) ;
+ * c'est le mode par défaut des très grands graphes.
  */
 public class CallGraphGUI extends Application {
     private static CallGraph callGraph;
-    private static final double RADIUS = 5;
+    private static final int FULL_GRAPH_MAX_METHODS = 20_000;
+    private static final int DEFAULT_HOPS = 2;
+    private static final int MAX_HOPS = 4;
+
+    /**
+     * Dernière disposition connue de chaque graphe ; accédé uniquement depuis le thread JavaFX.
+     * {@code layout} est conservé tant que le calcul n'est pas terminé, pour pouvoir le reprendre.
+     */
+    private static final Map<CompactCallGraph, CachedLayout> LAYOUT_CACHE = new WeakHashMap<>();
+
+    private record CachedLayout(GraphLayout.Kind kind, GraphLayout layout, double[] x, double[] y, boolean complete) {
+    }
 
     public static void displayGraph(CallGraph graph, Stage owner) {
-        callGraph = graph;
         Stage stage = new Stage();
         stage.initOwner(owner);
-        createAndShowGUI(stage);
-        stage.show();
+        createAndShowGUI(graph, stage);
     }
 
-    private static void createAndShowGUI(Stage stage) {
-        Pane root = new Pane();
-        Scene scene = new Scene(root, 800, 600);
-
-        Map<String, Circle> nodeMap = new HashMap<>();
-        Map<String, List<Line>> edgesMap = new HashMap<>();
-        List<String> methods = new ArrayList<>(callGraph.getAllMethods());
-
-        // Create nodes
-        for (int i = 0; i < methods.size(); i++) {
-            String method = methods.get(i);
-            double angle = 2 * Math.PI * i / methods.size();
-            double x = 400 + 300 * Math.cos(angle);
-            double y = 300 + 300 * Math.sin(angle);
-
-            Circle circle = new Circle(x, y, RADIUS);
-            Text text = new Text(x + 10, y, method);
-            nodeMap.put(method, circle);
-            edgesMap.put(method, new ArrayList<>());
-
-            root.getChildren().addAll(circle, text);
-
-            // Add interaction to highlight the node and its edges
-            circle.setOnMouseClicked(event -> highlightNodeAndEdges(method, nodeMap, edgesMap));
-        }
-
-        // Create edges
-        for (String caller : methods) {
-            Circle callerNode = nodeMap.get(caller);
-            for (String callee : callGraph.getCallees(caller)) {
-                Circle calleeNode = nodeMap.get(callee);
-                if (calleeNode != null) {
-                    Line line = new Line(callerNode.getCenterX(), callerNode.getCenterY(),
-                                         calleeNode.getCenterX(), calleeNode.getCenterY());
-                    line.setStroke(Color.GRAY);
-                    root.getChildren().add(line);
-                    edgesMap.get(caller).add(line);
-                    edgesMap.get(callee).add(line); // Store edges for both caller and callee
-                }
+    /**
+     * Lance l'interface graphique du graphe d'appel.
+     */
+    public static void launchGUI(CallGraph graph) {
+        callGraph = graph;
+        launch();
+    }
+
+    @Override
+    public void start(@SuppressWarnings("exports") Stage primaryStage) {
+        createAndShowGUI(callGraph, primaryStage);
+    }
+
+    private static void createAndShowGUI(CallGraph graph, Stage stage) {
+        CompactCallGraph compact = graph.compactView();
+        int methodCount = compact.methodCount();
+        String[] labels = new String[methodCount];
+        int[] sources = new int[compact.edgeCount()];
+        int[] offsets = compact.forwardOffsets();
+        for (int method = 0; method < methodCount; method++) {
+            labels[method] = compact.nameOf(method);
+            for (int e = offsets[method]; e < offsets[method + 1]; e++) {
+                sources[e] = method;
             }
         }
 
+        GraphView view = new GraphView();
+        String summary = methodCount + " méthodes, " + compact.edgeCount() + " appels";
+        Label selection = new Label(summary);
+
+        Button fitButton = new Button("Recentrer");
+        fitButton.setOnAction(e -> view.fitToView());
+
+        ComboBox<GraphLayout.Kind> kindBox = new ComboBox<>();
+        kindBox.getItems().addAll(GraphLayout.Kind.values());
+        Button stopButton = new Button("Arrêter");
+        Label layoutStatus = new Label();
+        LayoutSession session = new LayoutSession(compact, sources, view, stopButton, layoutStatus);
+        Exploration exploration = new Exploration(graph, view);
+
+        TextField searchField = new TextField();
+        searchField.setPromptText("Méthode à explorer");
+        Spinner<Integer> hopsSpinner = new Spinner<>(1, MAX_HOPS, DEFAULT_HOPS);
+        hopsSpinner.setPrefWidth(70);
+        Button exploreButton = new Button("Explorer");
+        Button fullGraphButton = new Button("Graphe complet");
+
+        Runnable showFullGraph = () -> {
+            exploration.leave();
+            CachedLayout cached = LAYOUT_CACHE.get(compact);
+            double[][] positions = cached != null ? new double[][] { cached.x(), cached.y() } : GraphLayout.spiral(methodCount);
+            view.select(-1);
+            view.setGraph(labels, sources, compact.forwardTargets(), positions[0], positions[1]);
+            view.clearNodeStyles();
+            view.fitToView();
+            kindBox.setDisable(false);
+            fullGraphButton.setDisable(true);
+            selection.setText(summary);
+            // Changer la valeur déclenche onAction : le calcul est lancé ou repris ci-dessous
+            EventHandler<ActionEvent> onKindChanged = kindBox.getOnAction();
+            kindBox.setOnAction(null);
+            kindBox.setValue(cached != null ? cached.kind() : GraphLayout.Kind.FORCE_DIRECTED);
+            kindBox.setOnAction(onKindChanged);
+            if (cached == null) {
+                session.start(kindBox.getValue(), null);
+            } else if (!cached.complete()) {
+                session.start(cached.kind(), cached.layout());
+            } else {
+                stopButton.setDisable(true);
+                session.showStatus("Disposition terminée");
+            }
+        };
+        Consumer<String> explore = method -> {
+            session.detach();
+            kindBox.setDisable(true);
+            stopButton.setDisable(true);
+            fullGraphButton.setDisable(false);
+            view.select(-1);
+            exploration.start(method, hopsSpinner.getValue());
+            session.showStatus(exploration.describe());
+            selection.setText(summary);
+        };
+
+        view.setOnNodeSelected(node -> {
+            if (node < 0) {
+                selection.setText(summary);
+                return;
+            }
+            String method = view.getLabel(node);
+            selection.setText(String.format("%s : %d appelants, %d appelées",
+                method, graph.getInDegree(method), graph.getOutDegree(method)));
+            if (exploration.isActive() && exploration.expand(node) >= 0) {
+                session.showStatus(exploration.describe());
+            }
+        });
+        kindBox.setOnAction(e -> session.start(kindBox.getValue(), null));
+        stopButton.setOnAction(e -> session.stop());
+        EventHandler<ActionEvent> onExplore = e -> {
+            String method = findMethod(graph, searchField.getText());
+            if (method == null) {
+                session.showStatus("Méthode introuvable : " + searchField.getText().trim());
+            } else {
+                explore.accept(method);
+            }
+        };
+        searchField.setOnAction(onExplore);
+        exploreButton.setOnAction(onExplore);
+        fullGraphButton.setOnAction(e -> showFullGraph.run());
+        stage.setOnHidden(e -> session.stop());
+
+        HBox toolbar = new HBox(10, fitButton, kindBox, stopButton, layoutStatus, selection);
+        toolbar.setPadding(new Insets(5));
+        HBox explorationBar = new HBox(10, searchField, new Label("Sauts :"), hopsSpinner, exploreButton, fullGraphButton);
+        explorationBar.setPadding(new Insets(0, 5, 5, 5));
+        BorderPane root = new BorderPane(view);
+        root.setTop(new VBox(toolbar, explorationBar));
+
         stage.setTitle("Call Graph Visualization");
-        stage.setScene(scene);
+        stage.setScene(new Scene(root, 800, 600));
         stage.show();
+
+        // Un très grand graphe s'ouvre en exploration autour de la méthode la plus appelée
+        List<String> mostCalled = graph.getMostCalledMethods(1);
+        if (methodCount > FULL_GRAPH_MAX_METHODS && !mostCalled.isEmpty()) {
+            searchField.setText(mostCalled.get(0));
+            explore.accept(mostCalled.get(0));
+        } else {
+            showFullGraph.run();
+        }
     }
 
     /**
-     * Met en surbrillance le nœud sélectionné et ses arêtes associées.
+     * Méthode correspondant à la saisie : nom exact, puis nom se terminant par « .saisie »,
+     * puis nom contenant la saisie ; null si aucune.
      */
-    private static void highlightNodeAndEdges(String method, Map<String, Circle> nodeMap, 
-                                              Map<String, List<Line>> edgesMap) {
-        // Reset all nodes and edges
-        nodeMap.values().forEach(node -> node.setFill(Color.BLACK));
-        edgesMap.values().forEach(lines -> lines.forEach(line -> line.setStroke(Color.GRAY)));
-
-        // Highlight the selected node
-        Circle selectedNode = nodeMap.get(method);
-        if (selectedNode != null) {
-            selectedNode.setFill(Color.RED);
-
-            // Highlight all edges connected to the selected node
-            List<Line> connectedEdges = edgesMap.get(method);
-            if (connectedEdges != null) {
-                connectedEdges.forEach(line -> line.setStroke(Color.RED));
-            }
+    private static String findMethod(CallGraph graph, String query) {
+        String text = query.trim();
+        if (text.isEmpty()) return null;
+        Set<String> methods = graph.getAllMethods();
+        if (methods.contains(text)) return text;
+        String contained = null;
+        for (String method : methods) {
+            if (method.endsWith("." + text)) return method;
+            if (contained == null && method.contains(text)) contained = method;
         }
+        return contained;
     }
 
-
     /**
-     * Lance l'interface graphique du graphe d'appel.
+     * Mode exploration : seul le voisinage d'une méthode est affiché, et un clic sur un nœud
+     * ajoute ses voisins. Seuls les nœuds ajoutés ou déployés changent de style.
      */
-    public static void launchGUI(CallGraph graph) {
-        callGraph = graph;
-        launch();
-    }
+    private static final class Exploration {
+        private final CallGraph graph;
+        private final GraphView view;
+        private CallGraphNeighborhood neighborhood;
 
-    @Override
-    public void start(@SuppressWarnings("exports") Stage primaryStage) {
-        Pane root = new Pane();
-        Scene scene = new Scene(root, 800, 600);
-
-        Map<String, Circle> nodeMap = new HashMap<>();
-        Map<String, List<Line>> edgesMap = new HashMap<>();
-        List<String> methods = new ArrayList<>(callGraph.getAllMethods());
-
-        // Create nodes
-        for (int i = 0; i < methods.size(); i++) {
-            String method = methods.get(i);
-            double angle = 2 * Math.PI * i / methods.size();
-            double x = 400 + 300 * Math.cos(angle);
-            double y = 300 + 300 * Math.sin(angle);
-
-            Circle circle = new Circle(x, y, RADIUS);
-            Text text = new Text(x + 10, y, method);
-            nodeMap.put(method, circle);
-            edgesMap.put(method, new ArrayList<>());
-
-            root.getChildren().addAll(circle, text);
-
-            // Add interaction to highlight the node and its edges
-            circle.setOnMouseClicked(event -> highlightNodeAndEdges(method, nodeMap, edgesMap));
-        }
-
-        // Create edges
-        for (String caller : methods) {
-            Circle callerNode = nodeMap.get(caller);
-            for (String callee : callGraph.getCallees(caller)) {
-                Circle calleeNode = nodeMap.get(callee);
-                if (calleeNode != null) {
-                    Line line = new Line(callerNode.getCenterX(), callerNode.getCenterY(),
-                                         calleeNode.getCenterX(), calleeNode.getCenterY());
-                    line.setStroke(Color.GRAY);
-                    root.getChildren().add(line);
-                    edgesMap.get(caller).add(line);
-                    edgesMap.get(callee).add(line); // Store edges for both caller and callee
-                }
+        Exploration(CallGraph graph, GraphView view) {
+            this.graph = graph;
+            this.view = view;
+        }
+
+        boolean isActive() {
+            return neighborhood != null;
+        }
+
+        void start(String method, int hops) {
+            neighborhood = new CallGraphNeighborhood(graph, method, hops);
+            show();
+            view.clearNodeStyles();
+            for (int node = 1; node < neighborhood.nodeCount(); node++) {
+                if (!neighborhood.isExpanded(node)) view.setNodeStyle(node, GraphView.STYLE_COLLAPSED);
             }
+            view.setNodeStyle(0, GraphView.STYLE_ROOT);
+            view.fitToView();
+        }
+
+        /**
+         * Déploie un nœud ; retourne le nombre de nœuds ajoutés, ou -1 s'il était déjà déployé.
+         */
+        int expand(int node) {
+            if (neighborhood.isExpanded(node)) return -1;
+            int first = neighborhood.nodeCount();
+            int added = neighborhood.expand(node);
+            show();
+            if (node != 0) {
+                view.setNodeStyle(node, neighborhood.isExpanded(node) ? GraphView.STYLE_NORMAL : GraphView.STYLE_COLLAPSED);
+            }
+            for (int n = first; n < neighborhood.nodeCount(); n++) {
+                if (!neighborhood.isExpanded(n)) view.setNodeStyle(n, GraphView.STYLE_COLLAPSED);
+            }
+            return added;
+        }
+
+        void leave() {
+            neighborhood = null;
+        }
+
+        String describe() {
+            return String.format("Exploration : %d méthodes, %d appels", neighborhood.nodeCount(), neighborhood.edgeCount());
+        }
+
+        private void show() {
+            view.setGraph(neighborhood.labels(), neighborhood.sources(), neighborhood.targets(),
+                neighborhood.x(), neighborhood.y());
+        }
+    }
+
+    /**
+     * Calcul de disposition associé à une fenêtre : un seul {@link LayoutRunner} actif à la fois,
+     * les instantanés d'un calcul remplacé sont ignorés.
+     */
+    private static final class LayoutSession {
+        private final CompactCallGraph compact;
+        private final int[] sources;
+        private final GraphView view;
+        private final Button stopButton;
+        private final Label status;
+        private LayoutRunner runner;
+        private int generation = 0;
+        private boolean fitPending;
+
+        LayoutSession(CompactCallGraph compact, int[] sources, GraphView view, Button stopButton, Label status) {
+            this.compact = compact;
+            this.sources = sources;
+            this.view = view;
+            this.stopButton = stopButton;
+            this.status = status;
+        }
+
+        /**
+         * Lance un calcul ; {@code resumed} est une disposition interrompue à poursuivre, ou null.
+         */
+        void start(GraphLayout.Kind kind, GraphLayout resumed) {
+            if (runner != null) runner.stop();
+            int started = ++generation;
+            int methodCount = compact.methodCount();
+            int[] targets = compact.forwardTargets();
+            runner = new LayoutRunner(
+                () -> {
+                    if (resumed != null) return resumed;
+                    double[][] initial = GraphLayout.spiral(methodCount);
+                    return kind.create(methodCount, sources, targets, initial[0], initial[1]);
+                },
+                snapshot -> {
+                    if (started == generation) accept(kind, snapshot);
+                });
+            // Une reprise part des positions déjà affichées : inutile de recadrer
+            fitPending = resumed == null;
+            stopButton.setDisable(false);
+            showStatus("Disposition en cours…");
+            runner.start();
         }
 
-        primaryStage.setTitle("Call Graph Visualization");
-        primaryStage.setScene(scene);
-        primaryStage.show();
+        void stop() {
+            if (runner != null) runner.stop();
+        }
+
+        /**
+         * Arrête le calcul et ignore ses instantanés restants : la vue affiche un autre graphe.
+         * La dernière disposition publiée reste dans le cache et sera reprise.
+         */
+        void detach() {
+            stop();
+            generation++;
+        }
+
+        void showStatus(String text) {
+            status.setText(text);
+        }
+
+        private void accept(GraphLayout.Kind kind, LayoutRunner.Snapshot snapshot) {
+            view.setPositions(snapshot.x(), snapshot.y());
+            if (fitPending) {
+                fitPending = false;
+                view.fitToView();
+            }
+            GraphLayout layout = snapshot.complete() ? null : runner.layout();
+            LAYOUT_CACHE.put(compact, new CachedLayout(kind, layout, snapshot.x(), snapshot.y(), snapshot.complete()));
+            if (snapshot.complete()) {
+                stopButton.setDisable(true);
+                showStatus("Disposition terminée");
+            } else if (runner.isStopped()) {
+                stopButton.setDisable(true);
+                showStatus(String.format("Disposition arrêtée (%d/%d)", snapshot.iteration(), snapshot.maxIterations()));
+            } else {
+                showStatus(String.format("Disposition : %d/%d", snapshot.iteration(), snapshot.maxIterations()));
+            }
+        }
     }
 }
@@ -0,0 +1,163 @@
+package com.CodeAnalyzer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sous-graphe du graphe d'appel matérialisé à la demande autour d'une méthode.
+ *
+ * Seuls les voisins (appelants et appelées) des nœuds déployés sont chargés, via
+ * {@link CallGraph#getCallers(String)} et {@link CallGraph#getCallees(String)} : déployer un nœud
+ * coûte O(degré), quelle que soit la taille du graphe complet. Les nœuds ne font qu'être ajoutés,
+ * leurs indices restent donc stables d'un déploiement à l'autre. Les arêtes d'un nœud ne sont
+ * connues que lorsqu'il est déployé.
+ */
+final class CallGraphNeighborhood {
+    /** Nombre maximal de nouveaux voisins ajoutés par déploiement ; un nouveau clic ajoute la suite. */
+    static final int MAX_NEIGHBORS_PER_EXPANSION = 200;
+    /** Taille au-delà de laquelle la matérialisation initiale s'arrête avant d'atteindre {@code hops}. */
+    static final int MAX_INITIAL_NODES = 5000;
+    private static final double MIN_RADIUS = 80;
+    private static final double ARC_SPACING = 25;
+    private static final double CHILD_ARC = 2 * Math.PI / 3;
+
+    private final CallGraph graph;
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final Set<Long> edgeKeys = new HashSet<>();
+    private int[] sources = new int[16];
+    private int[] targets = new int[16];
+    private int edgeCount = 0;
+    private double[] x = new double[16];
+    private double[] y = new double[16];
+    private boolean[] expanded = new boolean[16];
+    private int[] batches = new int[16];  // Déploiements partiels déjà effectués, pour décaler l'arc suivant
+
+    /**
+     * Matérialise les méthodes à au plus {@code hops} appels de {@code root}, dans les deux sens.
+     */
+    CallGraphNeighborhood(CallGraph graph, String root, int hops) {
+        this.graph = graph;
+        addNode(root, 0, 0);
+        List<Integer> frontier = List.of(0);
+        for (int hop = 0; hop < hops && !frontier.isEmpty(); hop++) {
+            List<Integer> next = new ArrayList<>();
+            for (int node : frontier) {
+                if (names.size() >= MAX_INITIAL_NODES) return;
+                int first = names.size();
+                expand(node);
+                for (int added = first; added < names.size(); added++) next.add(added);
+            }
+            frontier = next;
+        }
+    }
+
+    /**
+     * Ajoute les voisins de {@code node} qui ne sont pas encore affichés, dans la limite de
+     * {@link #MAX_NEIGHBORS_PER_EXPANSION}, avec ses arêtes vers les nœuds déjà présents parcourus.
+     * Retourne le nombre de nœuds ajoutés.
+     */
+    int expand(int node) {
+        if (expanded[node]) return 0;
+        String method = names.get(node);
+        Set<String> callees = graph.getCallees(method);
+        Set<String> callers = graph.getCallers(method);
+        int neighborCount = callees.size() + callers.size();
+        int first = names.size();
+        int budget = MAX_NEIGHBORS_PER_EXPANSION;
+
+        // Les nouveaux voisins sont placés sur un arc tourné vers l'extérieur
+        double angle = node == 0 ? 0 : Math.atan2(y[node] - y[0], x[node] - x[0]);
+        double arc = node == 0 ? 2 * Math.PI : CHILD_ARC;
+        int slots = Math.max(1, Math.min(budget, neighborCount));
+        double radius = Math.max(MIN_RADIUS, slots * ARC_SPACING / arc) * (1 + batches[node]++);
+        boolean complete = true;
+
+        for (int pass = 0; pass < 2; pass++) {
+            boolean outgoing = pass == 0;
+            for (String neighbor : outgoing ? callees : callers) {
+                Integer existing = ids.get(neighbor);
+                int other;
+                if (existing != null) {
+                    other = existing;
+                } else if (budget == 0) {
+                    // Le reste, et ses arêtes, viendra au prochain déploiement : coût borné par le quota
+                    complete = false;
+                    break;
+                } else {
+                    int slot = names.size() - first;
+                    double theta = node == 0
+                        ? arc * slot / slots
+                        : angle - arc / 2 + arc * (slot + 0.5) / slots;
+                    other = addNode(neighbor, x[node] + radius * Math.cos(theta), y[node] + radius * Math.sin(theta));
+                    budget--;
+                }
+                if (outgoing) addEdge(node, other); else addEdge(other, node);
+            }
+        }
+        expanded[node] = complete;
+        return names.size() - first;
+    }
+
+    boolean isExpanded(int node) {
+        return expanded[node];
+    }
+
+    int nodeCount() {
+        return names.size();
+    }
+
+    int edgeCount() {
+        return edgeCount;
+    }
+
+    String[] labels() {
+        return names.toArray(new String[0]);
+    }
+
+    int[] sources() {
+        return Arrays.copyOf(sources, edgeCount);
+    }
+
+    int[] targets() {
+        return Arrays.copyOf(targets, edgeCount);
+    }
+
+    double[] x() {
+        return Arrays.copyOf(x, names.size());
+    }
+
+    double[] y() {
+        return Arrays.copyOf(y, names.size());
+    }
+
+    private int addNode(String method, double nodeX, double nodeY) {
+        int id = names.size();
+        if (id == x.length) {
+            x = Arrays.copyOf(x, id * 2);
+            y = Arrays.copyOf(y, id * 2);
+            expanded = Arrays.copyOf(expanded, id * 2);
+            batches = Arrays.copyOf(batches, id * 2);
+        }
+        names.add(method);
+        ids.put(method, id);
+        x[id] = nodeX;
+        y[id] = nodeY;
+        return id;
+    }
+
+    private void addEdge(int source, int target) {
+        if (!edgeKeys.add((long) source << 32 | target)) return;
+        if (edgeCount == sources.length) {
+            sources = Arrays.copyOf(sources, edgeCount * 2);
+            targets = Arrays.copyOf(targets, edgeCount * 2);
+        }
+        sources[edgeCount] = source;
+        targets[edgeCount++] = target;
+    }
+}
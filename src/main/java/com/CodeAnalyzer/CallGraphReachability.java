@@ -0,0 +1,489 @@
+package com.CodeAnalyzer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Accessibilité dans le graphe d'appel : méthodes et classes inatteignables depuis des points
+ * d'entrée, fermeture transitive d'une méthode et nombre d'appelants / d'appelées transitifs.
+ *
+ * Les appelées du graphe sont des noms simples : un appel à {@code foo} est résolu vers toutes
+ * les méthodes déclarées {@code Classe.foo} (sur-approximation, faute de types), par le nœud
+ * du nom (voir {@link CompactCallGraph#resolve}).
+ * Une référence de méthode ({@code this::process}) est un appel comme un autre.
+ * Les appels faits hors d'une méthode (constructeurs, initialiseurs) ne sont pas extraits :
+ * une méthode appelée seulement depuis eux apparaît inatteignable.
+ *
+ * Les parcours sont des BFS par niveaux sur un ensemble de bits ; les grandes frontières sont
+ * découpées en tranches traitées en parallèle. Pour les nombres transitifs, le graphe est réduit
+ * à ses composantes fortement connexes (DAG) : sur un graphe de taille modérée, des blocs de
+ * 512 méthodes sont propagés en un passage du DAG chacun, un bit par méthode, et les nombres
+ * sont exacts ; au-delà, le coût quadratique est évité par une estimation HyperLogLog propagée
+ * en un seul passage (erreur type d'environ 13 %), les ensembles d'au plus 8 méthodes restant exacts.
+ */
+final class CallGraphReachability {
+    /** Points d'entrée par défaut : méthodes {@code main}, cycles de vie et gestionnaires courants. */
+    static final List<String> DEFAULT_ENTRY_POINTS = List.of("*.main", "*.start", "*.run", "*.call", "*.handle*");
+    private static final int PARALLEL_FRONTIER = 4096;
+    private static final int CHUNK_SIZE = 1024;
+    private static final int BLOCK_WORDS = 8;
+    /** Travail maximal (lignes de masques × blocs) du calcul exact des nombres transitifs. */
+    private static final long EXACT_WORK_LIMIT = 200_000_000L;
+    private static final int SKETCH_BITS = 6;
+    private static final int SKETCH_REGISTERS = 1 << SKETCH_BITS;
+    private static final int SMALL_SET = 8;
+
+    /**
+     * Résultat d'une recherche des méthodes inatteignables.
+     */
+    record Result(List<String> entryPoints, int declaredMethods, int reachableMethods,
+                  List<String> unreachableMethods, List<CodeAnalyzer.ClassInfo> unreachableClasses) {
+    }
+
+    /**
+     * Nombres de méthodes déclarées qui atteignent chaque méthode ({@code fanIn}) et qu'elle
+     * atteint ({@code fanOut}), elle-même exclue ; indexés comme {@link #declaredMethods()}.
+     * {@code estimated} est vrai si les nombres sont des estimations.
+     */
+    record TransitiveCounts(int[] fanIn, int[] fanOut, boolean estimated) {
+    }
+
+    /**
+     * Graphe condensé : une composante par nœud, arêtes sans doublon, numérotées en ordre
+     * topologique inverse ; {@code bitComponent} donne la composante de chaque méthode déclarée,
+     * triée.
+     */
+    private record Condensation(int componentCount, int[] componentOf, int[] successorOffsets, int[] successors,
+                                int[] predecessorOffsets, int[] predecessors, int[] bitComponent) {
+    }
+
+    private final CompactCallGraph graph;  // Noms d'appelées résolus vers les méthodes déclarées
+    private final int[] declared;          // Nœuds des méthodes déclarées, par nom croissant
+    private final List<CodeAnalyzer.ClassInfo> classes;
+    private final int[][] classMethods;
+
+    CallGraphReachability(CallGraph callGraph, List<CodeAnalyzer.ClassInfo> classes) {
+        this.classes = classes;
+
+        // Toutes les méthodes déclarées, y compris celles qui n'appellent rien (absentes du graphe)
+        String[][] methodNames = new String[classes.size()][];
+        Set<String> declaredNames = new HashSet<>();
+        for (int c = 0; c < classes.size(); c++) {
+            CodeAnalyzer.ClassInfo classInfo = classes.get(c);
+            methodNames[c] = new String[classInfo.methods.size()];
+            for (int m = 0; m < methodNames[c].length; m++) {
+                methodNames[c][m] = classInfo.name + "." + classInfo.methods.get(m).name;
+                declaredNames.add(methodNames[c][m]);
+            }
+        }
+        graph = CompactCallGraph.resolve(callGraph.compactView(), declaredNames);
+        declared = IntStream.range(0, graph.methodCount())
+            .filter(node -> CompactCallGraph.isDeclared(graph.nameOf(node)))
+            .toArray();
+
+        classMethods = new int[classes.size()][];
+        for (int c = 0; c < classes.size(); c++) {
+            classMethods[c] = Arrays.stream(methodNames[c]).mapToInt(graph::idOf).toArray();
+        }
+    }
+
+    /**
+     * Méthodes déclarées (« Classe.méthode »), par nom croissant.
+     */
+    List<String> declaredMethods() {
+        List<String> result = new ArrayList<>(declared.length);
+        for (int node : declared) {
+            result.add(graph.nameOf(node));
+        }
+        return result;
+    }
+
+    /**
+     * Méthodes et classes inatteignables depuis les méthodes déclarées correspondant à
+     * {@code entryPatterns} (motifs sur « Classe.méthode », {@code *} et {@code ?} jokers).
+     * Une classe est inatteignable si elle a des méthodes et qu'aucune n'est atteinte.
+     */
+    Result unreachable(List<String> entryPatterns) {
+        Pattern pattern = compile(entryPatterns);
+        List<String> entryPoints = new ArrayList<>();
+        int[] sources = Arrays.stream(declared).filter(node -> pattern.matcher(graph.nameOf(node)).matches()).toArray();
+        for (int source : sources) {
+            entryPoints.add(graph.nameOf(source));
+        }
+
+        long[] reached = reach(sources, true);
+        List<String> unreachableMethods = new ArrayList<>();
+        for (int node : declared) {
+            if (!isSet(reached, node)) unreachableMethods.add(graph.nameOf(node));
+        }
+        List<CodeAnalyzer.ClassInfo> unreachableClasses = new ArrayList<>();
+        for (int c = 0; c < classMethods.length; c++) {
+            if (classMethods[c].length > 0 && Arrays.stream(classMethods[c]).noneMatch(node -> isSet(reached, node))) {
+                unreachableClasses.add(classes.get(c));
+            }
+        }
+        return new Result(entryPoints, declared.length, declared.length - unreachableMethods.size(),
+            unreachableMethods, unreachableClasses);
+    }
+
+    /**
+     * Méthodes déclarées atteintes depuis {@code method} (appelées transitives si {@code forward},
+     * appelants transitifs sinon), elle-même exclue. {@code method} est une méthode déclarée
+     * (« Classe.méthode ») ou un nom simple, qui désigne alors toutes ses déclarations.
+     */
+    List<String> closure(String method, boolean forward) {
+        int node = graph.idOf(method);
+        if (node < 0) {
+            throw new IllegalArgumentException("Méthode inconnue du graphe d'appel : " + method);
+        }
+        long[] reached = reach(new int[] { node }, forward);
+        List<String> result = new ArrayList<>();
+        for (int declaredNode : declared) {
+            if (declaredNode != node && isSet(reached, declaredNode)) result.add(graph.nameOf(declaredNode));
+        }
+        return result;
+    }
+
+    /**
+     * Ensemble des nœuds atteints depuis {@code sources} (inclus), un bit par nœud.
+     */
+    long[] reach(int[] sources, boolean forward) {
+        int[] offsets = forward ? graph.forwardOffsets() : graph.reverseOffsets();
+        int[] targets = forward ? graph.forwardTargets() : graph.reverseSources();
+        AtomicLongArray visited = new AtomicLongArray((graph.methodCount() + 63) >>> 6);
+        int[] frontier = Arrays.stream(sources).filter(source -> mark(visited, source)).toArray();
+
+        while (frontier.length > 0) {
+            int[] current = frontier;
+            if (current.length < PARALLEL_FRONTIER) {
+                frontier = expand(current, 0, current.length, offsets, targets, visited);
+            } else {
+                int chunks = (current.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+                int[][] parts = IntStream.range(0, chunks).parallel()
+                    .mapToObj(chunk -> expand(current, chunk * CHUNK_SIZE,
+                        Math.min(current.length, (chunk + 1) * CHUNK_SIZE), offsets, targets, visited))
+                    .toArray(int[][]::new);
+                frontier = concat(parts);
+            }
+        }
+
+        long[] result = new long[visited.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = visited.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Voisins non encore visités d'une tranche de la frontière ; le marquage atomique garantit
+     * qu'un nœud n'entre qu'une fois dans la frontière suivante.
+     */
+    private static int[] expand(int[] frontier, int from, int to, int[] offsets, int[] targets, AtomicLongArray visited) {
+        int[] next = new int[16];
+        int size = 0;
+        for (int i = from; i < to; i++) {
+            int node = frontier[i];
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                int target = targets[e];
+                if (!mark(visited, target)) continue;
+                if (size == next.length) next = Arrays.copyOf(next, size * 2);
+                next[size++] = target;
+            }
+        }
+        return Arrays.copyOf(next, size);
+    }
+
+    private static boolean mark(AtomicLongArray bits, int node) {
+        int word = node >>> 6;
+        long bit = 1L << node;
+        long old = bits.get(word);
+        while ((old & bit) == 0) {
+            if (bits.compareAndSet(word, old, old | bit)) return true;
+            old = bits.get(word);
+        }
+        return false;
+    }
+
+    private static boolean isSet(long[] bits, int node) {
+        return (bits[node >>> 6] & 1L << node) != 0;
+    }
+
+    private static int[] concat(int[][] parts) {
+        int length = 0;
+        for (int[] part : parts) length += part.length;
+        int[] result = new int[length];
+        int position = 0;
+        for (int[] part : parts) {
+            System.arraycopy(part, 0, result, position, part.length);
+            position += part.length;
+        }
+        return result;
+    }
+
+    /**
+     * Nombres transitifs d'appelants et d'appelées de chaque méthode déclarée : exacts si le
+     * travail reste borné ({@link #EXACT_WORK_LIMIT}), estimés sinon.
+     */
+    TransitiveCounts transitiveCounts() {
+        Condensation dag = condense();
+        long blocks = (dag.bitComponent().length + BLOCK_WORDS * 64L - 1) / (BLOCK_WORDS * 64L);
+        long work = blocks * (dag.componentCount() + (long) dag.successors().length);
+        long[] counts = work <= EXACT_WORK_LIMIT ? exactCounts(dag) : estimatedCounts(dag);
+
+        int[] fanIn = new int[declared.length];
+        int[] fanOut = new int[declared.length];
+        for (int i = 0; i < declared.length; i++) {
+            long total = counts[dag.componentOf()[declared[i]]];
+            fanIn[i] = Math.max(0, (int) (total >>> 32) - 1);
+            fanOut[i] = Math.max(0, (int) total - 1);
+        }
+        return new TransitiveCounts(fanIn, fanOut, work > EXACT_WORK_LIMIT);
+    }
+
+    /**
+     * Réduit le graphe à ses composantes fortement connexes. Tarjan les numérote dans l'ordre
+     * topologique inverse : toute arête va vers une composante de numéro inférieur.
+     */
+    private Condensation condense() {
+        StronglyConnectedComponents components = new StronglyConnectedComponents(graph);
+        int componentCount = components.componentCount();
+        int n = graph.methodCount();
+        int[] componentOf = new int[n];
+        for (int node = 0; node < n; node++) {
+            componentOf[node] = components.componentOf(node);
+        }
+
+        int[] memberOffsets = new int[componentCount + 1];
+        for (int node = 0; node < n; node++) memberOffsets[componentOf[node] + 1]++;
+        for (int c = 0; c < componentCount; c++) memberOffsets[c + 1] += memberOffsets[c];
+        int[] members = new int[n];
+        int[] cursor = Arrays.copyOf(memberOffsets, componentCount);
+        for (int node = 0; node < n; node++) members[cursor[componentOf[node]]++] = node;
+
+        int[] forwardOffsets = graph.forwardOffsets();
+        int[] forwardTargets = graph.forwardTargets();
+        int[] successorOffsets = new int[componentCount + 1];
+        int[] successors = new int[forwardTargets.length];
+        int[] stamp = new int[componentCount];
+        Arrays.fill(stamp, -1);
+        int edges = 0;
+        for (int c = 0; c < componentCount; c++) {
+            successorOffsets[c] = edges;
+            for (int m = memberOffsets[c]; m < memberOffsets[c + 1]; m++) {
+                int node = members[m];
+                for (int e = forwardOffsets[node]; e < forwardOffsets[node + 1]; e++) {
+                    int target = componentOf[forwardTargets[e]];
+                    if (target != c && stamp[target] != c) {
+                        stamp[target] = c;
+                        successors[edges++] = target;
+                    }
+                }
+            }
+        }
+        successorOffsets[componentCount] = edges;
+        int[] predecessorOffsets = new int[componentCount + 1];
+        for (int e = 0; e < edges; e++) predecessorOffsets[successors[e] + 1]++;
+        for (int c = 0; c < componentCount; c++) predecessorOffsets[c + 1] += predecessorOffsets[c];
+        int[] predecessors = new int[edges];
+        cursor = Arrays.copyOf(predecessorOffsets, componentCount);
+        for (int c = 0; c < componentCount; c++) {
+            for (int e = successorOffsets[c]; e < successorOffsets[c + 1]; e++) {
+                predecessors[cursor[successors[e]]++] = c;
+            }
+        }
+
+        int[] bitComponent = Arrays.stream(declared).map(node -> componentOf[node]).sorted().toArray();
+        return new Condensation(componentCount, componentOf, successorOffsets, Arrays.copyOf(successors, edges),
+            predecessorOffsets, predecessors, bitComponent);
+    }
+
+    /**
+     * Calcul exact, par blocs de méthodes déclarées (un bit chacune). Pour un bloc de cibles, un
+     * passage par numéros croissants calcule les cibles atteintes par chaque composante ; les
+     * composantes inférieures au bloc n'en atteignent aucune et sont sautées. Le passage inverse
+     * compte les appelants. Les blocs sont indépendants et répartis entre les processeurs.
+     * Retourne, par composante, les appelants dans les 32 bits hauts et les appelées dans les bas.
+     */
+    private static long[] exactCounts(Condensation dag) {
+        int componentCount = dag.componentCount();
+        int[] successorOffsets = dag.successorOffsets();
+        int[] successors = dag.successors();
+        int[] predecessorOffsets = dag.predecessorOffsets();
+        int[] predecessors = dag.predecessors();
+        int[] bitComponent = dag.bitComponent();
+        int blockBits = BLOCK_WORDS * 64;
+        int blockCount = (bitComponent.length + blockBits - 1) / blockBits;
+        int tasks = Math.max(1, Math.min(blockCount, Runtime.getRuntime().availableProcessors()));
+
+        long[][] partial = IntStream.range(0, tasks).parallel().mapToObj(task -> {
+            long[] masks = new long[componentCount * BLOCK_WORDS];
+            long[] counts = new long[componentCount];
+            for (int block = task; block < blockCount; block += tasks) {
+                int first = block * blockBits;
+                int last = Math.min(bitComponent.length, first + blockBits);
+                int lo = bitComponent[first];
+                int hi = bitComponent[last - 1];
+
+                // Cibles du bloc atteintes par chaque composante : les successeurs d'abord
+                for (int c = lo, bit = first; c < componentCount; c++) {
+                    int row = c * BLOCK_WORDS;
+                    Arrays.fill(masks, row, row + BLOCK_WORDS, 0L);
+                    for (int e = successorOffsets[c]; e < successorOffsets[c + 1]; e++) {
+                        int s = successors[e];
+                        if (s >= lo) or(masks, row, s * BLOCK_WORDS);
+                    }
+                    for (; bit < last && bitComponent[bit] == c; bit++) {
+                        masks[row + ((bit - first) >>> 6)] |= 1L << (bit - first);
+                    }
+                    counts[c] += popCount(masks, row);
+                }
+
+                // Sources du bloc qui atteignent chaque composante : les prédécesseurs d'abord
+                for (int c = hi, bit = last - 1; c >= 0; c--) {
+                    int row = c * BLOCK_WORDS;
+                    Arrays.fill(masks, row, row + BLOCK_WORDS, 0L);
+                    for (int e = predecessorOffsets[c]; e < predecessorOffsets[c + 1]; e++) {
+                        int p = predecessors[e];
+                        if (p <= hi) or(masks, row, p * BLOCK_WORDS);
+                    }
+                    for (; bit >= first && bitComponent[bit] == c; bit--) {
+                        masks[row + ((bit - first) >>> 6)] |= 1L << (bit - first);
+                    }
+                    counts[c] += (long) popCount(masks, row) << 32;
+                }
+            }
+            return counts;
+        }).toArray(long[][]::new);
+
+        long[] counts = new long[componentCount];
+        for (long[] taskCounts : partial) {
+            for (int c = 0; c < componentCount; c++) counts[c] += taskCounts[c];
+        }
+        return counts;
+    }
+
+    /**
+     * Estimation HyperLogLog : chaque composante reçoit l'union (maximum registre à registre)
+     * des esquisses de ses successeurs et celles de ses méthodes, en un passage par sens.
+     * Tant qu'elle ne dépasse pas {@link #SMALL_SET} méthodes, l'union est aussi tenue
+     * explicitement et le nombre reste exact.
+     */
+    private static long[] estimatedCounts(Condensation dag) {
+        int componentCount = dag.componentCount();
+        int[] bitComponent = dag.bitComponent();
+        byte[] registers = new byte[componentCount * SKETCH_REGISTERS];
+        int[] smallSets = new int[componentCount * SMALL_SET];
+        int[] smallSizes = new int[componentCount];  // -1 : ensemble trop grand, seule l'esquisse compte
+        long[] counts = new long[componentCount];
+
+        for (int pass = 0; pass < 2; pass++) {
+            boolean outgoing = pass == 0;
+            int[] offsets = outgoing ? dag.successorOffsets() : dag.predecessorOffsets();
+            int[] neighbors = outgoing ? dag.successors() : dag.predecessors();
+            Arrays.fill(registers, (byte) 0);
+            for (int step = 0, bit = outgoing ? 0 : bitComponent.length - 1; step < componentCount; step++) {
+                int c = outgoing ? step : componentCount - 1 - step;
+                int row = c * SKETCH_REGISTERS;
+                int set = c * SMALL_SET;
+                int size = 0;
+                for (; outgoing ? bit < bitComponent.length && bitComponent[bit] == c
+                                : bit >= 0 && bitComponent[bit] == c; bit += outgoing ? 1 : -1) {
+                    long hash = mix64(bit);
+                    int register = (int) (hash >>> (64 - SKETCH_BITS));
+                    byte rank = (byte) (Long.numberOfLeadingZeros(hash << SKETCH_BITS | 1L << (SKETCH_BITS - 1)) + 1);
+                    if (registers[row + register] < rank) registers[row + register] = rank;
+                    size = addToSmallSet(smallSets, set, size, bit);
+                }
+                for (int e = offsets[c]; e < offsets[c + 1]; e++) {
+                    int neighbor = neighbors[e];
+                    int from = neighbor * SKETCH_REGISTERS;
+                    for (int r = 0; r < SKETCH_REGISTERS; r++) {
+                        if (registers[row + r] < registers[from + r]) registers[row + r] = registers[from + r];
+                    }
+                    if (smallSizes[neighbor] < 0) {
+                        size = -1;
+                    }
+                    for (int i = 0; i < smallSizes[neighbor] && size >= 0; i++) {
+                        size = addToSmallSet(smallSets, set, size, smallSets[neighbor * SMALL_SET + i]);
+                    }
+                }
+                smallSizes[c] = size;
+                long estimate = size >= 0 ? size : Math.max(SMALL_SET + 1, estimate(registers, row));
+                counts[c] += outgoing ? estimate : estimate << 32;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Ajoute {@code bit} à l'ensemble explicite ; retourne sa nouvelle taille, ou -1 s'il déborde.
+     */
+    private static int addToSmallSet(int[] sets, int set, int size, int bit) {
+        if (size < 0) return -1;
+        for (int i = 0; i < size; i++) {
+            if (sets[set + i] == bit) return size;
+        }
+        if (size == SMALL_SET) return -1;
+        sets[set + size] = bit;
+        return size + 1;
+    }
+
+    private static long estimate(byte[] registers, int row) {
+        double sum = 0;
+        int zeros = 0;
+        for (int r = 0; r < SKETCH_REGISTERS; r++) {
+            sum += 1.0 / (1L << registers[row + r]);
+            if (registers[row + r] == 0) zeros++;
+        }
+        double m = SKETCH_REGISTERS;
+        double raw = 0.709 * m * m / sum;
+        // Petits ensembles : comptage linéaire sur les registres vides
+        double value = raw <= 2.5 * m && zeros > 0 ? m * Math.log(m / zeros) : raw;
+        return Math.round(value);
+    }
+
+    private static long mix64(long value) {
+        value += 0x9E3779B97F4A7C15L;
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    private static void or(long[] masks, int row, int from) {
+        for (int w = 0; w < BLOCK_WORDS; w++) {
+            masks[row + w] |= masks[from + w];
+        }
+    }
+
+    private static int popCount(long[] masks, int row) {
+        int count = 0;
+        for (int w = 0; w < BLOCK_WORDS; w++) {
+            count += Long.bitCount(masks[row + w]);
+        }
+        return count;
+    }
+
+    /**
+     * Motifs de points d'entrée : {@code *} pour toute suite de caractères, {@code ?} pour un seul.
+     */
+    static Pattern compile(List<String> patterns) {
+        StringBuilder regex = new StringBuilder();
+        for (String glob : patterns) {
+            if (regex.length() > 0) regex.append('|');
+            for (String literal : glob.split("(?=[*?])|(?<=[*?])")) {
+                switch (literal) {
+                    case "*" -> regex.append(".*");
+                    case "?" -> regex.append('.');
+                    default -> regex.append(Pattern.quote(literal));
+                }
+            }
+        }
+        return Pattern.compile(regex.length() == 0 ? "(?!)" : regex.toString());
+    }
+}
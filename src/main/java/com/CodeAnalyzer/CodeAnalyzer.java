@@ -1,168 +1,619 @@
 package com.CodeAnalyzer;
 
 import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.Problem;
 import com.github.javaparser.ast.CompilationUnit;
-import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
-import com.github.javaparser.ast.body.MethodDeclaration;
-import com.github.javaparser.ast.expr.MethodCallExpr;
-import java.io.File;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Classe principale pour l'analyse statique de code Java.
  * Utilise JavaParser pour analyser les fichiers Java et extraire des informations.
  */
-public class CodeAnalyzer {
+public class CodeAnalyzer implements AnalysisModel {
+    /**
+     * Version de l'extraction, enregistrée dans le cache d'analyse.
+     * À incrémenter à chaque changement de ce qui est extrait d'un fichier.
+     */
+    static final int EXTRACTOR_VERSION = 7;
+    private static final int MAX_PRINTED_CYCLES = 10;
+    private static final long PROGRESS_INTERVAL_NANOS = 100_000_000L;
+
+    /**
+     * Configuration commune des parseurs ; chaque thread d'analyse réutilise son propre parseur.
+     * Le niveau de langage le plus récent connu de JavaParser reconnaît {@code yield} et les
+     * expressions {@code switch} au lieu de les signaler comme erreurs de syntaxe.
+     */
+    private static final ParserConfiguration PARSER_CONFIGURATION = new ParserConfiguration()
+        .setLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_18);
+    private static final ThreadLocal<JavaParser> PARSERS =
+        ThreadLocal.withInitial(() -> new JavaParser(PARSER_CONFIGURATION));
+
     protected final List<ClassInfo> classes = new ArrayList<>();
-    private final Set<String> packages = new HashSet<>();
-    private int totalLines = 0;
+    private final Map<String, Integer> packageFiles = new HashMap<>();  // Nombre de fichiers par package
+    private final Map<String, String> failedFiles = new LinkedHashMap<>();
+    private final LineMetrics totalLines = new LineMetrics();
+    private final MetricsIndex metrics = new MetricsIndex();
     private int totalMethods = 0;
     private int totalAttributes = 0;
+    private int parallelism = 1;
+    private boolean quickScan = false;
+    private long readAheadBytes = SourcePrefetcher.DEFAULT_MAX_BUFFERED_BYTES;
+    private final LongAdder parseNanos = new LongAdder();
+    private PipelineStatistics pipelineStatistics;
+    private SourceDiscovery discovery = new SourceDiscovery();
+    private AnalysisCache cache;
     private CallGraph callGraph = new CallGraph();
+    private Consumer<AnalysisProgress> progressListener;
+    private volatile boolean cancelled = false;
+    private int discoveredFiles = 0;
+    private int analyzedFiles = 0;
+    private long startNanos;
+    private long lastProgressNanos;
+    private Path projectRoot;
+    // Mode incrémental : contribution de chaque fichier et nombre de fichiers apportant chaque appel
+    private Map<String, FileAnalysis> fileResults;
+    private Map<Call, Integer> callCounts;
+    // Analyse fragmentée : sélection des fichiers et rangs des fichiers retenus en attente de fusion
+    private Predicate<String> shard;
+    private PartialAnalysis partial;
+    // Alimentée par le thread de lecture anticipée, consommée par la fusion
+    private final Deque<ShardFile> shardFiles = new ConcurrentLinkedDeque<>();
+    private int shardOrdinal;
+    private long shardTreeHash;
 
     /**
-     * Analyse un projet Java à partir du chemin spécifié.
+     * Analyse un projet Java à partir du chemin spécifié : un répertoire ou une archive
+     * {@code .jar}/{@code .zip}, lue sans extraction.
      */
     public void analyze(String projectPath) {
+        analyze(Paths.get(projectPath));
+    }
+
+    /**
+     * Analyse les fichiers sources fournis par {@link SourceDiscovery}.
+     * Les fichiers sont lus à l'avance par un thread d'E/S ({@link SourcePrefetcher}), analysés
+     * sur {@link #getParallelism()} threads dès leur lecture, puis fusionnés dans l'ordre de
+     * parcours : le résultat est identique au mode séquentiel.
+     * Après {@link #cancel()} ou une interruption du thread appelant, l'analyse s'arrête
+     * avant le fichier suivant et conserve les fichiers déjà fusionnés.
+     */
+    public void analyze(Path projectPath) {
+        projectRoot = projectPath;
+        startNanos = lastProgressNanos = System.nanoTime();
+        try (Stream<Path> discovered = discovery.discover(projectPath)) {
+            Stream<Path> files = shard == null ? discovered : selectShard(projectPath, discovered);
+            parseNanos.reset();
+            try (SourcePrefetcher prefetcher =
+                     new SourcePrefetcher(files.iterator(), quickScan ? null : cache, readAheadBytes)) {
+                if (parallelism == 1) {
+                    SourcePrefetcher.Source source;
+                    while (!isCancelled() && (source = prefetcher.next()) != null) {
+                        discoveredFiles++;
+                        merge(analyzeSource(source));
+                    }
+                } else {
+                    analyzeInParallel(prefetcher);
+                }
+                pipelineStatistics = prefetcher.statistics(parseNanos.sum(), System.nanoTime() - startNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();  // Traité comme une annulation
+            }
+        }
+        if (partial != null) {
+            partial.complete(shardOrdinal, shardTreeHash);
+        }
+        getCallGraph().freeze();
+        reportProgress(true);
+        saveCache();
+    }
+
+    /**
+     * Enregistre le cache d'analyse, s'il y en a un et qu'il a changé.
+     */
+    void saveCache() {
+        if (cache == null) return;
         try {
-            processDirectory(new File(projectPath));
+            cache.save();
         } catch (IOException e) {
-            System.err.println("Error analyzing project: " + e.getMessage());
+            System.err.println("Impossible d'enregistrer le cache d'analyse : " + e.getMessage());
         }
     }
 
+    /**
+     * Ne garde que les fichiers du fragment ; tous les fichiers découverts sont comptés
+     * pour connaître le rang de chacun dans l'ordre de découverte. Le filtre s'exécute
+     * sur le thread de lecture anticipée.
+     */
+    private Stream<Path> selectShard(Path root, Stream<Path> files) {
+        partial = new PartialAnalysis(root);
+        shardOrdinal = 0;
+        shardTreeHash = 0;
+        return files.filter(file -> {
+            String relativePath = SourceDiscovery.relativize(root, file);
+            int ordinal = shardOrdinal++;
+            shardTreeHash = PartialAnalysis.hashPath(shardTreeHash, relativePath);
+            if (!shard.test(relativePath)) return false;
+            shardFiles.add(new ShardFile(ordinal, relativePath));
+            return true;
+        });
+    }
+
+    /**
+     * Analyse fragmentée : seuls les fichiers dont le chemin relatif (séparateur {@code /})
+     * est accepté par {@code selector} sont analysés, et leurs résultats sont conservés dans
+     * un {@link PartialAnalysis} ({@code null} pour analyser tout le projet).
+     */
+    void setShard(Predicate<String> selector) {
+        this.shard = selector;
+    }
+
+    /**
+     * Résultats par fichier de la dernière analyse fragmentée, ou null.
+     */
+    PartialAnalysis getPartial() {
+        return partial;
+    }
 
     /**
-     * Traite récursivement un répertoire pour analyser tous les fichiers Java.
+     * Construit le modèle à partir de résultats partiels fusionnés, comme si leurs fichiers
+     * venaient d'être analysés dans l'ordre de découverte.
      */
-    private void processDirectory(File directory) throws IOException {
-        File[] files = directory.listFiles();
-        if (files == null) return;
+    void load(PartialAnalysis partial) {
+        projectRoot = partial.root();
+        startNanos = lastProgressNanos = System.nanoTime();
+        partial.forEach(result -> {
+            discoveredFiles++;
+            merge(result);
+        });
+        getCallGraph().freeze();
+        reportProgress(true);
+    }
 
-        for (File file : files) {
-            if (file.isDirectory()) {
-                processDirectory(file);
-            } else if (file.getName().endsWith(".java")) {
-                analyzeJavaFile(file);
+    /**
+     * Analyse les fichiers sur un pool fork-join dédié.
+     * Chaque tâche produit un {@link FileAnalysis} indépendant ; seule la fusion,
+     * faite sur le thread appelant, modifie le modèle partagé. Les résultats déjà
+     * terminés en tête de file sont fusionnés pendant le parcours. En cas d'annulation,
+     * les tâches en attente sont abandonnées sans être fusionnées.
+     */
+    private void analyzeInParallel(SourcePrefetcher prefetcher) throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Deque<ForkJoinTask<FileAnalysis>> pending = new ArrayDeque<>();
+        try {
+            SourcePrefetcher.Source source;
+            while (!isCancelled() && (source = prefetcher.next()) != null) {
+                discoveredFiles++;
+                SourcePrefetcher.Source next = source;
+                pending.add(pool.submit(() -> analyzeSource(next)));
+                while (!pending.isEmpty() && pending.peek().isDone()) {
+                    merge(pending.poll().join());
+                }
+            }
+            while (!isCancelled() && !pending.isEmpty()) {
+                merge(pending.poll().join());
             }
+        } finally {
+            pending.forEach(task -> task.cancel(false));
+            pool.shutdownNow();
         }
     }
-  
+
+    /**
+     * Demande l'arrêt de l'analyse en cours ; peut être appelée depuis n'importe quel thread.
+     * Une analyse annulée n'est pas reprise par un appel ultérieur à {@link #analyze(Path)}.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Vrai si l'analyse a été annulée ou si le thread qui l'exécute a été interrompu.
+     */
+    public boolean isCancelled() {
+        return cancelled || Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Écouteur d'avancement ({@code null} pour aucun). Il est appelé sur le thread qui exécute
+     * {@link #analyze(Path)}, au plus toutes les 100 ms pendant l'analyse, puis une dernière fois à la fin.
+     */
+    public void setProgressListener(Consumer<AnalysisProgress> progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    private void reportProgress(boolean finished) {
+        if (progressListener == null) return;
+        long now = System.nanoTime();
+        if (!finished && now - lastProgressNanos < PROGRESS_INTERVAL_NANOS) return;
+        lastProgressNanos = now;
+        progressListener.accept(new AnalysisProgress(discoveredFiles, analyzedFiles, failedFiles.size(),
+            now - startNanos, finished, getStatistics()));
+    }
+
     /**
      * Analyse un fichier Java en utilisant JavaParser.
-     * Extrait les informations sur les classes, méthodes et attributs.
+     * Extrait les informations sur les classes, méthodes et attributs sans toucher
+     * à l'état de l'analyseur, ce qui permet de l'appeler depuis plusieurs threads.
+     * Un fichier illisible ou non analysable est signalé dans le résultat au lieu
+     * d'interrompre l'analyse du projet. Si un cache est configuré, les fichiers
+     * inchangés depuis la dernière analyse n'atteignent pas le parseur.
+     * Lecture synchrone, hors de l'étage de lecture anticipée (mode incrémental).
      */
-    private void analyzeJavaFile(File file) throws IOException {
-    	JavaParser javaParser = new JavaParser();
-        CompilationUnit cu = javaParser.parse(file)
-            .getResult()
-            .orElseThrow(() -> new IOException("Failed to parse " + file.getName()));
-        
-        // Extract package information
-        cu.getPackageDeclaration().ifPresent(pkg -> 
-            packages.add(pkg.getNameAsString())
-        );
+    private FileAnalysis analyzeJavaFile(Path file) {
+        try {
+            AnalysisCache.Fingerprint fingerprint = null;
+            if (cache != null && !quickScan) {
+                fingerprint = cache.fingerprint(file);
+                FileAnalysis cached = cache.lookup(fingerprint);
+                if (cached != null) return cached;
+            }
+            return analyzeContent(file, SourceArchives.displayPath(file), fingerprint,
+                SourcePrefetcher.Content.of(Files.readAllBytes(file)));
+        } catch (IOException e) {
+            return failure(SourceArchives.displayPath(file), e);
+        }
+    }
 
-        // Analyze classes
-        for (ClassOrInterfaceDeclaration classDecl : cu.findAll(ClassOrInterfaceDeclaration.class)) {
-            ClassInfo classInfo = new ClassInfo(classDecl.getNameAsString());
-            
-            // Analyze methods
-            for (MethodDeclaration methodDecl : classDecl.getMethods()) {
-                MethodInfo methodInfo = new MethodInfo(
-                    methodDecl.getNameAsString(),
-                    countMethodLines(methodDecl),
-                    methodDecl.getParameters().size()
-                );
-                classInfo.methods.add(methodInfo);
-                totalMethods++;
-
-                // Analyze method calls for the call graph
-                String callerMethod = classInfo.name + "." + methodInfo.name;
-                methodDecl.findAll(MethodCallExpr.class).forEach(call -> {
-                    String calledMethod = call.getNameAsString();
-                    getCallGraph().addCall(callerMethod, calledMethod);
-                });
+    /**
+     * Analyse un fichier lu à l'avance et rend son contenu au {@link SourcePrefetcher}.
+     */
+    private FileAnalysis analyzeSource(SourcePrefetcher.Source source) {
+        if (source.cached() != null) return source.cached();
+        if (source.error() != null) return failure(source.path(), source.error());
+        try {
+            return analyzeContent(source.file(), source.path(), source.fingerprint(), source.content());
+        } finally {
+            source.content().release();
+        }
+    }
+
+    /**
+     * Analyse le contenu lu d'un fichier, enregistré sous le chemin {@code path}. Avec une
+     * empreinte (cache actif), le contenu est d'abord cherché dans le cache par son hachage,
+     * puis le résultat y est enregistré.
+     */
+    private FileAnalysis analyzeContent(Path file, String path, AnalysisCache.Fingerprint fingerprint,
+                                        SourcePrefetcher.Content content) {
+        long start = System.nanoTime();
+        try {
+            if (quickScan) {
+                return QuickScanner.scan(path, content.buffer(), PARSER_CONFIGURATION.getCharacterEncoding());
+            }
+            if (fingerprint == null) {
+                return parseJavaFile(file, path, content);
             }
 
-            // Analyze attributes
-            int attributeCount = classDecl.getFields().size();
-            classInfo.attributes = attributeCount;
-            totalAttributes += attributeCount;
+            fingerprint = fingerprint.withContent(content.buffer());
+            FileAnalysis cached = cache.lookup(fingerprint);
+            if (cached != null) return cached;
 
+            FileAnalysis result = parseJavaFile(file, path, content);
+            if (result.error == null) {
+                cache.store(fingerprint, result);
+            }
+            return result;
+        } finally {
+            parseNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private static FileAnalysis failure(String path, IOException e) {
+        FileAnalysis result = new FileAnalysis(path);
+        result.error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        return result;
+    }
+
+    /**
+     * Analyse le contenu d'un fichier Java et en extrait les classes, méthodes et appels
+     * en un seul parcours de l'AST (voir {@link SourceExtractor}).
+     */
+    FileAnalysis parseJavaFile(Path file, String path, SourcePrefetcher.Content content) {
+        FileAnalysis result = new FileAnalysis(path);
+        try {
+            JavaParser javaParser = PARSERS.get();
+            ParseResult<CompilationUnit> parsed = javaParser.parse(content.stream(),
+                javaParser.getParserConfiguration().getCharacterEncoding());
+            Problem syntaxError = syntaxError(parsed);
+            if (syntaxError != null) {
+                result.error = syntaxError.getVerboseMessage();
+                return result;
+            }
+            CompilationUnit cu = parsed.getResult()
+                .orElseThrow(() -> new IOException("Failed to parse " + file.getFileName()));
+
+            SourceExtractor.extract(cu, result);
+        } catch (IOException | RuntimeException e) {
+            result.error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+        return result;
+    }
+
+    /**
+     * Première erreur de syntaxe, ou null. JavaParser récupère un arbre partiel après une erreur
+     * de syntaxe : le fichier est alors écarté. Les problèmes de niveau de langage, sans exception
+     * du parseur à l'origine, ne concernent que la validation et laissent le fichier analysé.
+     */
+    private static Problem syntaxError(ParseResult<CompilationUnit> parsed) {
+        for (Problem problem : parsed.getProblems()) {
+            if (problem.getCause().isPresent()) return problem;
+        }
+        return null;
+    }
+
+    /**
+     * Intègre le résultat d'un fichier dans le modèle de l'analyseur.
+     * Doit être appelée depuis un seul thread, dans l'ordre de parcours des fichiers.
+     */
+    private void merge(FileAnalysis result) {
+        analyzedFiles++;
+        if (fileResults != null) fileResults.put(result.path, result);
+        if (!shardFiles.isEmpty()) {
+            ShardFile file = shardFiles.poll();
+            partial.add(file.ordinal(), file.relativePath(), result);
+        }
+        if (result.error != null) {
+            failedFiles.put(result.path, result.error);
+            reportProgress(false);
+            return;
+        }
+        if (result.packageName != null) {
+            packageFiles.merge(result.packageName, 1, Integer::sum);
+        }
+        for (ClassInfo classInfo : result.classes) {
+            classInfo.packageName = result.packageName;
             classes.add(classInfo);
-            totalLines += countClassLines(classDecl);
+            metrics.add(classInfo);
+            totalMethods += classInfo.methods.size();
+            totalAttributes += classInfo.attributes();
+        }
+        for (String[] call : result.calls) {
+            getCallGraph().addCall(call[0], call[1]);
+            if (callCounts != null) callCounts.merge(new Call(call[0], call[1]), 1, Integer::sum);
+        }
+        totalLines.add(result.lines);
+        reportProgress(false);
+    }
+
+    /**
+     * Active l'analyse rapide ({@link QuickScanner}) : classes, méthodes, attributs, paramètres,
+     * packages et lignes sont relevés sans construire d'AST, mais ni appels ni métriques enfichables.
+     * Le cache n'est ni lu ni alimenté dans ce mode.
+     */
+    public void setQuickScan(boolean quickScan) {
+        this.quickScan = quickScan;
+    }
+
+    public boolean isQuickScan() {
+        return quickScan;
+    }
+
+    /**
+     * Active le mode incrémental : la contribution de chaque fichier (classes, lignes, appels)
+     * est conservée pour pouvoir être remplacée par {@link #update(Collection)}.
+     * Doit être appelée avant {@link #analyze(Path)} ; la mémoire retenue par fichier augmente.
+     */
+    public void setIncremental(boolean incremental) {
+        fileResults = incremental ? new HashMap<>() : null;
+        callCounts = incremental ? new HashMap<>() : null;
+    }
+
+    public boolean isIncremental() {
+        return fileResults != null;
+    }
+
+    /**
+     * Chemins des fichiers dont la contribution est suivie (mode incrémental).
+     */
+    public Set<String> getTrackedFiles() {
+        return fileResults == null ? Set.of() : Collections.unmodifiableSet(fileResults.keySet());
+    }
+
+    /**
+     * Met à jour le modèle après la création, la modification ou la suppression de fichiers :
+     * seuls ces fichiers sont relus. La contribution précédente de chacun est retirée, puis le
+     * fichier est analysé à nouveau s'il existe encore et correspond aux filtres de découverte.
+     * Les classes d'un fichier relu passent en fin de l'ordre d'analyse. Le graphe d'appel
+     * reste modifiable ensuite (il n'est pas refigé). Le cache d'analyse n'est pas réécrit :
+     * voir {@link #saveCache()}. Ne doit pas être appelée en parallèle d'une lecture du modèle.
+     */
+    public void update(Collection<Path> files) {
+        if (fileResults == null || projectRoot == null) {
+            throw new IllegalStateException("Le mode incrémental doit être activé avant l'analyse initiale");
+        }
+        List<Path> reanalyzed = new ArrayList<>();
+        for (Path file : new LinkedHashSet<>(files)) {
+            FileAnalysis previous = fileResults.remove(file.toString());
+            if (previous != null) unmerge(previous);
+            if (discovery.accepts(projectRoot, file)) reanalyzed.add(file);
+        }
+
+        List<FileAnalysis> results;
+        if (parallelism == 1 || reanalyzed.size() < 2) {
+            results = reanalyzed.stream().map(this::analyzeJavaFile).toList();
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                results = pool.submit(() -> reanalyzed.parallelStream().map(this::analyzeJavaFile).toList()).join();
+            } finally {
+                pool.shutdown();
+            }
+        }
+        for (FileAnalysis result : results) {
+            discoveredFiles++;
+            merge(result);
         }
     }
+
+    /**
+     * Retire du modèle la contribution d'un fichier ; inverse de {@link #merge(FileAnalysis)}.
+     */
+    private void unmerge(FileAnalysis result) {
+        discoveredFiles--;
+        analyzedFiles--;
+        if (result.error != null) {
+            failedFiles.remove(result.path);
+            return;
+        }
+        if (result.packageName != null) {
+            packageFiles.computeIfPresent(result.packageName, (name, count) -> count == 1 ? null : count - 1);
+        }
+        if (!result.classes.isEmpty()) {
+            Set<ClassInfo> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+            removed.addAll(result.classes);
+            classes.removeIf(removed::contains);
+            metrics.removeAll(result.classes);
+            for (ClassInfo classInfo : result.classes) {
+                totalMethods -= classInfo.methods.size();
+                totalAttributes -= classInfo.attributes();
+            }
+        }
+        for (String[] call : result.calls) {
+            Call key = new Call(call[0], call[1]);
+            // Un appel présent dans d'autres fichiers reste dans le graphe
+            if (callCounts.merge(key, -1, Integer::sum) == 0) {
+                callCounts.remove(key);
+                getCallGraph().removeCall(call[0], call[1]);
+            }
+        }
+        totalLines.subtract(result.lines);
+    }
     
     /**
-     * Compte le nombre de lignes dans une méthode.
+     * Construit un instantané immuable des résultats de l'analyse.
+     * Les classements « top 10 % » portent sur 10 % des classes et des méthodes (au moins un élément).
      */
-    private int countMethodLines(MethodDeclaration method) {
-        return method.toString().split("\n").length;
+    @Override
+    public AnalysisResult getResult() {
+        int topN = Math.max(1, classes.size() / 10);
+        List<ClassInfo> topByMethods = metrics.topClassesByMethods(topN);
+        List<ClassInfo> topByAttributes = metrics.topClassesByAttributes(topN);
+        Set<ClassInfo> inTopByAttributes = Collections.newSetFromMap(new IdentityHashMap<>());
+        inTopByAttributes.addAll(topByAttributes);
+
+        return new AnalysisResult(
+            getStatistics(),
+            topByMethods.stream().map(AnalysisResult.ClassSummary::of).toList(),
+            topByAttributes.stream().map(AnalysisResult.ClassSummary::of).toList(),
+            topByMethods.stream().filter(inTopByAttributes::contains).map(AnalysisResult.ClassSummary::of).toList(),
+            metrics.topMethodsByLines(Math.max(1, totalMethods / 10)).stream()
+                .map(AnalysisResult.MethodSummary::of).toList(),
+            List.of(
+                AnalysisResult.Distribution.of("Méthodes par classe", metrics.methodsPerClass()),
+                AnalysisResult.Distribution.of("Attributs par classe", metrics.attributesPerClass()),
+                AnalysisResult.Distribution.of("Lignes par méthode", metrics.linesPerMethod()),
+                AnalysisResult.Distribution.of("Paramètres par méthode", metrics.parametersPerMethod())
+            ),
+            getCallGraphSummary(),
+            failedFiles
+        );
+    }
+
+    /**
+     * Statistiques globales, calculées en temps constant à partir des cumuls.
+     */
+    public AnalysisResult.Statistics getStatistics() {
+        return new AnalysisResult.Statistics(
+            classes.size(),
+            packageFiles.size(),
+            totalMethods,
+            totalAttributes,
+            new LineMetrics(totalLines.physical, totalLines.source, totalLines.comment, totalLines.blank),
+            classes.isEmpty() ? 0 : (double) totalMethods / classes.size(),
+            totalMethods == 0 ? 0 : (double) totalLines.physical / totalMethods,
+            classes.isEmpty() ? 0 : (double) totalAttributes / classes.size(),
+            metrics.parametersPerMethod().max()
+        );
+    }
+
+    private AnalysisResult.CallGraphSummary getCallGraphSummary() {
+        CallGraph graph = getCallGraph();
+        List<String> mostCalled = graph.getMostCalledMethods(1);
+        String mostCalledMethod = mostCalled.isEmpty() ? null : mostCalled.get(0);
+        return new AnalysisResult.CallGraphSummary(
+            graph.getAllMethods().size(),
+            graph.getEdgeCount(),
+            graph.estimateCompactMemoryFootprint(),
+            graph.getMaxCallDepth(),
+            graph.getRecursiveCycles(),
+            mostCalledMethod,
+            mostCalledMethod == null ? List.of() : graph.getCallers(mostCalledMethod).stream().sorted().toList()
+        );
     }
 
     /**
-     * Compte le nombre de lignes dans une classe.
+     * Classes ayant au moins {@code threshold} méthodes, dans l'ordre d'analyse.
      */
-    private int countClassLines(ClassOrInterfaceDeclaration classDecl) {
-        return classDecl.toString().split("\n").length;
+    @Override
+    public List<AnalysisResult.ClassSummary> getClassesWithManyMethods(int threshold) {
+        return classes.stream()
+            .filter(c -> c.methods.size() >= threshold)
+            .map(AnalysisResult.ClassSummary::of)
+            .toList();
     }
 
     /**
      * Affiche les statistiques d'analyse du code.
      */
     public void printStatistics() {
+        AnalysisResult result = getResult();
+        AnalysisResult.Statistics statistics = result.statistics();
         System.out.println("=== Statistiques d'analyse du code ===");
-        System.out.println("1. Nombre de classes : " + classes.size());
-        System.out.println("2. Nombre de lignes de code : " + totalLines);
-        System.out.println("3. Nombre total de méthodes : " + totalMethods);
-        System.out.println("4. Nombre total de packages : " + packages.size());
-        
-        double avgMethodsPerClass = classes.isEmpty() ? 0 : (double) totalMethods / classes.size();
-        System.out.printf("5. Moyenne de méthodes par classe : %.2f%n", avgMethodsPerClass);
-        
-        double avgLinesPerMethod = totalMethods == 0 ? 0 : (double) totalLines / totalMethods;
-        System.out.printf("6. Moyenne de lignes par méthode : %.2f%n", avgLinesPerMethod);
-        
-        double avgAttributesPerClass = classes.isEmpty() ? 0 : (double) totalAttributes / classes.size();
-        System.out.printf("7. Moyenne d'attributs par classe : %.2f%n", avgAttributesPerClass);
+        System.out.println("1. Nombre de classes : " + statistics.classCount());
+        System.out.println("2. Nombre de lignes de code : " + statistics.lines().getPhysical());
+        System.out.printf("   (%d lignes de code source, %d de commentaires, %d vides)%n",
+            statistics.lines().getSource(), statistics.lines().getComment(), statistics.lines().getBlank());
+        System.out.println("3. Nombre total de méthodes : " + statistics.methodCount());
+        System.out.println("4. Nombre total de packages : " + statistics.packageCount());
+        System.out.printf("5. Moyenne de méthodes par classe : %.2f%n", statistics.averageMethodsPerClass());
+        System.out.printf("6. Moyenne de lignes par méthode : %.2f%n", statistics.averageLinesPerMethod());
+        System.out.printf("7. Moyenne d'attributs par classe : %.2f%n", statistics.averageAttributesPerClass());
+
+        printTopClasses(result);
+        printTopMethods(result);
+        System.out.println("\n13. Nombre maximal de paramètres : " + statistics.maxParameters());
+        printPercentiles(result);
+        printFailedFiles(result);
+    }
+
+    /**
+     * Affiche les fichiers qui n'ont pas pu être analysés.
+     */
+    private static void printFailedFiles(AnalysisResult result) {
+        if (result.failedFiles().isEmpty()) return;
 
-        printTopClasses();  
-        printTopMethods();
-        printMaxParameters();
+        System.out.println("\nFichiers ignorés (erreur d'analyse) : " + result.failedFiles().size());
+        result.failedFiles().forEach((path, error) -> System.out.printf("   %s : %s%n", path, error));
     }
 
     /**
      * Affiche Les 10% des classes qui possèdent le plus grand nombre de méthodes et d'attributs.
      */
-    private void printTopClasses() {
-        int topN = Math.max(1, classes.size() / 10);
-        
+    private static void printTopClasses(AnalysisResult result) {
         System.out.println("\n8. Top 10% des classes par nombre de méthodes :");
-        List<ClassInfo> topByMethods = classes.stream()
-            .sorted((c1, c2) -> Integer.compare(c2.methods.size(), c1.methods.size()))
-            .limit(topN)
-            .collect(Collectors.toList());
-        
-        topByMethods.forEach(c -> System.out.printf("   %s (%d méthodes)%n", 
-            c.name, c.methods.size()));
+        result.topClassesByMethods().forEach(c -> System.out.printf("   %s (%d méthodes)%n", 
+            c.name(), c.methodCount()));
 
         System.out.println("\n9. Top 10% des classes par nombre d'attributs :");
-        List<ClassInfo> topByAttributes = classes.stream()
-            .sorted((c1, c2) -> Integer.compare(c2.attributes, c1.attributes))
-            .limit(topN)
-            .collect(Collectors.toList());
-        
-        topByAttributes.forEach(c -> System.out.printf("   %s (%d attributs)%n", 
-            c.name, c.attributes));
+        result.topClassesByAttributes().forEach(c -> System.out.printf("   %s (%d attributs)%n", 
+            c.name(), c.attributeCount()));
 
         System.out.println("\n10. Classes dans les deux catégories précédentes :");
-        topByMethods.stream()
-            .filter(topByAttributes::contains)
-            .forEach(c -> System.out.println("   " + c.name));
+        result.topClassesInBoth().forEach(c -> System.out.println("   " + c.name()));
     }
 
     
@@ -171,90 +622,235 @@ public class CodeAnalyzer {
      */
     public void printClassesWithManyMethods(int threshold) {
         System.out.println("\n11. Classes avec plus de " + threshold + " méthodes :");
-        classes.stream()
-            .filter(c -> c.methods.size() >= threshold)
+        getClassesWithManyMethods(threshold)
             .forEach(c -> System.out.printf("   %s (%d méthodes)%n", 
-                c.name, c.methods.size()));
+                c.name(), c.methodCount()));
     }
 
     /**
      * Affiche les méthodes les plus longues.
      */
-    private void printTopMethods() {
+    private static void printTopMethods(AnalysisResult result) {
         System.out.println("\n12. Top 10% des méthodes par nombre de lignes :");
-        classes.stream()
-            .flatMap(c -> c.methods.stream()
-                .map(m -> new MethodDetail(c.name, m)))
-            .sorted((m1, m2) -> Integer.compare(m2.method.lines, m1.method.lines))
-            .limit(Math.max(1, totalMethods / 10))
-            .forEach(md -> System.out.printf("   %s.%s (%d lignes)%n", 
-                md.className, md.method.name, md.method.lines));
+        result.topMethodsByLines()
+            .forEach(m -> System.out.printf("   %s.%s (%d lignes)%n", 
+                m.className(), m.name(), m.lines().getPhysical()));
     }
 
     /**
-     * Affiche le nombre maximal de paramètres pour une méthode.
+     * Affiche la médiane et les 90e et 99e percentiles des principales métriques.
      */
-    private void printMaxParameters() {
-        OptionalInt maxParams = classes.stream()
-            .flatMap(c -> c.methods.stream())
-            .mapToInt(m -> m.parameters)
-            .max();
-        
-        System.out.println("\n13. Nombre maximal de paramètres : " + 
-            maxParams.orElse(0));
+    private static void printPercentiles(AnalysisResult result) {
+        System.out.println("\n14. Distribution des métriques (p50 / p90 / p99 / max) :");
+        result.distributions().forEach(d -> System.out.printf("   %s : %d / %d / %d / %d%n",
+            d.label(), d.p50(), d.p90(), d.p99(), d.max()));
     }
 
     /**
      * Affiche les statistiques du graphe d'appel.
      */
     public void printCallGraphStatistics() {
+        AnalysisResult.CallGraphSummary summary = getCallGraphSummary();
         System.out.println("\n=== Statistiques du graphe d'appel ===");
         System.out.println("Graphe d'appel :");
         getCallGraph().printGraph();
         
-        System.out.println("\nProfondeur maximale des appels : " + getCallGraph().getMaxCallDepth());
+        System.out.printf("%nEmpreinte mémoire du graphe : %d Ko (%d méthodes, %d appels)%n",
+            summary.memoryFootprint() / 1024, summary.methodCount(), summary.callCount());
+        System.out.println("Profondeur maximale des appels : " + summary.maxCallDepth());
+        printRecursiveCycles(summary.recursiveCycles());
         
-        String mostCalledMethod = findMostCalledMethod();
-        System.out.println("Méthode la plus appelée : " + mostCalledMethod);
-        System.out.println("Appelée par : " + getCallGraph().getCallers(mostCalledMethod));
+        if (summary.mostCalledMethod() == null) {
+            System.out.println("Méthode la plus appelée : Aucune méthode trouvée");
+            System.out.println("Appelée par : []");
+        } else {
+            System.out.println("Méthode la plus appelée : " + summary.mostCalledMethod());
+            System.out.println("Appelée par : " + summary.mostCalledBy());
+        }
     }
 
     /**
-     * Trouve la méthode la plus appelée dans le graphe d'appel.
+     * Affiche les cycles d'appels récursifs (au plus {@value #MAX_PRINTED_CYCLES}).
      */
-    private String findMostCalledMethod() {
-        return getCallGraph().getAllMethods().stream()
-            .max(Comparator.comparingInt(method -> getCallGraph().getCallers(method).size()))
-            .orElse("Aucune méthode trouvée");
+    private static void printRecursiveCycles(List<List<String>> cycles) {
+        System.out.println("Cycles récursifs : " + cycles.size());
+        cycles.stream()
+            .limit(MAX_PRINTED_CYCLES)
+            .forEach(cycle -> System.out.println("   " + String.join(" <-> ", cycle)));
+        if (cycles.size() > MAX_PRINTED_CYCLES) {
+            System.out.println("   ...");
+        }
     }
 
-    private static class ClassInfo {
+    /**
+     * Classe analysée ; {@code metrics} contient une valeur par métrique de classe enregistrée,
+     * à l'emplacement attribué par {@link MetricRegistry}. Le type est public parce que
+     * {@link AnalysisModel#getClasses()} le renvoie, mais son contenu reste interne au package.
+     */
+    public static class ClassInfo {
         String name;
+        String packageName;  // Renseigné à la fusion, non sérialisé
         List<MethodInfo> methods = new ArrayList<>();
-        int attributes;
+        final int[] metrics = new int[MetricRegistry.classMetrics().size()];
+        LineMetrics lines = new LineMetrics();
 
         ClassInfo(String name) {
             this.name = name;
         }
+
+        int attributes() {
+            return metrics[MetricRegistry.ATTRIBUTES];
+        }
+
+        void write(DataOutput out) throws IOException {
+            out.writeUTF(name);
+            writeMetrics(metrics, out);
+            lines.write(out);
+            out.writeInt(methods.size());
+            for (MethodInfo method : methods) {
+                method.write(out);
+            }
+        }
+
+        static ClassInfo read(DataInput in) throws IOException {
+            ClassInfo classInfo = new ClassInfo(in.readUTF());
+            readMetrics(classInfo.metrics, in);
+            classInfo.lines = LineMetrics.read(in);
+            int methodCount = in.readInt();
+            for (int i = 0; i < methodCount; i++) {
+                classInfo.methods.add(MethodInfo.read(in));
+            }
+            return classInfo;
+        }
     }
 
-    private static class MethodInfo {
+    /**
+     * Méthode analysée ; {@code metrics} contient une valeur par métrique de méthode enregistrée.
+     */
+    static class MethodInfo {
         String name;
-        int lines;
-        int parameters;
+        LineMetrics lines;
+        final int[] metrics = new int[MetricRegistry.methodMetrics().size()];
 
-        MethodInfo(String name, int lines, int parameters) {
+        MethodInfo(String name, LineMetrics lines) {
             this.name = name;
             this.lines = lines;
-            this.parameters = parameters;
         }
+
+        int parameters() {
+            return metrics[MetricRegistry.PARAMETERS];
+        }
+
+        void write(DataOutput out) throws IOException {
+            out.writeUTF(name);
+            lines.write(out);
+            writeMetrics(metrics, out);
+        }
+
+        static MethodInfo read(DataInput in) throws IOException {
+            MethodInfo method = new MethodInfo(in.readUTF(), LineMetrics.read(in));
+            readMetrics(method.metrics, in);
+            return method;
+        }
+    }
+
+    /**
+     * Les valeurs sont écrites sans leurs noms : les fichiers qui les contiennent enregistrent
+     * {@link MetricRegistry#SIGNATURE} et sont refusés si les métriques ont changé.
+     */
+    private static void writeMetrics(int[] metrics, DataOutput out) throws IOException {
+        for (int value : metrics) {
+            out.writeInt(value);
+        }
+    }
+
+    private static void readMetrics(int[] metrics, DataInput in) throws IOException {
+        for (int slot = 0; slot < metrics.length; slot++) {
+            metrics[slot] = in.readInt();
+        }
+    }
+
+    /**
+     * Résultat de l'analyse d'un seul fichier, produit sans état partagé.
+     */
+    static class FileAnalysis {
+        final String path;
+        String packageName;
+        final List<ClassInfo> classes = new ArrayList<>();
+        final List<String[]> calls = new ArrayList<>();
+        LineMetrics lines = new LineMetrics();
+        String error;
+
+        FileAnalysis(String path) {
+            this.path = path;
+        }
+
+        /**
+         * Sérialise le résultat d'un fichier analysé avec succès (voir {@link AnalysisCache}).
+         */
+        void write(DataOutput out) throws IOException {
+            out.writeBoolean(packageName != null);
+            if (packageName != null) out.writeUTF(packageName);
+            lines.write(out);
+            out.writeInt(classes.size());
+            for (ClassInfo classInfo : classes) {
+                classInfo.write(out);
+            }
+            out.writeInt(calls.size());
+            for (String[] call : calls) {
+                out.writeUTF(call[0]);
+                out.writeUTF(call[1]);
+            }
+        }
+
+        /**
+         * Copie superficielle sous un autre chemin (résultat partiel relu sur une autre racine).
+         */
+        FileAnalysis withPath(String path) {
+            FileAnalysis copy = new FileAnalysis(path);
+            copy.packageName = packageName;
+            copy.classes.addAll(classes);
+            copy.calls.addAll(calls);
+            copy.lines = lines;
+            copy.error = error;
+            return copy;
+        }
+
+        static FileAnalysis read(String path, DataInput in) throws IOException {
+            FileAnalysis result = new FileAnalysis(path);
+            if (in.readBoolean()) result.packageName = in.readUTF();
+            result.lines = LineMetrics.read(in);
+            int classCount = in.readInt();
+            for (int i = 0; i < classCount; i++) {
+                result.classes.add(ClassInfo.read(in));
+            }
+            int callCount = in.readInt();
+            for (int i = 0; i < callCount; i++) {
+                result.calls.add(new String[] { in.readUTF(), in.readUTF() });
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Appel (appelant, appelée), clé du décompte des fichiers qui l'apportent.
+     */
+    private record Call(String caller, String callee) {
     }
 
-    private static class MethodDetail {
+    /**
+     * Fichier retenu par le fragment : rang dans l'ordre de découverte et chemin relatif.
+     */
+    private record ShardFile(int ordinal, String relativePath) {
+    }
+
+    static class MethodDetail {
+        String packageName;
         String className;
         MethodInfo method;
 
-        MethodDetail(String className, MethodInfo method) {
+        MethodDetail(String packageName, String className, MethodInfo method) {
+            this.packageName = packageName;
             this.className = className;
             this.method = method;
         }
@@ -283,8 +879,83 @@ public class CodeAnalyzer {
         CallGraphGUI.launchGUI(analyzer.getCallGraph());
     }
 
+	@Override
 	public CallGraph getCallGraph() {
 		return callGraph;
 	}
 
+	/**
+	 * Nombre de threads utilisés pour analyser les fichiers (1 = mode séquentiel).
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	public void setParallelism(int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Le parallélisme doit être supérieur ou égal à 1 : " + parallelism);
+		}
+		this.parallelism = parallelism;
+	}
+
+	public AnalysisCache getCache() {
+		return cache;
+	}
+
+	/**
+	 * Active le cache d'analyse incrémentale ({@code null} pour le désactiver).
+	 */
+	public void setCache(AnalysisCache cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * Plafond des octets lus à l'avance en attente d'analyse (32 Mo par défaut).
+	 * Un fichier plus gros que le plafond est lu seul.
+	 */
+	public long getReadAheadBytes() {
+		return readAheadBytes;
+	}
+
+	public void setReadAheadBytes(long readAheadBytes) {
+		if (readAheadBytes < 1) {
+			throw new IllegalArgumentException("La lecture anticipée doit être d'au moins un octet : " + readAheadBytes);
+		}
+		this.readAheadBytes = readAheadBytes;
+	}
+
+	/**
+	 * Compteurs de lecture et d'analyse de la dernière analyse, ou null avant la première.
+	 * Ils indiquent si la lecture des fichiers ou leur analyse limite le débit.
+	 */
+	public PipelineStatistics getPipelineStatistics() {
+		return pipelineStatistics;
+	}
+
+	public SourceDiscovery getDiscovery() {
+		return discovery;
+	}
+
+	public void setDiscovery(SourceDiscovery discovery) {
+		this.discovery = Objects.requireNonNull(discovery);
+	}
+
+	@Override
+	public List<ClassInfo> getClasses() {
+		return Collections.unmodifiableList(classes);
+	}
+
+	@Override
+	public Set<String> getPackages() {
+		return Collections.unmodifiableSet(packageFiles.keySet());
+	}
+
+	/**
+	 * Retourne les fichiers ignorés, associés au message d'erreur de l'analyse.
+	 */
+	@Override
+	public Map<String, String> getFailedFiles() {
+		return Collections.unmodifiableMap(failedFiles);
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.CodeAnalyzer;
+
+import com.github.javaparser.ast.Node;
+
+/**
+ * Métrique enfichable, calculée pendant le parcours unique de l'AST de chaque fichier.
+ *
+ * Les métriques sont découvertes par {@link java.util.ServiceLoader} : déclaration
+ * {@code provides com.CodeAnalyzer.CodeMetric with ...} d'un module, ou fichier
+ * {@code META-INF/services/com.CodeAnalyzer.CodeMetric} sur le chemin de classes.
+ *
+ * Une métrique porte sur les classes ou sur les méthodes. Pour chaque classe (ou méthode)
+ * parcourue, elle reçoit {@link #enter} et {@link #leave} pour chaque nœud, déclaration comprise,
+ * puis {@link #finish}. Sa valeur et son état éventuel sont rangés dans des emplacements
+ * réservés de la classe ou de la méthode, accessibles par le {@link MetricContext}.
+ * Une même instance sert à tous les fichiers et à tous les threads : elle ne garde aucun état propre.
+ */
+public interface CodeMetric {
+
+    enum Level { CLASS, METHOD }
+
+    /**
+     * Nom unique de la métrique, repris dans les rapports.
+     */
+    String name();
+
+    Level level();
+
+    /**
+     * État de travail d'une nouvelle classe ou méthode, ou null si la valeur entière suffit.
+     */
+    default Object newState() {
+        return null;
+    }
+
+    default void enter(Node node, MetricContext context) {
+    }
+
+    default void leave(Node node, MetricContext context) {
+    }
+
+    /**
+     * Appelé à la fin de la classe ou de la méthode, pour calculer la valeur depuis l'état.
+     */
+    default void finish(MetricContext context) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.CodeAnalyzer;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.ThisExpr;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Manque de cohésion des méthodes (LCOM de Chidamber et Kemerer) : nombre de paires de
+ * méthodes sans attribut commun moins nombre de paires qui en partagent, borné à 0.
+ * Une méthode utilise un attribut de la classe si elle le nomme, seul ou après {@code this.} ;
+ * les variables locales de même nom ne sont pas distinguées.
+ */
+public final class CohesionMetric implements CodeMetric {
+
+    private static final class State {
+        final Set<String> fields = new HashSet<>();
+        final List<Set<String>> methods = new ArrayList<>();  // Noms utilisés par chaque méthode
+        Set<String> current;
+    }
+
+    @Override
+    public String name() {
+        return "lcom";
+    }
+
+    @Override
+    public Level level() {
+        return Level.CLASS;
+    }
+
+    @Override
+    public Object newState() {
+        return new State();
+    }
+
+    @Override
+    public void enter(Node node, MetricContext context) {
+        State state = context.state();
+        if (node instanceof FieldDeclaration field && declared(node, context)) {
+            for (VariableDeclarator variable : field.getVariables()) {
+                state.fields.add(variable.getNameAsString());
+            }
+        } else if (node instanceof MethodDeclaration && declared(node, context)) {
+            state.current = new HashSet<>();
+            state.methods.add(state.current);
+        } else if (state.current != null) {
+            if (node instanceof NameExpr name) {
+                state.current.add(name.getNameAsString());
+            } else if (node instanceof FieldAccessExpr access && access.getScope() instanceof ThisExpr) {
+                state.current.add(access.getNameAsString());
+            }
+        }
+    }
+
+    @Override
+    public void leave(Node node, MetricContext context) {
+        if (node instanceof MethodDeclaration && declared(node, context)) {
+            context.<State>state().current = null;
+        }
+    }
+
+    @Override
+    public void finish(MetricContext context) {
+        State state = context.state();
+        Map<String, Integer> fieldIndex = new HashMap<>();
+        for (String field : state.fields) {
+            fieldIndex.put(field, fieldIndex.size());
+        }
+        BitSet[] used = new BitSet[state.methods.size()];
+        for (int method = 0; method < used.length; method++) {
+            used[method] = new BitSet(fieldIndex.size());
+            for (String name : state.methods.get(method)) {
+                Integer field = fieldIndex.get(name);
+                if (field != null) used[method].set(field);
+            }
+        }
+        long disjoint = 0;
+        long sharing = 0;
+        for (int i = 0; i < used.length; i++) {
+            for (int j = i + 1; j < used.length; j++) {
+                if (used[i].intersects(used[j])) sharing++;
+                else disjoint++;
+            }
+        }
+        context.set((int) Math.min(Integer.MAX_VALUE, Math.max(0, disjoint - sharing)));
+    }
+
+    private static boolean declared(Node node, MetricContext context) {
+        return node.getParentNode().orElse(null) == context.declaration();
+    }
+}
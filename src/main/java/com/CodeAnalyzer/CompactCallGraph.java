@@ -0,0 +1,350 @@
+package com.CodeAnalyzer;
+
+import java.util.*;
+
+/**
+ * Représentation figée et compacte du graphe d'appel.
+ *
+ * Chaque nom de méthode est stocké une seule fois dans une table de symboles triée
+ * et reçoit un identifiant entier (son rang). Les arêtes sont stockées en format CSR
+ * (compressed sparse row) : pour la méthode {@code i}, ses appelées sont
+ * {@code forwardTargets[forwardOffsets[i] .. forwardOffsets[i + 1]]} et ses appelants
+ * {@code reverseSources[reverseOffsets[i] .. reverseOffsets[i + 1]]}, triés par identifiant.
+ */
+final class CompactCallGraph {
+    private final String[] names;
+    private final int[] hashSlots;
+    private final int[] forwardOffsets;
+    private final int[] forwardTargets;
+    private final int[] reverseOffsets;
+    private final int[] reverseSources;
+
+    private CompactCallGraph(String[] names, int[] forwardOffsets, int[] forwardTargets) {
+        this.names = names;
+        this.hashSlots = buildHashIndex(names);
+        this.forwardOffsets = forwardOffsets;
+        this.forwardTargets = forwardTargets;
+
+        int n = names.length;
+        this.reverseOffsets = new int[n + 1];
+        for (int target : forwardTargets) {
+            reverseOffsets[target + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            reverseOffsets[i + 1] += reverseOffsets[i];
+        }
+        this.reverseSources = new int[forwardTargets.length];
+        int[] cursor = Arrays.copyOf(reverseOffsets, n);
+        // Parcourir les appelants par identifiant croissant garde chaque liste inverse triée
+        for (int caller = 0; caller < n; caller++) {
+            for (int e = forwardOffsets[caller]; e < forwardOffsets[caller + 1]; e++) {
+                reverseSources[cursor[forwardTargets[e]]++] = caller;
+            }
+        }
+    }
+
+    /**
+     * Construit la représentation compacte à partir des listes d'adjacence mutables.
+     */
+    static CompactCallGraph build(Set<String> methods, Map<String, Set<String>> adjacency) {
+        String[] names = methods.toArray(new String[0]);
+        Arrays.sort(names);
+        Map<String, Integer> ids = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            ids.put(names[i], i);
+        }
+
+        int edgeCount = 0;
+        for (Set<String> callees : adjacency.values()) {
+            edgeCount += callees.size();
+        }
+        int[] offsets = new int[names.length + 1];
+        int[] targets = new int[edgeCount];
+        int position = 0;
+        for (int i = 0; i < names.length; i++) {
+            offsets[i] = position;
+            Set<String> callees = adjacency.get(names[i]);
+            if (callees == null) continue;
+            int start = position;
+            for (String callee : callees) {
+                targets[position++] = ids.get(callee);
+            }
+            Arrays.sort(targets, start, position);
+        }
+        offsets[names.length] = position;
+        return new CompactCallGraph(names, offsets, targets);
+    }
+
+    /**
+     * Reconstruit la représentation à partir de ses tableaux CSR (voir {@link AnalysisSnapshot}) ;
+     * les noms doivent être triés et les appelées de chaque méthode triées par identifiant.
+     */
+    static CompactCallGraph fromCsr(String[] names, int[] forwardOffsets, int[] forwardTargets) {
+        return new CompactCallGraph(names, forwardOffsets, forwardTargets);
+    }
+
+    /**
+     * Vrai pour une méthode déclarée (« Classe.méthode ») ; les appelées sont des noms simples.
+     */
+    static boolean isDeclared(String method) {
+        return method.indexOf('.') >= 0;
+    }
+
+    /**
+     * Graphe dont les appelées sont résolues vers les méthodes déclarées : chaque nœud de nom
+     * simple pointe vers toutes les méthodes déclarées {@code Classe.nom} (sur-approximation,
+     * faute de types), ce qui ajoute une arête par méthode déclarée au lieu d'une par appel.
+     * Un nom qui ne correspond à aucune méthode déclarée (bibliothèque) reste une feuille.
+     * Les méthodes de {@code methods} absentes de {@code calls} deviennent des nœuds sans appel.
+     */
+    static CompactCallGraph resolve(CompactCallGraph calls, Collection<String> methods) {
+        Set<String> extra = new HashSet<>();
+        for (String method : methods) {
+            if (calls.idOf(method) < 0) extra.add(method);
+        }
+        String[] extraNames = extra.toArray(new String[0]);
+        Arrays.sort(extraNames);
+
+        // Fusion des deux listes triées : les identifiants du graphe restent croissants
+        int base = calls.methodCount();
+        int n = base + extraNames.length;
+        String[] names = new String[n];
+        int[] oldId = new int[n];
+        for (int i = 0, a = 0, b = 0; i < n; i++) {
+            if (b == extraNames.length || (a < base && calls.nameOf(a).compareTo(extraNames[b]) < 0)) {
+                names[i] = calls.nameOf(a);
+                oldId[i] = a++;
+            } else {
+                names[i] = extraNames[b++];
+                oldId[i] = -1;
+            }
+        }
+        int[] newId = new int[base];
+        for (int i = 0; i < n; i++) {
+            if (oldId[i] >= 0) newId[oldId[i]] = i;
+        }
+
+        // Résolution : chaque nœud de nom simple pointe vers les méthodes déclarées de ce nom
+        int[] nameNode = new int[n];
+        int[] resolutionOffsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            int dot = names[i].lastIndexOf('.');
+            nameNode[i] = -1;
+            if (dot < 0) continue;  // Nom d'appelée non qualifié
+            int old = calls.idOf(names[i].substring(dot + 1));
+            if (old >= 0) {
+                nameNode[i] = newId[old];
+                resolutionOffsets[nameNode[i] + 1]++;
+            }
+        }
+        for (int i = 0; i < n; i++) resolutionOffsets[i + 1] += resolutionOffsets[i];
+        int[] resolution = new int[resolutionOffsets[n]];
+        int[] cursor = Arrays.copyOf(resolutionOffsets, n);
+        for (int i = 0; i < n; i++) {
+            if (nameNode[i] >= 0) resolution[cursor[nameNode[i]]++] = i;
+        }
+
+        int[] callOffsets = calls.forwardOffsets;
+        int[] callTargets = calls.forwardTargets;
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[callTargets.length + resolution.length];
+        int position = 0;
+        for (int i = 0; i < n; i++) {
+            offsets[i] = position;
+            if (!isDeclared(names[i])) {
+                for (int r = resolutionOffsets[i]; r < resolutionOffsets[i + 1]; r++) {
+                    targets[position++] = resolution[r];
+                }
+            } else if (oldId[i] >= 0) {
+                for (int e = callOffsets[oldId[i]]; e < callOffsets[oldId[i] + 1]; e++) {
+                    targets[position++] = newId[callTargets[e]];
+                }
+            }
+        }
+        offsets[n] = position;
+        return new CompactCallGraph(names, offsets, Arrays.copyOf(targets, position));
+    }
+
+    /**
+     * Table de hachage à adressage ouvert : chaque case contient l'identifiant + 1 (0 = vide).
+     */
+    private static int[] buildHashIndex(String[] names) {
+        int capacity = Integer.highestOneBit(Math.max(2, names.length * 2 - 1)) << 1;
+        int[] slots = new int[capacity];
+        for (int id = 0; id < names.length; id++) {
+            int slot = names[id].hashCode() & (capacity - 1);
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            slots[slot] = id + 1;
+        }
+        return slots;
+    }
+
+    /**
+     * Retourne l'identifiant de la méthode, ou -1 si elle n'apparaît pas dans le graphe.
+     */
+    int idOf(String method) {
+        int mask = hashSlots.length - 1;
+        int slot = method.hashCode() & mask;
+        while (hashSlots[slot] != 0) {
+            int id = hashSlots[slot] - 1;
+            if (names[id].equals(method)) return id;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    String nameOf(int id) {
+        return names[id];
+    }
+
+    int methodCount() {
+        return names.length;
+    }
+
+    int edgeCount() {
+        return forwardTargets.length;
+    }
+
+    int outDegree(int id) {
+        return forwardOffsets[id + 1] - forwardOffsets[id];
+    }
+
+    int inDegree(int id) {
+        return reverseOffsets[id + 1] - reverseOffsets[id];
+    }
+
+    int[] forwardOffsets() {
+        return forwardOffsets;
+    }
+
+    int[] forwardTargets() {
+        return forwardTargets;
+    }
+
+    int[] reverseOffsets() {
+        return reverseOffsets;
+    }
+
+    int[] reverseSources() {
+        return reverseSources;
+    }
+
+    Set<String> allMethods() {
+        return new IdSet(names, null, 0, names.length);
+    }
+
+    Set<String> callees(String method) {
+        int id = idOf(method);
+        if (id < 0) return Collections.emptySet();
+        return new IdSet(names, forwardTargets, forwardOffsets[id], forwardOffsets[id + 1]);
+    }
+
+    Set<String> callers(String method) {
+        int id = idOf(method);
+        if (id < 0) return Collections.emptySet();
+        return new IdSet(names, reverseSources, reverseOffsets[id], reverseOffsets[id + 1]);
+    }
+
+    /**
+     * Retourne les k méthodes de plus fort degré (entrant ou sortant), à égalité par nom.
+     */
+    List<String> topK(int k, boolean byInDegree) {
+        if (k <= 0) return Collections.emptyList();
+
+        int[] offsets = byInDegree ? reverseOffsets : forwardOffsets;
+        // Tas min sur (degré, -id) : la racine est le candidat le plus faible retenu
+        Comparator<Integer> order = Comparator
+            .comparingInt((Integer id) -> offsets[id + 1] - offsets[id])
+            .thenComparing(Comparator.<Integer>reverseOrder());
+        PriorityQueue<Integer> heap = new PriorityQueue<>(k + 1, order);
+        for (int id = 0; id < names.length; id++) {
+            if (offsets[id + 1] == offsets[id]) continue;
+            if (heap.size() < k) {
+                heap.add(id);
+            } else if (order.compare(id, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(id);
+            }
+        }
+
+        List<String> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            result.add(names[heap.poll()]);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Estimation de l'empreinte mémoire en octets (tableaux, table de symboles et chaînes),
+     * pour une JVM 64 bits à références compressées et chaînes compactes.
+     */
+    long estimateMemoryFootprint() {
+        long bytes = arrayBytes(4, hashSlots.length)
+            + arrayBytes(4, forwardOffsets.length) + arrayBytes(4, forwardTargets.length)
+            + arrayBytes(4, reverseOffsets.length) + arrayBytes(4, reverseSources.length)
+            + arrayBytes(4, names.length);
+        for (String name : names) {
+            bytes += 24 + arrayBytes(1, name.length());
+        }
+        return bytes;
+    }
+
+    private static long arrayBytes(int elementSize, int length) {
+        return (16 + (long) elementSize * length + 7) & ~7L;
+    }
+
+    /**
+     * Vue ensembliste non modifiable sur une tranche triée d'identifiants.
+     * Si {@code ids} est nul, la tranche désigne directement les identifiants [from, to).
+     */
+    private static final class IdSet extends AbstractSet<String> {
+        private final String[] names;
+        private final int[] ids;
+        private final int from;
+        private final int to;
+
+        IdSet(String[] names, int[] ids, int from, int to) {
+            this.names = names;
+            this.ids = ids;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<>() {
+                private int position = from;
+
+                @Override
+                public boolean hasNext() {
+                    return position < to;
+                }
+
+                @Override
+                public String next() {
+                    if (position >= to) throw new NoSuchElementException();
+                    int id = ids == null ? position : ids[position];
+                    position++;
+                    return names[id];
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof String)) return false;
+            int id = Arrays.binarySearch(names, o);
+            if (id < 0) return false;
+            if (ids == null) return id >= from && id < to;
+            return Arrays.binarySearch(ids, from, to, id) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+}
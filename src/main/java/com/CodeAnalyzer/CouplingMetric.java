@@ -0,0 +1,66 @@
+package com.CodeAnalyzer;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.TypeParameter;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Couplage entre objets (CBO) : nombre de types distincts nommés dans la classe (héritage,
+ * attributs, signatures, variables, instanciations, transtypages), hors la classe elle-même
+ * et ses paramètres de type (ceux de la classe et de ses méthodes). Sans résolution des
+ * symboles, les types sont comparés par nom simple : seul le dernier segment d'un nom qualifié
+ * compte ({@code java.util.Map.Entry} est {@code Entry}) et les appels statiques
+ * ({@code Math.max}) ne comptent pas.
+ */
+public final class CouplingMetric implements CodeMetric {
+
+    private static final class State {
+        final Set<String> types = new HashSet<>();
+        final Set<String> typeParameters = new HashSet<>();
+    }
+
+    @Override
+    public String name() {
+        return "cbo";
+    }
+
+    @Override
+    public Level level() {
+        return Level.CLASS;
+    }
+
+    @Override
+    public Object newState() {
+        return new State();
+    }
+
+    @Override
+    public void enter(Node node, MetricContext context) {
+        if (node instanceof ClassOrInterfaceType type && !isScope(type)) {
+            context.<State>state().types.add(type.getNameAsString());
+        } else if (node instanceof TypeParameter parameter) {
+            context.<State>state().typeParameters.add(parameter.getNameAsString());
+        }
+    }
+
+    /**
+     * Vrai pour un segment qualifiant d'un nom de type ({@code java}, {@code util}, {@code Map}
+     * dans {@code java.util.Map.Entry}).
+     */
+    private static boolean isScope(ClassOrInterfaceType type) {
+        return type.getParentNode()
+            .filter(parent -> parent instanceof ClassOrInterfaceType outer && outer.getScope().orElse(null) == type)
+            .isPresent();
+    }
+
+    @Override
+    public void finish(MetricContext context) {
+        State state = context.state();
+        state.types.removeAll(state.typeParameters);
+        state.types.remove(((ClassOrInterfaceDeclaration) context.declaration()).getNameAsString());
+        context.set(state.types.size());
+    }
+}
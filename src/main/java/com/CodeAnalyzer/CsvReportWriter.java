@@ -0,0 +1,67 @@
+package com.CodeAnalyzer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rapport au format CSV (RFC 4180) à colonnes fixes.
+ *
+ * Tous les types d'enregistrements partagent le même en-tête : la colonne {@code type}
+ * les distingue et les colonnes sans objet restent vides. Les statistiques globales
+ * sont écrites sous forme de paires {@code key} / {@code value}.
+ */
+class CsvReportWriter extends ReportWriter {
+    static final List<String> COLUMNS = List.of(
+        "type", "package", "class", "method", "caller", "callee", "path",
+        "methods", "attributes", "lines", "source_lines", "comment_lines", "blank_lines",
+        "parameters", "key", "value", "error", "fan_in", "fan_out"
+    );
+
+    private final String[] row = new String[COLUMNS.size()];
+
+    CsvReportWriter(Writer out) throws IOException {
+        super(out);
+        writeRow(COLUMNS.toArray(new String[0]));
+    }
+
+    @Override
+    void record(String type, Object... fields) throws IOException {
+        Arrays.fill(row, null);
+        row[0] = type;
+        for (int i = 0; i < fields.length; i += 2) {
+            Object value = fields[i + 1];
+            if (value == null) continue;
+            int column = COLUMNS.indexOf((String) fields[i]);
+            if (column < 0) {
+                throw new IllegalArgumentException("Colonne CSV inconnue : " + fields[i]);
+            }
+            row[column] = value instanceof Number number ? formatNumber(number) : value.toString();
+        }
+        writeRow(row);
+    }
+
+    private void writeRow(String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) out.write(',');
+            if (values[i] != null) writeCell(values[i]);
+        }
+        out.write("\r\n");
+    }
+
+    private void writeCell(String value) throws IOException {
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
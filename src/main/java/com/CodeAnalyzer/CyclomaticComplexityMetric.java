@@ -0,0 +1,43 @@
+package com.CodeAnalyzer;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.expr.BinaryExpr;
+import com.github.javaparser.ast.expr.ConditionalExpr;
+import com.github.javaparser.ast.stmt.*;
+
+/**
+ * Complexité cyclomatique de McCabe : 1, plus un par branchement (if, boucle, étiquette
+ * de case, catch, opérateur ternaire, {@code &&} et {@code ||}). Les lambdas et les classes
+ * anonymes du corps comptent pour la méthode.
+ */
+public final class CyclomaticComplexityMetric implements CodeMetric {
+
+    @Override
+    public String name() {
+        return "cyclomatic_complexity";
+    }
+
+    @Override
+    public Level level() {
+        return Level.METHOD;
+    }
+
+    @Override
+    public void enter(Node node, MetricContext context) {
+        if (node == context.declaration()
+                || node instanceof IfStmt
+                || node instanceof ForStmt
+                || node instanceof ForEachStmt
+                || node instanceof WhileStmt
+                || node instanceof DoStmt
+                || node instanceof CatchClause
+                || node instanceof ConditionalExpr) {
+            context.add(1);
+        } else if (node instanceof SwitchEntry entry) {
+            context.add(entry.getLabels().size());
+        } else if (node instanceof BinaryExpr binary
+                && (binary.getOperator() == BinaryExpr.Operator.AND || binary.getOperator() == BinaryExpr.Operator.OR)) {
+            context.add(1);
+        }
+    }
+}
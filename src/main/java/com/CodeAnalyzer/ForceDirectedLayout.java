@@ -0,0 +1,219 @@
+package com.CodeAnalyzer;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Disposition par forces (Fruchterman-Reingold) avec l'approximation de Barnes-Hut.
+ *
+ * À chaque itération, un quadtree est construit sur les positions courantes ; la répulsion
+ * exercée par un groupe de nœuds éloigné est approchée par celle de son centre de masse,
+ * d'où un coût de O(n log n + E) par itération au lieu de O(n²). Les arêtes attirent leurs
+ * extrémités et une faible gravité ramène les composantes isolées vers le centre. Le
+ * déplacement est borné par une température qui décroît à chaque itération.
+ * Le quadtree n'étant que lu pendant la répulsion, celle-ci est calculée en parallèle.
+ */
+final class ForceDirectedLayout extends GraphLayout {
+    private static final int MAX_ITERATIONS = 300;
+    private static final double IDEAL_LENGTH = 30;
+    private static final double THETA = 1.2;
+    private static final double GRAVITY = 0.02;
+    private static final double COOLING = 0.97;
+    private static final int MAX_DEPTH = 32;
+    private static final int EMPTY = -1;
+    private static final int AGGREGATE = -2;
+
+    private final double[] displacementX;
+    private final double[] displacementY;
+    private double temperature;
+
+    // Quadtree en tableaux : les 4 enfants d'une cellule sont consécutifs à partir de firstChild
+    private int cellCount;
+    private double[] cellCenterX;
+    private double[] cellCenterY;
+    private double[] cellHalfSize;
+    private double[] cellMass;
+    private double[] cellMassX;
+    private double[] cellMassY;
+    private int[] cellBody;
+    private int[] cellFirstChild;
+
+    ForceDirectedLayout(int nodeCount, int[] sources, int[] targets, double[] initialX, double[] initialY) {
+        super(nodeCount, sources, targets, initialX, initialY);
+        this.displacementX = new double[nodeCount];
+        this.displacementY = new double[nodeCount];
+        this.temperature = IDEAL_LENGTH * Math.max(1, Math.sqrt(nodeCount)) / 10;
+        allocateCells(Math.max(16, 2 * nodeCount + 1));
+    }
+
+    @Override
+    int maxIterations() {
+        return MAX_ITERATIONS;
+    }
+
+    @Override
+    boolean iterate() {
+        if (iteration >= MAX_ITERATIONS || nodeCount == 0) return false;
+
+        buildQuadtree();
+        double k2 = IDEAL_LENGTH * IDEAL_LENGTH;
+        IntStream.range(0, nodeCount).parallel().forEach(node -> {
+            repulse(node, k2);
+            displacementX[node] -= GRAVITY * x[node];
+            displacementY[node] -= GRAVITY * y[node];
+        });
+        for (int e = 0; e < sources.length; e++) {
+            int source = sources[e], target = targets[e];
+            if (source == target) continue;
+            double dx = x[source] - x[target], dy = y[source] - y[target];
+            double distance = Math.sqrt(dx * dx + dy * dy);
+            double factor = distance / IDEAL_LENGTH;
+            displacementX[source] -= dx * factor;
+            displacementY[source] -= dy * factor;
+            displacementX[target] += dx * factor;
+            displacementY[target] += dy * factor;
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            double length = Math.sqrt(displacementX[node] * displacementX[node] + displacementY[node] * displacementY[node]);
+            if (length > 0) {
+                double step = Math.min(length, temperature) / length;
+                x[node] += displacementX[node] * step;
+                y[node] += displacementY[node] * step;
+            }
+        }
+        Arrays.fill(displacementX, 0);
+        Arrays.fill(displacementY, 0);
+
+        temperature *= COOLING;
+        iteration++;
+        return iteration < MAX_ITERATIONS && temperature > IDEAL_LENGTH / 100;
+    }
+
+    /**
+     * Ajoute à {@code node} la répulsion de tous les autres nœuds, approchée par le quadtree.
+     */
+    private void repulse(int node, double k2) {
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int cell = stack[--top];
+            if (cellMass[cell] == 0 || cellBody[cell] == node) continue;
+
+            double dx = x[node] - cellMassX[cell];
+            double dy = y[node] - cellMassY[cell];
+            double distance2 = dx * dx + dy * dy;
+            double size = 2 * cellHalfSize[cell];
+            if (cellFirstChild[cell] < 0 || size * size < THETA * THETA * distance2) {
+                if (distance2 < 1e-6) {
+                    // Nœuds confondus : petite poussée déterministe pour les séparer
+                    dx = 0.01 * ((node % 7) - 3 + 0.5);
+                    dy = 0.01 * ((node % 5) - 2 + 0.5);
+                    distance2 = dx * dx + dy * dy;
+                }
+                double force = k2 * cellMass[cell] / distance2;
+                displacementX[node] += dx * force;
+                displacementY[node] += dy * force;
+            } else {
+                if (top + 4 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+                for (int child = cellFirstChild[cell]; child < cellFirstChild[cell] + 4; child++) {
+                    stack[top++] = child;
+                }
+            }
+        }
+    }
+
+    private void buildQuadtree() {
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int node = 0; node < nodeCount; node++) {
+            minX = Math.min(minX, x[node]);
+            minY = Math.min(minY, y[node]);
+            maxX = Math.max(maxX, x[node]);
+            maxY = Math.max(maxY, y[node]);
+        }
+        cellCount = 0;
+        int root = newCell((minX + maxX) / 2, (minY + maxY) / 2, Math.max(maxX - minX, maxY - minY) / 2 + 1);
+        for (int node = 0; node < nodeCount; node++) {
+            insert(root, node);
+        }
+        // Les sommes pondérées deviennent les centres de masse
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (cellMass[cell] > 0) {
+                cellMassX[cell] /= cellMass[cell];
+                cellMassY[cell] /= cellMass[cell];
+            }
+        }
+    }
+
+    private void insert(int root, int node) {
+        int cell = root;
+        int depth = 0;
+        while (true) {
+            cellMass[cell] += 1;
+            cellMassX[cell] += x[node];
+            cellMassY[cell] += y[node];
+            if (cellFirstChild[cell] < 0) {
+                if (cellBody[cell] == EMPTY) {
+                    cellBody[cell] = node;
+                    return;
+                }
+                if (cellBody[cell] == AGGREGATE || depth >= MAX_DEPTH) {
+                    // Nœuds (presque) confondus : la feuille ne garde que leur masse
+                    cellBody[cell] = AGGREGATE;
+                    return;
+                }
+                int existing = cellBody[cell];
+                subdivide(cell);
+                int child = childFor(cell, existing);
+                cellMass[child] = 1;
+                cellMassX[child] = x[existing];
+                cellMassY[child] = y[existing];
+                cellBody[child] = existing;
+            }
+            cell = childFor(cell, node);
+            depth++;
+        }
+    }
+
+    private void subdivide(int cell) {
+        double half = cellHalfSize[cell] / 2;
+        double centerX = cellCenterX[cell], centerY = cellCenterY[cell];
+        int first = newCell(centerX - half, centerY - half, half);
+        newCell(centerX + half, centerY - half, half);
+        newCell(centerX - half, centerY + half, half);
+        newCell(centerX + half, centerY + half, half);
+        cellFirstChild[cell] = first;
+        cellBody[cell] = EMPTY;
+    }
+
+    private int childFor(int cell, int node) {
+        int quadrant = (x[node] >= cellCenterX[cell] ? 1 : 0) + (y[node] >= cellCenterY[cell] ? 2 : 0);
+        return cellFirstChild[cell] + quadrant;
+    }
+
+    private int newCell(double centerX, double centerY, double halfSize) {
+        if (cellCount == cellBody.length) allocateCells(cellBody.length * 2);
+        int cell = cellCount++;
+        cellCenterX[cell] = centerX;
+        cellCenterY[cell] = centerY;
+        cellHalfSize[cell] = halfSize;
+        cellMass[cell] = 0;
+        cellMassX[cell] = 0;
+        cellMassY[cell] = 0;
+        cellBody[cell] = EMPTY;
+        cellFirstChild[cell] = -1;
+        return cell;
+    }
+
+    private void allocateCells(int capacity) {
+        cellCenterX = cellCenterX == null ? new double[capacity] : Arrays.copyOf(cellCenterX, capacity);
+        cellCenterY = cellCenterY == null ? new double[capacity] : Arrays.copyOf(cellCenterY, capacity);
+        cellHalfSize = cellHalfSize == null ? new double[capacity] : Arrays.copyOf(cellHalfSize, capacity);
+        cellMass = cellMass == null ? new double[capacity] : Arrays.copyOf(cellMass, capacity);
+        cellMassX = cellMassX == null ? new double[capacity] : Arrays.copyOf(cellMassX, capacity);
+        cellMassY = cellMassY == null ? new double[capacity] : Arrays.copyOf(cellMassY, capacity);
+        cellBody = cellBody == null ? new int[capacity] : Arrays.copyOf(cellBody, capacity);
+        cellFirstChild = cellFirstChild == null ? new int[capacity] : Arrays.copyOf(cellFirstChild, capacity);
+    }
+}
@@ -0,0 +1,97 @@
+package com.CodeAnalyzer;
+
+import java.util.Arrays;
+
+/**
+ * Calcul incrémental des positions des nœuds d'un graphe orienté.
+ *
+ * Chaque appel à {@link #iterate()} effectue un pas de l'algorithme et met à jour
+ * {@link #x()} et {@link #y()} : l'appelant peut publier les positions intermédiaires
+ * et s'arrêter à tout moment. Une disposition n'est pas thread-safe ; elle est faite
+ * pour être exécutée par un seul thread (voir {@link LayoutRunner}).
+ */
+abstract class GraphLayout {
+    private static final double SPIRAL_SPACING = 20;
+
+    protected final int nodeCount;
+    protected final int[] sources;
+    protected final int[] targets;
+    protected final double[] x;
+    protected final double[] y;
+    protected int iteration = 0;
+
+    /**
+     * Les arêtes sont les paires {@code sources[i] -> targets[i]} ; les positions initiales sont copiées.
+     */
+    protected GraphLayout(int nodeCount, int[] sources, int[] targets, double[] initialX, double[] initialY) {
+        this.nodeCount = nodeCount;
+        this.sources = sources;
+        this.targets = targets;
+        this.x = Arrays.copyOf(initialX, nodeCount);
+        this.y = Arrays.copyOf(initialY, nodeCount);
+    }
+
+    /**
+     * Effectue une itération ; retourne faux lorsque la disposition est terminée.
+     */
+    abstract boolean iterate();
+
+    /**
+     * Nombre maximal d'itérations, pour l'affichage de l'avancement.
+     */
+    abstract int maxIterations();
+
+    int iteration() {
+        return iteration;
+    }
+
+    double[] x() {
+        return x;
+    }
+
+    double[] y() {
+        return y;
+    }
+
+    /**
+     * Positions sur une spirale de Vogel : disque de densité uniforme, calculé en O(n).
+     * Sert d'affichage immédiat et de point de départ aux autres dispositions.
+     */
+    static double[][] spiral(int count) {
+        double goldenAngle = Math.PI * (3 - Math.sqrt(5));
+        double[] x = new double[count];
+        double[] y = new double[count];
+        for (int i = 0; i < count; i++) {
+            double radius = SPIRAL_SPACING * Math.sqrt(i);
+            x[i] = radius * Math.cos(i * goldenAngle);
+            y[i] = radius * Math.sin(i * goldenAngle);
+        }
+        return new double[][] { x, y };
+    }
+
+    /**
+     * Algorithmes de disposition proposés par la vue du graphe d'appel.
+     */
+    enum Kind {
+        FORCE_DIRECTED("Forces (Barnes-Hut)"),
+        LAYERED("Couches (Sugiyama)");
+
+        private final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+
+        GraphLayout create(int nodeCount, int[] sources, int[] targets, double[] initialX, double[] initialY) {
+            return switch (this) {
+                case FORCE_DIRECTED -> new ForceDirectedLayout(nodeCount, sources, targets, initialX, initialY);
+                case LAYERED -> new LayeredLayout(nodeCount, sources, targets, initialX, initialY);
+            };
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+}
@@ -0,0 +1,495 @@
+package com.CodeAnalyzer;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.IntConsumer;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+/**
+ * Vue d'un graphe orienté dessinée sur un {@link Canvas}.
+ *
+ * Aucun nœud du graphe de scène n'est créé par méthode ou par appel : seuls les nœuds
+ * du rectangle visible, trouvés par un {@link SpatialGrid}, sont dessinés avec leurs
+ * arêtes incidentes. Le niveau de détail dépend du zoom et du nombre de nœuds visibles :
+ * les libellés sont masqués et les arêtes regroupées par cellule d'écran quand la vue est
+ * trop dense. Le déplacement (glisser) et le zoom (molette) ne font que redessiner la vue,
+ * au plus une fois par image ; la sélection d'un nœud passe par l'index spatial.
+ */
+class GraphView extends Region {
+    static final byte STYLE_NORMAL = 0;
+    static final byte STYLE_ROOT = 1;
+    static final byte STYLE_COLLAPSED = 2;
+
+    private static final double NODE_RADIUS = 5;
+    private static final double HIT_RADIUS_PIXELS = 8;
+    private static final double MIN_SCALE = 1e-4;
+    private static final double MAX_SCALE = 20;
+    private static final double LABEL_MIN_SCALE = 0.6;
+    private static final int LABEL_MAX_VISIBLE = 1500;
+    private static final int DETAILED_EDGES_MAX_VISIBLE = 4000;
+    private static final double EDGE_CELL_PIXELS = 12;
+    private static final int MAX_EDGE_BUNDLES = 3000;
+    private static final Color NODE_COLOR = Color.BLACK;
+    private static final Color EDGE_COLOR = Color.gray(0.6, 0.6);
+    private static final Color SELECTION_COLOR = Color.RED;
+    private static final Color ROOT_COLOR = Color.ROYALBLUE;
+    private static final Color COLLAPSED_COLOR = Color.WHITE;
+    private static final Font LABEL_FONT = Font.font(11);
+
+    private final Canvas canvas = new Canvas();
+    private final AnimationTimer repaintTimer;
+    private boolean dirty = true;
+
+    private String[] labels = new String[0];
+    private int nodeCount = 0;
+    private int[] edgeSources = new int[0];
+    private int[] edgeTargets = new int[0];
+    private int[] outOffsets = new int[1];
+    private int[] outEdges = new int[0];
+    private int[] inOffsets = new int[1];
+    private int[] inEdges = new int[0];
+    private double[] x = new double[0];
+    private double[] y = new double[0];
+    private SpatialGrid index = new SpatialGrid(x, y, 0);
+    private boolean[] visibleMask = new boolean[0];  // Remis à faux après chaque rendu
+    private byte[] styles = new byte[0];
+    private WritableImage densityImage;
+    private int[] densityPixels;
+
+    // Transformation : écran = (monde - décalage) * échelle
+    private double offsetX = 0;
+    private double offsetY = 0;
+    private double scale = 1;
+    private double dragX;
+    private double dragY;
+    private boolean dragged;
+    private boolean fitRequested;
+
+    private int selected = -1;
+    private IntConsumer onNodeSelected = node -> { };
+
+    GraphView() {
+        getChildren().add(canvas);
+        repaintTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                if (dirty) {
+                    dirty = false;
+                    paint();
+                }
+            }
+        };
+        sceneProperty().addListener((observable, previous, scene) -> {
+            if (scene != null) repaintTimer.start(); else repaintTimer.stop();
+        });
+
+        setOnMousePressed(event -> {
+            dragX = event.getX();
+            dragY = event.getY();
+            dragged = false;
+        });
+        setOnMouseDragged(event -> {
+            offsetX -= (event.getX() - dragX) / scale;
+            offsetY -= (event.getY() - dragY) / scale;
+            dragX = event.getX();
+            dragY = event.getY();
+            dragged = true;
+            repaint();
+        });
+        setOnMouseClicked(event -> {
+            if (dragged || event.getButton() != MouseButton.PRIMARY) return;
+            select(nodeAt(event.getX(), event.getY()));
+            onNodeSelected.accept(selected);
+        });
+        setOnScroll(event -> {
+            double factor = Math.pow(1.0015, event.getDeltaY());
+            zoom(factor, event.getX(), event.getY());
+        });
+    }
+
+    /**
+     * Remplace le graphe affiché. Les arêtes sont données par paires
+     * {@code sources[i] -> targets[i]} d'indices de nœuds ; les positions sont en coordonnées monde.
+     * Les styles des nœuds conservés (indices inférieurs au nouveau nombre de nœuds) sont gardés.
+     */
+    void setGraph(String[] labels, int[] sources, int[] targets, double[] x, double[] y) {
+        this.labels = labels;
+        this.nodeCount = labels.length;
+        this.edgeSources = sources;
+        this.edgeTargets = targets;
+        this.outOffsets = new int[nodeCount + 1];
+        this.outEdges = incidence(sources, outOffsets);
+        this.inOffsets = new int[nodeCount + 1];
+        this.inEdges = incidence(targets, inOffsets);
+        this.visibleMask = new boolean[nodeCount];
+        this.styles = Arrays.copyOf(styles, nodeCount);
+        if (selected >= nodeCount) selected = -1;
+        setPositions(x, y);
+    }
+
+    /**
+     * Liste d'incidence en CSR : les arêtes du nœud {@code n} sont {@code edges[offsets[n] .. offsets[n + 1]]}.
+     */
+    private int[] incidence(int[] endpoints, int[] offsets) {
+        for (int endpoint : endpoints) {
+            offsets[endpoint + 1]++;
+        }
+        for (int n = 0; n < nodeCount; n++) {
+            offsets[n + 1] += offsets[n];
+        }
+        int[] edges = new int[endpoints.length];
+        int[] cursor = Arrays.copyOf(offsets, nodeCount);
+        for (int e = 0; e < endpoints.length; e++) {
+            edges[cursor[endpoints[e]]++] = e;
+        }
+        return edges;
+    }
+
+    /**
+     * Met à jour les positions des nœuds et reconstruit l'index spatial.
+     */
+    void setPositions(double[] x, double[] y) {
+        this.x = x;
+        this.y = y;
+        this.index = new SpatialGrid(x, y, nodeCount);
+        repaint();
+    }
+
+    /**
+     * Change le style d'un seul nœud : un graphe exploré par étapes ne met à jour que les nœuds modifiés.
+     */
+    void setNodeStyle(int node, byte style) {
+        styles[node] = style;
+        repaint();
+    }
+
+    void clearNodeStyles() {
+        Arrays.fill(styles, STYLE_NORMAL);
+        repaint();
+    }
+
+    int getNodeCount() {
+        return nodeCount;
+    }
+
+    String getLabel(int node) {
+        return labels[node];
+    }
+
+    int getSelected() {
+        return selected;
+    }
+
+    /**
+     * Sélectionne un nœud (-1 pour aucun) ; seule la vue est redessinée.
+     */
+    void select(int node) {
+        selected = node;
+        repaint();
+    }
+
+    /**
+     * Écouteur appelé lors d'un clic, avec le nœud touché ou -1.
+     */
+    void setOnNodeSelected(IntConsumer onNodeSelected) {
+        this.onNodeSelected = onNodeSelected;
+    }
+
+    /**
+     * Ajuste le zoom et le décalage pour afficher tout le graphe.
+     * Avant la première mise en page, l'ajustement est différé jusqu'à ce que la vue ait une taille.
+     */
+    void fitToView() {
+        if (getWidth() <= 0 || getHeight() <= 0) {
+            fitRequested = true;
+            return;
+        }
+        fitRequested = false;
+        if (nodeCount == 0) return;
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < nodeCount; i++) {
+            minX = Math.min(minX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxX = Math.max(maxX, x[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+        double margin = 4 * NODE_RADIUS;
+        scale = clampScale(Math.min(getWidth() / (maxX - minX + 2 * margin), getHeight() / (maxY - minY + 2 * margin)));
+        offsetX = (minX + maxX) / 2 - getWidth() / 2 / scale;
+        offsetY = (minY + maxY) / 2 - getHeight() / 2 / scale;
+        repaint();
+    }
+
+    /**
+     * Centre la vue sur un nœud sans changer le zoom.
+     */
+    void centerOn(int node) {
+        offsetX = x[node] - getWidth() / 2 / scale;
+        offsetY = y[node] - getHeight() / 2 / scale;
+        repaint();
+    }
+
+    /**
+     * Zoome d'un facteur donné autour d'un point de l'écran, qui reste fixe.
+     */
+    void zoom(double factor, double screenX, double screenY) {
+        double worldX = offsetX + screenX / scale;
+        double worldY = offsetY + screenY / scale;
+        scale = clampScale(scale * factor);
+        offsetX = worldX - screenX / scale;
+        offsetY = worldY - screenY / scale;
+        repaint();
+    }
+
+    private static double clampScale(double value) {
+        return Double.isFinite(value) ? Math.max(MIN_SCALE, Math.min(MAX_SCALE, value)) : 1;
+    }
+
+    /**
+     * Nœud sous un point de l'écran, ou -1.
+     */
+    int nodeAt(double screenX, double screenY) {
+        double radius = Math.max(NODE_RADIUS, HIT_RADIUS_PIXELS / scale);
+        return index.nearest(offsetX + screenX / scale, offsetY + screenY / scale, radius);
+    }
+
+    /**
+     * Demande un nouveau rendu ; il aura lieu à la prochaine image.
+     */
+    void repaint() {
+        dirty = true;
+    }
+
+    @Override
+    protected void layoutChildren() {
+        if (canvas.getWidth() != getWidth() || canvas.getHeight() != getHeight()) {
+            canvas.setWidth(getWidth());
+            canvas.setHeight(getHeight());
+            if (fitRequested) fitToView();
+            repaint();
+        }
+    }
+
+    private void paint() {
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        double width = canvas.getWidth(), height = canvas.getHeight();
+        g.clearRect(0, 0, width, height);
+        if (nodeCount == 0) return;
+
+        // Nœuds visibles, avec une marge pour les libellés et les disques coupés par le bord
+        double margin = NODE_RADIUS + 2 / scale;
+        int[] nodes = collectVisible(width, height, margin);
+
+        boolean detailed = nodes.length <= DETAILED_EDGES_MAX_VISIBLE;
+        for (int node : nodes) visibleMask[node] = true;
+        if (detailed) {
+            paintEdges(g, nodes);
+        } else {
+            paintAggregatedEdges(g, nodes);
+        }
+        for (int node : nodes) visibleMask[node] = false;
+        if (detailed) {
+            paintNodes(g, nodes);
+        } else {
+            paintDenseNodes(g, nodes, (int) width, (int) height);
+        }
+        if (detailed && nodes.length <= LABEL_MAX_VISIBLE && scale >= LABEL_MIN_SCALE) {
+            paintLabels(g, nodes);
+        }
+        if (selected >= 0) {
+            paintSelection(g);
+        }
+    }
+
+    private int[] collectVisible(double width, double height, double margin) {
+        int[][] buffer = { new int[256] };
+        int[] count = { 0 };
+        index.query(offsetX - margin, offsetY - margin, offsetX + width / scale + margin, offsetY + height / scale + margin,
+            node -> {
+                if (count[0] == buffer[0].length) buffer[0] = Arrays.copyOf(buffer[0], count[0] * 2);
+                buffer[0][count[0]++] = node;
+            });
+        return Arrays.copyOf(buffer[0], count[0]);
+    }
+
+    private double screenX(int node) {
+        return (x[node] - offsetX) * scale;
+    }
+
+    private double screenY(int node) {
+        return (y[node] - offsetY) * scale;
+    }
+
+    /**
+     * Dessine chaque arête ayant au moins une extrémité visible, une seule fois.
+     */
+    private void paintEdges(GraphicsContext g, int[] nodes) {
+        g.setStroke(EDGE_COLOR);
+        g.setLineWidth(1);
+        g.beginPath();
+        for (int node : nodes) {
+            for (int k = outOffsets[node]; k < outOffsets[node + 1]; k++) {
+                int edge = outEdges[k];
+                g.moveTo(screenX(node), screenY(node));
+                g.lineTo(screenX(edgeTargets[edge]), screenY(edgeTargets[edge]));
+            }
+            for (int k = inOffsets[node]; k < inOffsets[node + 1]; k++) {
+                int source = edgeSources[inEdges[k]];
+                if (visibleMask[source]) continue;  // Déjà dessinée depuis l'appelant
+                g.moveTo(screenX(source), screenY(source));
+                g.lineTo(screenX(node), screenY(node));
+            }
+        }
+        g.stroke();
+    }
+
+    /**
+     * Vue dense : les arêtes sont regroupées par paire de cellules d'écran et
+     * chaque groupe est dessiné comme un seul segment, plus épais s'il est nombreux.
+     */
+    private void paintAggregatedEdges(GraphicsContext g, int[] nodes) {
+        Map<Long, int[]> bundles = new HashMap<>();
+        for (int node : nodes) {
+            for (int k = outOffsets[node]; k < outOffsets[node + 1]; k++) {
+                addToBundle(bundles, node, edgeTargets[outEdges[k]]);
+            }
+            for (int k = inOffsets[node]; k < inOffsets[node + 1]; k++) {
+                int source = edgeSources[inEdges[k]];
+                if (!visibleMask[source]) addToBundle(bundles, source, node);
+            }
+        }
+
+        // Seuls les groupes les plus fournis sont dessinés, un tracé par épaisseur
+        PriorityQueue<Map.Entry<Long, int[]>> heaviest = new PriorityQueue<>(
+            Comparator.comparingInt((Map.Entry<Long, int[]> bundle) -> bundle.getValue()[0]));
+        for (Map.Entry<Long, int[]> bundle : bundles.entrySet()) {
+            heaviest.add(bundle);
+            if (heaviest.size() > MAX_EDGE_BUNDLES) heaviest.poll();
+        }
+        g.setStroke(EDGE_COLOR);
+        for (int lineWidth = 1; lineWidth <= 4; lineWidth++) {
+            g.setLineWidth(lineWidth);
+            g.beginPath();
+            for (Map.Entry<Long, int[]> bundle : heaviest) {
+                if (bundleWidth(bundle.getValue()[0]) != lineWidth) continue;
+                long key = bundle.getKey();
+                g.moveTo(cellCenter((short) (key >>> 48)), cellCenter((short) (key >>> 32)));
+                g.lineTo(cellCenter((short) (key >>> 16)), cellCenter((short) key));
+            }
+            g.stroke();
+        }
+    }
+
+    private static int bundleWidth(int count) {
+        return Math.min(4, 1 + (int) (Math.log(count) / Math.log(4)));
+    }
+
+    private void addToBundle(Map<Long, int[]> bundles, int from, int to) {
+        long key = (cellIndex(screenX(from)) & 0xFFFFL) << 48 | (cellIndex(screenY(from)) & 0xFFFFL) << 32
+            | (cellIndex(screenX(to)) & 0xFFFFL) << 16 | (cellIndex(screenY(to)) & 0xFFFFL);
+        bundles.computeIfAbsent(key, k -> new int[1])[0]++;
+    }
+
+    private static int cellIndex(double screen) {
+        return (int) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.floor(screen / EDGE_CELL_PIXELS)));
+    }
+
+    private static double cellCenter(short cell) {
+        return (cell + 0.5) * EDGE_CELL_PIXELS;
+    }
+
+    private void paintNodes(GraphicsContext g, int[] nodes) {
+        double radius = Math.min(NODE_RADIUS, NODE_RADIUS * Math.sqrt(scale));
+        g.setFill(NODE_COLOR);
+        if (radius < 1.5) {
+            // Vue éloignée : un point par nœud
+            for (int node : nodes) {
+                g.fillRect(screenX(node) - 1, screenY(node) - 1, 2, 2);
+            }
+            return;
+        }
+        for (int node : nodes) {
+            g.fillOval(screenX(node) - radius, screenY(node) - radius, 2 * radius, 2 * radius);
+        }
+        for (int node : nodes) {
+            if (styles[node] == STYLE_ROOT) {
+                g.setFill(ROOT_COLOR);
+                g.fillOval(screenX(node) - 1.5 * radius, screenY(node) - 1.5 * radius, 3 * radius, 3 * radius);
+            } else if (styles[node] == STYLE_COLLAPSED) {
+                // Nœud qui peut encore être déployé : disque évidé
+                g.setFill(COLLAPSED_COLOR);
+                g.fillOval(screenX(node) - radius / 2, screenY(node) - radius / 2, radius, radius);
+            }
+        }
+    }
+
+    /**
+     * Vue dense : les nœuds sont rastérisés dans une image (2 x 2 pixels chacun),
+     * dessinée en une seule commande.
+     */
+    private void paintDenseNodes(GraphicsContext g, int[] nodes, int width, int height) {
+        if (width <= 0 || height <= 0) return;
+        if (densityImage == null || densityImage.getWidth() != width || densityImage.getHeight() != height) {
+            densityImage = new WritableImage(width, height);
+            densityPixels = new int[width * height];
+        } else {
+            Arrays.fill(densityPixels, 0);
+        }
+        int color = 0xFF000000;
+        for (int node : nodes) {
+            int px = (int) screenX(node), py = (int) screenY(node);
+            for (int dy = 0; dy < 2; dy++) {
+                for (int dx = 0; dx < 2; dx++) {
+                    int sx = px + dx, sy = py + dy;
+                    if (sx >= 0 && sx < width && sy >= 0 && sy < height) densityPixels[sy * width + sx] = color;
+                }
+            }
+        }
+        densityImage.getPixelWriter().setPixels(0, 0, width, height,
+            PixelFormat.getIntArgbPreInstance(), densityPixels, 0, width);
+        g.drawImage(densityImage, 0, 0);
+    }
+
+    private void paintLabels(GraphicsContext g, int[] nodes) {
+        g.setFill(NODE_COLOR);
+        g.setFont(LABEL_FONT);
+        g.setTextBaseline(VPos.CENTER);
+        for (int node : nodes) {
+            g.fillText(labels[node], screenX(node) + 2 * NODE_RADIUS, screenY(node));
+        }
+    }
+
+    /**
+     * Met en évidence le nœud sélectionné, ses arêtes et ses voisins : O(degré).
+     */
+    private void paintSelection(GraphicsContext g) {
+        g.setStroke(SELECTION_COLOR);
+        g.setFill(SELECTION_COLOR);
+        g.setLineWidth(1.5);
+        for (int k = outOffsets[selected]; k < outOffsets[selected + 1]; k++) {
+            int target = edgeTargets[outEdges[k]];
+            g.strokeLine(screenX(selected), screenY(selected), screenX(target), screenY(target));
+        }
+        for (int k = inOffsets[selected]; k < inOffsets[selected + 1]; k++) {
+            int source = edgeSources[inEdges[k]];
+            g.strokeLine(screenX(source), screenY(source), screenX(selected), screenY(selected));
+        }
+        g.fillOval(screenX(selected) - NODE_RADIUS, screenY(selected) - NODE_RADIUS, 2 * NODE_RADIUS, 2 * NODE_RADIUS);
+        g.setFont(LABEL_FONT);
+        g.setTextBaseline(VPos.CENTER);
+        g.fillText(labels[selected], screenX(selected) + 2 * NODE_RADIUS, screenY(selected));
+    }
+}
@@ -0,0 +1,57 @@
+package com.CodeAnalyzer;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Rapport au format JSON Lines : un objet JSON par ligne, le type dans le champ {@code type}.
+ */
+class JsonLinesReportWriter extends ReportWriter {
+
+    JsonLinesReportWriter(Writer out) {
+        super(out);
+    }
+
+    @Override
+    void record(String type, Object... fields) throws IOException {
+        out.write("{\"type\":");
+        writeString(type);
+        for (int i = 0; i < fields.length; i += 2) {
+            Object value = fields[i + 1];
+            if (value == null) continue;
+            out.write(',');
+            writeString((String) fields[i]);
+            out.write(':');
+            if (value instanceof Number number) {
+                out.write(formatNumber(number));
+            } else if (value instanceof Boolean) {
+                out.write(value.toString());
+            } else {
+                writeString(value.toString());
+            }
+        }
+        out.write("}\n");
+    }
+
+    private void writeString(String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+                }
+            }
+        }
+        out.write('"');
+    }
+}
@@ -0,0 +1,188 @@
+package com.CodeAnalyzer;
+
+import java.util.Arrays;
+
+/**
+ * Disposition en couches de type Sugiyama, adaptée aux hiérarchies d'appels :
+ * les appelants sont placés au-dessus de leurs appelées.
+ *
+ * À la construction, les arêtes arrière d'un parcours en profondeur (cycles récursifs)
+ * sont ignorées et chaque nœud reçoit la couche de son plus long chemin depuis une racine,
+ * en O(V + E). Chaque itération est ensuite un balayage de l'heuristique du barycentre,
+ * alternativement vers le bas et vers le haut, qui réduit les croisements d'arêtes.
+ * Les arêtes qui franchissent plusieurs couches ne reçoivent pas de nœuds fictifs : elles
+ * contribuent directement au barycentre, ce qui garde la mémoire en O(V + E).
+ */
+final class LayeredLayout extends GraphLayout {
+    private static final int MAX_SWEEPS = 24;
+    private static final double NODE_SPACING = 40;
+    private static final double LAYER_SPACING = 120;
+
+    private final int[] layerOf;
+    private final int[][] layers;
+    private final int[] positionInLayer;
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final int[] inOffsets;
+    private final int[] inSources;
+
+    LayeredLayout(int nodeCount, int[] sources, int[] targets, double[] initialX, double[] initialY) {
+        super(nodeCount, sources, targets, initialX, initialY);
+        this.outOffsets = new int[nodeCount + 1];
+        this.outTargets = adjacency(sources, targets, outOffsets);
+        this.inOffsets = new int[nodeCount + 1];
+        this.inSources = adjacency(targets, sources, inOffsets);
+        this.layerOf = assignLayers();
+
+        int layerCount = 0;
+        for (int layer : layerOf) layerCount = Math.max(layerCount, layer + 1);
+        int[] layerSizes = new int[layerCount];
+        for (int layer : layerOf) layerSizes[layer]++;
+        this.layers = new int[layerCount][];
+        for (int layer = 0; layer < layerCount; layer++) {
+            layers[layer] = new int[layerSizes[layer]];
+        }
+        this.positionInLayer = new int[nodeCount];
+        Arrays.fill(layerSizes, 0);
+        for (int node = 0; node < nodeCount; node++) {
+            int layer = layerOf[node];
+            positionInLayer[node] = layerSizes[layer];
+            layers[layer][layerSizes[layer]++] = node;
+        }
+        updateCoordinates();
+    }
+
+    /**
+     * Listes d'adjacence en CSR, sans les boucles.
+     */
+    private int[] adjacency(int[] from, int[] to, int[] offsets) {
+        for (int e = 0; e < from.length; e++) {
+            if (from[e] != to[e]) offsets[from[e] + 1]++;
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            offsets[node + 1] += offsets[node];
+        }
+        int[] neighbors = new int[offsets[nodeCount]];
+        int[] cursor = Arrays.copyOf(offsets, nodeCount);
+        for (int e = 0; e < from.length; e++) {
+            if (from[e] != to[e]) neighbors[cursor[from[e]]++] = to[e];
+        }
+        return neighbors;
+    }
+
+    /**
+     * Couche de chaque nœud : plus long chemin depuis une racine, arêtes arrière exclues.
+     * Le parcours en profondeur itératif produit un ordre postfixe : en le remontant,
+     * chaque nœud est traité après tous ses appelants du graphe sans cycle.
+     */
+    private int[] assignLayers() {
+        byte[] state = new byte[nodeCount];  // 0 = non visité, 1 = sur la pile, 2 = terminé
+        int[] postOrder = new int[nodeCount];
+        int postCount = 0;
+        int[] stackNode = new int[nodeCount];
+        int[] stackEdge = new int[nodeCount];
+        boolean[] backEdge = new boolean[outTargets.length];
+
+        for (int root = 0; root < nodeCount; root++) {
+            if (state[root] != 0) continue;
+            int top = 0;
+            stackNode[top] = root;
+            stackEdge[top++] = outOffsets[root];
+            state[root] = 1;
+            while (top > 0) {
+                int node = stackNode[top - 1];
+                int edge = stackEdge[top - 1];
+                if (edge < outOffsets[node + 1]) {
+                    stackEdge[top - 1]++;
+                    int child = outTargets[edge];
+                    if (state[child] == 0) {
+                        state[child] = 1;
+                        stackNode[top] = child;
+                        stackEdge[top++] = outOffsets[child];
+                    } else if (state[child] == 1) {
+                        backEdge[edge] = true;
+                    }
+                } else {
+                    state[node] = 2;
+                    postOrder[postCount++] = node;
+                    top--;
+                }
+            }
+        }
+
+        int[] layer = new int[nodeCount];
+        for (int i = postCount - 1; i >= 0; i--) {
+            int node = postOrder[i];
+            for (int e = outOffsets[node]; e < outOffsets[node + 1]; e++) {
+                if (!backEdge[e]) {
+                    layer[outTargets[e]] = Math.max(layer[outTargets[e]], layer[node] + 1);
+                }
+            }
+        }
+        return layer;
+    }
+
+    @Override
+    int maxIterations() {
+        return MAX_SWEEPS;
+    }
+
+    @Override
+    boolean iterate() {
+        if (iteration >= MAX_SWEEPS) return false;
+        boolean downward = iteration % 2 == 0;
+        boolean changed = false;
+        double[] barycenter = new double[nodeCount];
+        if (downward) {
+            for (int layer = 1; layer < layers.length; layer++) {
+                changed |= reorder(layers[layer], barycenter, inOffsets, inSources);
+            }
+        } else {
+            for (int layer = layers.length - 2; layer >= 0; layer--) {
+                changed |= reorder(layers[layer], barycenter, outOffsets, outTargets);
+            }
+        }
+        updateCoordinates();
+        iteration++;
+        // Un balayage dans chaque sens sans changement : l'ordre est stable
+        return iteration < MAX_SWEEPS && (changed || iteration < 2);
+    }
+
+    /**
+     * Trie une couche par barycentre des positions de ses voisins ; un nœud sans voisin garde sa position.
+     */
+    private boolean reorder(int[] layer, double[] barycenter, int[] offsets, int[] neighbors) {
+        for (int node : layer) {
+            double sum = 0;
+            int count = 0;
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                sum += positionInLayer[neighbors[e]];
+                count++;
+            }
+            barycenter[node] = count == 0 ? positionInLayer[node] : sum / count;
+        }
+        Integer[] order = new Integer[layer.length];
+        for (int i = 0; i < layer.length; i++) order[i] = layer[i];
+        Arrays.sort(order, (a, b) -> {
+            int compare = Double.compare(barycenter[a], barycenter[b]);
+            return compare != 0 ? compare : Integer.compare(positionInLayer[a], positionInLayer[b]);
+        });
+        boolean changed = false;
+        for (int i = 0; i < layer.length; i++) {
+            changed |= layer[i] != order[i];
+            layer[i] = order[i];
+            positionInLayer[layer[i]] = i;
+        }
+        return changed;
+    }
+
+    private void updateCoordinates() {
+        for (int layer = 0; layer < layers.length; layer++) {
+            int[] nodes = layers[layer];
+            for (int i = 0; i < nodes.length; i++) {
+                x[nodes[i]] = (i - (nodes.length - 1) / 2.0) * NODE_SPACING;
+                y[nodes[i]] = layer * LAYER_SPACING;
+            }
+        }
+    }
+}
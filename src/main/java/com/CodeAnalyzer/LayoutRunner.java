@@ -0,0 +1,89 @@
+package com.CodeAnalyzer;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Exécute une {@link GraphLayout} sur un thread démon et publie ses positions intermédiaires.
+ *
+ * Un instantané est publié au plus toutes les 100 ms, puis une dernière fois à la fin ou à l'arrêt.
+ * Les instantanés sont fusionnés : si le thread JavaFX est occupé, seul le plus récent est livré.
+ */
+final class LayoutRunner {
+    private static final long PUBLISH_INTERVAL_NANOS = 100_000_000L;
+
+    /**
+     * Positions (copiées) à un instant donné ; {@code complete} est vrai lorsque l'algorithme a convergé.
+     */
+    record Snapshot(double[] x, double[] y, int iteration, int maxIterations, boolean complete) {
+    }
+
+    private final Supplier<GraphLayout> layoutFactory;
+    private final Consumer<Snapshot> onSnapshot;
+    private final AtomicReference<Snapshot> pending = new AtomicReference<>();
+    private volatile GraphLayout layout;
+    private volatile boolean stopped = false;
+
+    /**
+     * La disposition est construite sur le thread de calcul ; {@code onSnapshot} est appelé sur le thread JavaFX.
+     */
+    LayoutRunner(Supplier<GraphLayout> layoutFactory, Consumer<Snapshot> onSnapshot) {
+        this.layoutFactory = layoutFactory;
+        this.onSnapshot = onSnapshot;
+    }
+
+    void start() {
+        Thread thread = new Thread(this::run, "graph-layout");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Demande l'arrêt ; les positions courantes sont publiées une dernière fois.
+     */
+    void stop() {
+        stopped = true;
+    }
+
+    boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * La disposition en cours, ou null tant qu'elle n'est pas construite.
+     */
+    GraphLayout layout() {
+        return layout;
+    }
+
+    private void run() {
+        GraphLayout layout = layoutFactory.get();
+        this.layout = layout;
+        // Une disposition reprise peut encore être utilisée par le thread précédent, le temps d'une itération
+        synchronized (layout) {
+            long lastPublish = System.nanoTime();
+            boolean running = true;
+            while (running && !stopped) {
+                running = layout.iterate();
+                long now = System.nanoTime();
+                if (running && now - lastPublish >= PUBLISH_INTERVAL_NANOS) {
+                    lastPublish = now;
+                    publish(layout, false);
+                }
+            }
+            publish(layout, !running);
+        }
+    }
+
+    private void publish(GraphLayout layout, boolean complete) {
+        Snapshot snapshot = new Snapshot(layout.x().clone(), layout.y().clone(),
+            layout.iteration(), layout.maxIterations(), complete);
+        if (pending.getAndSet(snapshot) == null) {
+            Platform.runLater(() -> onSnapshot.accept(pending.getAndSet(null)));
+        }
+    }
+}
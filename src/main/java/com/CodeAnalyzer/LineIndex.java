@@ -0,0 +1,105 @@
+package com.CodeAnalyzer;
+
+import com.github.javaparser.JavaToken;
+import com.github.javaparser.Range;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Index des lignes d'un fichier construit à partir du flux de jetons de JavaParser.
+ *
+ * Un seul passage sur les jetons marque les lignes qui portent du code et celles qui
+ * portent des commentaires ; des sommes cumulées permettent ensuite d'obtenir les
+ * métriques de n'importe quel nœud en temps constant à partir de sa {@link Range},
+ * sans réimprimer le code ni créer de chaîne. Le mode d'analyse rapide ({@link QuickScanner})
+ * fournit directement les marques de ses propres jetons.
+ */
+final class LineIndex {
+    static final byte CODE = 1;
+    static final byte COMMENT = 2;
+
+    private final int lineCount;
+    private final int[] sourcePrefix;
+    private final int[] commentPrefix;
+
+    private LineIndex(byte[] flags, int lineCount) {
+        this.lineCount = lineCount;
+        this.sourcePrefix = new int[lineCount + 1];
+        this.commentPrefix = new int[lineCount + 1];
+        for (int line = 1; line <= lineCount; line++) {
+            byte flag = flags[line];
+            sourcePrefix[line] = sourcePrefix[line - 1] + ((flag & CODE) != 0 ? 1 : 0);
+            commentPrefix[line] = commentPrefix[line - 1] + (flag == COMMENT ? 1 : 0);
+        }
+    }
+
+    /**
+     * Construit l'index d'une unité de compilation analysée avec conservation des jetons.
+     */
+    static LineIndex of(CompilationUnit cu) {
+        byte[] flags = new byte[64];
+        int lineCount = 0;
+
+        Optional<JavaToken> first = cu.getTokenRange().map(range -> range.getBegin().findFirstToken());
+        for (JavaToken token = first.orElse(null); token != null; token = token.getNextToken().orElse(null)) {
+            if (!token.hasRange() || token.getText().isEmpty()) continue;  // Jeton de fin de fichier
+
+            Range range = token.getRange().get();
+            lineCount = Math.max(lineCount, range.end.line);
+            JavaToken.Category category = token.getCategory();
+            if (category.isWhitespace()) continue;
+
+            byte flag = category.isComment() ? COMMENT : CODE;
+            if (flags.length <= range.end.line) {
+                flags = Arrays.copyOf(flags, Math.max(flags.length * 2, range.end.line + 1));
+            }
+            for (int line = range.begin.line; line <= range.end.line; line++) {
+                flags[line] |= flag;
+            }
+        }
+        if (flags.length <= lineCount) {
+            flags = Arrays.copyOf(flags, lineCount + 1);
+        }
+        return new LineIndex(flags, lineCount);
+    }
+
+    /**
+     * Index construit à partir des marques {@link #CODE} / {@link #COMMENT} de chaque ligne
+     * ({@code flags} indexé à partir de 1, d'au moins {@code lineCount + 1} cases).
+     */
+    static LineIndex of(byte[] flags, int lineCount) {
+        return new LineIndex(flags, lineCount);
+    }
+
+    /**
+     * Métriques du fichier entier.
+     */
+    LineMetrics fileMetrics() {
+        return metrics(1, lineCount);
+    }
+
+    /**
+     * Métriques des lignes couvertes par le nœud (commentaire associé exclu).
+     */
+    LineMetrics metrics(Node node) {
+        return node.getRange()
+            .map(range -> metrics(range.begin.line, range.end.line))
+            .orElseGet(LineMetrics::new);
+    }
+
+    /**
+     * Métriques des lignes {@code beginLine} à {@code endLine} incluses.
+     */
+    LineMetrics metrics(int beginLine, int endLine) {
+        int begin = Math.max(1, beginLine);
+        int end = Math.min(lineCount, endLine);
+        if (end < begin) return new LineMetrics();
+
+        int physical = end - begin + 1;
+        int source = sourcePrefix[end] - sourcePrefix[begin - 1];
+        int comment = commentPrefix[end] - commentPrefix[begin - 1];
+        return new LineMetrics(physical, source, comment, physical - source - comment);
+    }
+}
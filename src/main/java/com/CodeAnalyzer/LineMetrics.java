@@ -0,0 +1,83 @@
+package com.CodeAnalyzer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Métriques de lignes d'une méthode, d'une classe ou d'un fichier.
+ * Chaque ligne physique est comptée dans exactement une catégorie : code source
+ * (au moins un élément de code), commentaire (seulement des commentaires) ou vide.
+ */
+public class LineMetrics {
+    int physical;
+    int source;
+    int comment;
+    int blank;
+
+    LineMetrics() {
+    }
+
+    LineMetrics(int physical, int source, int comment, int blank) {
+        this.physical = physical;
+        this.source = source;
+        this.comment = comment;
+        this.blank = blank;
+    }
+
+    /**
+     * Nombre de lignes physiques (LOC).
+     */
+    public int getPhysical() {
+        return physical;
+    }
+
+    /**
+     * Nombre de lignes contenant du code (SLOC).
+     */
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * Nombre de lignes ne contenant que des commentaires.
+     */
+    public int getComment() {
+        return comment;
+    }
+
+    public int getBlank() {
+        return blank;
+    }
+
+    /**
+     * Ajoute les lignes d'un autre élément (cumul sur un projet).
+     */
+    void add(LineMetrics other) {
+        physical += other.physical;
+        source += other.source;
+        comment += other.comment;
+        blank += other.blank;
+    }
+
+    /**
+     * Retire les lignes d'un élément ajouté auparavant (fichier modifié ou supprimé).
+     */
+    void subtract(LineMetrics other) {
+        physical -= other.physical;
+        source -= other.source;
+        comment -= other.comment;
+        blank -= other.blank;
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeInt(physical);
+        out.writeInt(source);
+        out.writeInt(comment);
+        out.writeInt(blank);
+    }
+
+    static LineMetrics read(DataInput in) throws IOException {
+        return new LineMetrics(in.readInt(), in.readInt(), in.readInt(), in.readInt());
+    }
+}
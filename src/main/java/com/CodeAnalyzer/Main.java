@@ -1,16 +1,21 @@
 package com.CodeAnalyzer;
 
 import java.util.Scanner;
-import javafx.application.Application;
 
 /**
  * Classe principale qui sert de point d'entrée pour l'application.
  * Permet à l'utilisateur de choisir entre l'interface en ligne de commande (CLI) et l'interface graphique (GUI).
+ * Avec des arguments, l'analyse s'exécute en mode batch ({@link BatchCli}) sans charger JavaFX.
  */
 public class Main {
     private static CodeAnalyzer analyzer;
 
     public static void main(String[] args) {
+        if (args.length > 0) {
+            BatchCli.main(args);
+            return;
+        }
+
         Scanner scanner = new Scanner(System.in);
         
         while (true) {
@@ -53,6 +58,7 @@ public class Main {
         }
 
         analyzer = new CodeAnalyzer();
+        analyzer.setParallelism(Runtime.getRuntime().availableProcessors());
         analyzer.analyze(projectPath);
         analyzer.printStatistics();
         analyzer.printCallGraphStatistics();
@@ -108,6 +114,6 @@ public class Main {
      * Lance l'interface graphique (GUI) de l'application.
      */
     private static void launchGUI() {
-        Application.launch(AnalyzerGUI.class);
+        AnalyzerGUI.main(new String[0]);
     }
 }
\ No newline at end of file
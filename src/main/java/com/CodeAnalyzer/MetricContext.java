@@ -0,0 +1,53 @@
+package com.CodeAnalyzer;
+
+import com.github.javaparser.ast.Node;
+
+/**
+ * Accès d'une {@link CodeMetric} à ses emplacements dans la classe ou la méthode courante.
+ *
+ * Un seul contexte sert à tout un fichier : l'extracteur le repositionne avant chaque rappel,
+ * sans allocation. Il ne doit pas être conservé au-delà du rappel.
+ */
+public final class MetricContext {
+    private Node declaration;
+    private int[] values;
+    private Object[] states;
+    private int slot;
+
+    MetricContext() {
+    }
+
+    void point(Node declaration, int[] values, Object[] states, int slot) {
+        this.declaration = declaration;
+        this.values = values;
+        this.states = states;
+        this.slot = slot;
+    }
+
+    /**
+     * Déclaration de la classe ou de la méthode courante.
+     */
+    public Node declaration() {
+        return declaration;
+    }
+
+    public int value() {
+        return values[slot];
+    }
+
+    public void set(int value) {
+        values[slot] = value;
+    }
+
+    public void add(int delta) {
+        values[slot] += delta;
+    }
+
+    /**
+     * État créé par {@link CodeMetric#newState()} pour la classe ou la méthode courante.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T state() {
+        return slot < states.length ? (T) states[slot] : null;
+    }
+}
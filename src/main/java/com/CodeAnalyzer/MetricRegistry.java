@@ -0,0 +1,86 @@
+package com.CodeAnalyzer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * Métriques enregistrées, chargées une fois par {@link ServiceLoader}.
+ *
+ * Chaque métrique reçoit un emplacement fixe dans les tableaux de valeurs de
+ * {@link CodeAnalyzer.ClassInfo} ou de {@link CodeAnalyzer.MethodInfo}, dans l'ordre de découverte.
+ * Les nombres d'attributs et de paramètres sont eux-mêmes des métriques intégrées.
+ */
+final class MetricRegistry {
+    private static final List<CodeMetric> CLASS_METRICS = new ArrayList<>();
+    private static final List<CodeMetric> METHOD_METRICS = new ArrayList<>();
+
+    static {
+        Set<String> names = new HashSet<>();
+        Iterator<CodeMetric> providers = ServiceLoader.load(CodeMetric.class).iterator();
+        while (true) {
+            CodeMetric metric;
+            try {
+                if (!providers.hasNext()) break;
+                metric = providers.next();
+            } catch (ServiceConfigurationError e) {
+                System.err.println("Métrique ignorée : " + e.getMessage());
+                continue;
+            }
+            if (!names.add(metric.name())) {
+                System.err.println("Métrique ignorée, nom déjà utilisé : " + metric.name());
+                continue;
+            }
+            (metric.level() == CodeMetric.Level.CLASS ? CLASS_METRICS : METHOD_METRICS).add(metric);
+        }
+    }
+
+    /** Emplacement du nombre d'attributs dans les valeurs d'une classe. */
+    static final int ATTRIBUTES = slot(CLASS_METRICS, AttributeCountMetric.NAME);
+    /** Emplacement du nombre de paramètres dans les valeurs d'une méthode. */
+    static final int PARAMETERS = slot(METHOD_METRICS, ParameterCountMetric.NAME);
+
+    /**
+     * Empreinte des métriques et de leurs emplacements, enregistrée avec les résultats sérialisés.
+     */
+    static final int SIGNATURE = (names(CLASS_METRICS) + ";" + names(METHOD_METRICS)).hashCode();
+
+    private MetricRegistry() {
+    }
+
+    static List<CodeMetric> classMetrics() {
+        return CLASS_METRICS;
+    }
+
+    static List<CodeMetric> methodMetrics() {
+        return METHOD_METRICS;
+    }
+
+    /**
+     * Emplacement de la métrique nommée, -1 si elle n'est pas enregistrée.
+     */
+    static int slotOf(List<CodeMetric> metrics, String name) {
+        for (int slot = 0; slot < metrics.size(); slot++) {
+            if (metrics.get(slot).name().equals(name)) return slot;
+        }
+        return -1;
+    }
+
+    private static int slot(List<CodeMetric> metrics, String name) {
+        int slot = slotOf(metrics, name);
+        if (slot < 0) throw new IllegalStateException("Métrique intégrée absente : " + name);
+        return slot;
+    }
+
+    private static String names(List<CodeMetric> metrics) {
+        StringBuilder names = new StringBuilder();
+        for (CodeMetric metric : metrics) {
+            names.append(metric.name()).append(',');
+        }
+        return names.toString();
+    }
+}
@@ -0,0 +1,177 @@
+package com.CodeAnalyzer;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+/**
+ * Index des métriques, alimenté pendant la fusion des fichiers analysés.
+ * En mode surveillance, les classes d'un fichier modifié en sont retirées avant d'être remplacées.
+ *
+ * Les classes et méthodes sont conservées dans l'ordre d'analyse et chaque métrique
+ * alimente un histogramme. Les sélections des k meilleurs éléments utilisent un tas
+ * borné (O(n log k)) et départagent les égalités par ordre d'analyse, comme un tri stable ;
+ * les percentiles et maxima se lisent directement dans les histogrammes.
+ */
+class MetricsIndex {
+    private final List<CodeAnalyzer.ClassInfo> classes = new ArrayList<>();
+    private final List<CodeAnalyzer.MethodDetail> methods = new ArrayList<>();
+    private final IntHistogram methodsPerClass = new IntHistogram();
+    private final IntHistogram attributesPerClass = new IntHistogram();
+    private final IntHistogram linesPerMethod = new IntHistogram();
+    private final IntHistogram parametersPerMethod = new IntHistogram();
+
+    /**
+     * Enregistre une classe et ses méthodes.
+     */
+    void add(CodeAnalyzer.ClassInfo classInfo) {
+        classes.add(classInfo);
+        methodsPerClass.add(classInfo.methods.size());
+        attributesPerClass.add(classInfo.attributes());
+        for (CodeAnalyzer.MethodInfo method : classInfo.methods) {
+            methods.add(new CodeAnalyzer.MethodDetail(classInfo.packageName, classInfo.name, method));
+            linesPerMethod.add(method.lines.physical);
+            parametersPerMethod.add(method.parameters());
+        }
+    }
+
+    /**
+     * Retire des classes (et leurs méthodes) : un seul parcours des listes, quel que soit leur nombre.
+     */
+    void removeAll(Collection<CodeAnalyzer.ClassInfo> removed) {
+        if (removed.isEmpty()) return;
+        Set<CodeAnalyzer.ClassInfo> removedClasses = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<CodeAnalyzer.MethodInfo> removedMethods = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (CodeAnalyzer.ClassInfo classInfo : removed) {
+            removedClasses.add(classInfo);
+            methodsPerClass.remove(classInfo.methods.size());
+            attributesPerClass.remove(classInfo.attributes());
+            for (CodeAnalyzer.MethodInfo method : classInfo.methods) {
+                removedMethods.add(method);
+                linesPerMethod.remove(method.lines.physical);
+                parametersPerMethod.remove(method.parameters());
+            }
+        }
+        classes.removeIf(removedClasses::contains);
+        if (!removedMethods.isEmpty()) {
+            methods.removeIf(detail -> removedMethods.contains(detail.method));
+        }
+    }
+
+    List<CodeAnalyzer.ClassInfo> topClassesByMethods(int k) {
+        return topK(classes, k, c -> c.methods.size());
+    }
+
+    List<CodeAnalyzer.ClassInfo> topClassesByAttributes(int k) {
+        return topK(classes, k, c -> c.attributes());
+    }
+
+    List<CodeAnalyzer.MethodDetail> topMethodsByLines(int k) {
+        return topK(methods, k, md -> md.method.lines.physical);
+    }
+
+    IntHistogram methodsPerClass() {
+        return methodsPerClass;
+    }
+
+    IntHistogram attributesPerClass() {
+        return attributesPerClass;
+    }
+
+    IntHistogram linesPerMethod() {
+        return linesPerMethod;
+    }
+
+    IntHistogram parametersPerMethod() {
+        return parametersPerMethod;
+    }
+
+    /**
+     * Sélectionne les k éléments de plus grande valeur, par valeur décroissante puis ordre d'analyse.
+     */
+    private static <T> List<T> topK(List<T> items, int k, ToIntFunction<T> metric) {
+        if (k <= 0 || items.isEmpty()) return Collections.emptyList();
+
+        // Tas min : la racine est l'élément retenu le plus faible (valeur basse, puis analysé le plus tard)
+        Comparator<Integer> weakestFirst = Comparator
+            .comparingInt((Integer i) -> metric.applyAsInt(items.get(i)))
+            .thenComparing(Comparator.<Integer>reverseOrder());
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.min(k, items.size()) + 1, weakestFirst);
+        for (int i = 0; i < items.size(); i++) {
+            if (heap.size() < k) {
+                heap.add(i);
+            } else if (weakestFirst.compare(i, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(i);
+            }
+        }
+
+        List<T> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            result.add(items.get(heap.poll()));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Histogramme de valeurs entières positives : un compteur par valeur.
+     */
+    static class IntHistogram {
+        private int[] counts = new int[16];
+        private long count = 0;
+        private long sum = 0;
+        private int max = 0;
+
+        void add(int value) {
+            if (value < 0) throw new IllegalArgumentException("Valeur négative : " + value);
+            if (value >= counts.length) {
+                counts = Arrays.copyOf(counts, Math.max(counts.length * 2, value + 1));
+            }
+            counts[value]++;
+            count++;
+            sum += value;
+            max = Math.max(max, value);
+        }
+
+        /**
+         * Retire une valeur ajoutée auparavant ; le maximum redescend si c'était sa dernière occurrence.
+         */
+        void remove(int value) {
+            if (value < 0 || value >= counts.length || counts[value] == 0) {
+                throw new IllegalArgumentException("Valeur absente de l'histogramme : " + value);
+            }
+            counts[value]--;
+            count--;
+            sum -= value;
+            while (max > 0 && counts[max] == 0) {
+                max--;
+            }
+        }
+
+        long count() {
+            return count;
+        }
+
+        int max() {
+            return max;
+        }
+
+        double mean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Plus petite valeur v telle qu'au moins p % des valeurs sont inférieures ou égales à v.
+         */
+        int percentile(double p) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(p / 100.0 * count));
+            long cumulative = 0;
+            for (int value = 0; value <= max; value++) {
+                cumulative += counts[value];
+                if (cumulative >= rank) return value;
+            }
+            return max;
+        }
+    }
+}
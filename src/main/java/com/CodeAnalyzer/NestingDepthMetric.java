@@ -0,0 +1,60 @@
+package com.CodeAnalyzer;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.expr.LambdaExpr;
+import com.github.javaparser.ast.expr.SwitchExpr;
+import com.github.javaparser.ast.stmt.*;
+
+/**
+ * Profondeur maximale d'imbrication des structures de contrôle de la méthode
+ * (0 pour un corps linéaire). Un {@code else if} reste au niveau du {@code if} qui le précède ;
+ * une lambda ouvre un niveau.
+ */
+public final class NestingDepthMetric implements CodeMetric {
+
+    @Override
+    public String name() {
+        return "nesting_depth";
+    }
+
+    @Override
+    public Level level() {
+        return Level.METHOD;
+    }
+
+    @Override
+    public Object newState() {
+        return new int[1];  // Profondeur courante
+    }
+
+    @Override
+    public void enter(Node node, MetricContext context) {
+        if (nests(node)) {
+            int depth = ++context.<int[]>state()[0];
+            if (depth > context.value()) context.set(depth);
+        }
+    }
+
+    @Override
+    public void leave(Node node, MetricContext context) {
+        if (nests(node)) {
+            context.<int[]>state()[0]--;
+        }
+    }
+
+    private static boolean nests(Node node) {
+        if (node instanceof IfStmt) {
+            return !(node.getParentNode().orElse(null) instanceof IfStmt parent
+                && parent.getElseStmt().orElse(null) == node);
+        }
+        return node instanceof ForStmt
+            || node instanceof ForEachStmt
+            || node instanceof WhileStmt
+            || node instanceof DoStmt
+            || node instanceof SwitchStmt
+            || node instanceof SwitchExpr
+            || node instanceof TryStmt
+            || node instanceof SynchronizedStmt
+            || node instanceof LambdaExpr;
+    }
+}
@@ -0,0 +1,28 @@
+package com.CodeAnalyzer;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.MethodDeclaration;
+
+/**
+ * Nombre de paramètres de la méthode.
+ */
+public final class ParameterCountMetric implements CodeMetric {
+    static final String NAME = "parameters";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Level level() {
+        return Level.METHOD;
+    }
+
+    @Override
+    public void enter(Node node, MetricContext context) {
+        if (node == context.declaration()) {
+            context.set(((MethodDeclaration) node).getParameters().size());
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.CodeAnalyzer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Résultat partiel d'une analyse fragmentée : les résultats par fichier d'un sous-ensemble
+ * des fichiers du projet, chacun avec son rang dans l'ordre de découverte.
+ *
+ * Chaque fragment parcourt tout le projet (le parcours est trié, donc identique d'une machine à
+ * l'autre) mais n'analyse que les fichiers qu'il sélectionne. La fusion est une union ordonnée
+ * par rang : elle est associative et commutative, et des résultats partiels peuvent être
+ * combinés en arbre. Rejouer les fichiers par rang croissant ({@link CodeAnalyzer#load})
+ * redonne exactement le modèle d'une analyse unique : ordre des classes, des méthodes du
+ * graphe d'appel et des fichiers en échec compris.
+ *
+ * Les chemins sont enregistrés relativement à la racine du projet ; ils sont résolus par
+ * rapport à la racine du premier fragment fusionné.
+ */
+final class PartialAnalysis {
+    private static final int MAGIC = 0x43415052;  // "CAPR"
+    private static final int FORMAT_VERSION = 2;
+
+    private final String root;
+    private int fileCount = -1;   // Fichiers découverts dans tout le projet, connu en fin de parcours
+    private long treeHash;        // Empreinte des chemins découverts, pour refuser des projets différents
+    private int[] ordinals = new int[16];
+    private final List<String> paths = new ArrayList<>();
+    private final List<CodeAnalyzer.FileAnalysis> results = new ArrayList<>();
+
+    PartialAnalysis(Path root) {
+        this(root.toString());
+    }
+
+    private PartialAnalysis(String root) {
+        this.root = root;
+    }
+
+    /**
+     * Fragment {@code index} sur {@code count} : répartition par hachage du chemin relatif,
+     * stable d'une exécution et d'une machine à l'autre.
+     */
+    static Predicate<String> hashShard(int index, int count) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Fragment invalide : " + index + "/" + count);
+        }
+        return relativePath -> Math.floorMod(mix(relativePath.hashCode()), count) == index;
+    }
+
+    /**
+     * Fragment défini par une liste explicite de chemins relatifs à la racine du projet,
+     * un par ligne ; les lignes vides et celles commençant par {@code #} sont ignorées.
+     */
+    static Predicate<String> listShard(Path listFile) throws IOException {
+        Set<String> selected = new HashSet<>();
+        for (String line : Files.readAllLines(listFile, StandardCharsets.UTF_8)) {
+            String path = line.strip().replace('\\', '/');
+            if (path.startsWith("./")) path = path.substring(2);
+            if (!path.isEmpty() && !path.startsWith("#")) selected.add(path);
+        }
+        return selected::contains;
+    }
+
+    /**
+     * Mélange les bits du hachage pour que des chemins voisins se répartissent uniformément.
+     */
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        return hash ^ hash >>> 16;
+    }
+
+    /**
+     * Ajoute le résultat d'un fichier ; les rangs doivent être croissants.
+     */
+    void add(int ordinal, String relativePath, CodeAnalyzer.FileAnalysis result) {
+        int size = results.size();
+        if (size > 0 && ordinals[size - 1] >= ordinal) {
+            throw new IllegalArgumentException("Rangs de fichiers non croissants : " + ordinal);
+        }
+        if (size == ordinals.length) ordinals = Arrays.copyOf(ordinals, size * 2);
+        ordinals[size] = ordinal;
+        paths.add(relativePath);
+        results.add(result);
+    }
+
+    /**
+     * Enregistre la taille et l'empreinte du projet, une fois son parcours terminé.
+     */
+    void complete(int fileCount, long treeHash) {
+        this.fileCount = fileCount;
+        this.treeHash = treeHash;
+    }
+
+    /**
+     * Empreinte d'un parcours : à appeler avec chaque chemin relatif découvert, dans l'ordre.
+     */
+    static long hashPath(long treeHash, String relativePath) {
+        return treeHash * 1_000_003L + relativePath.hashCode();
+    }
+
+    int fileCount() {
+        return fileCount;
+    }
+
+    int size() {
+        return results.size();
+    }
+
+    /**
+     * Vrai si tous les fichiers du projet sont présents.
+     */
+    boolean isComplete() {
+        return results.size() == fileCount;
+    }
+
+    /**
+     * Union de deux résultats partiels du même projet ; un fichier présent dans les deux est une erreur.
+     */
+    static PartialAnalysis merge(PartialAnalysis left, PartialAnalysis right) {
+        if (left.fileCount != right.fileCount || left.treeHash != right.treeHash) {
+            throw new IllegalArgumentException("Les résultats partiels ne proviennent pas du même projet ("
+                + left.fileCount + " et " + right.fileCount + " fichiers découverts)");
+        }
+        PartialAnalysis merged = new PartialAnalysis(left.root);
+        merged.complete(left.fileCount, left.treeHash);
+        int i = 0;
+        int j = 0;
+        while (i < left.size() || j < right.size()) {
+            boolean takeLeft;
+            if (i == left.size()) {
+                takeLeft = false;
+            } else if (j == right.size()) {
+                takeLeft = true;
+            } else if (left.ordinals[i] == right.ordinals[j]) {
+                throw new IllegalArgumentException("Fichier présent dans deux résultats partiels : " + left.paths.get(i));
+            } else {
+                takeLeft = left.ordinals[i] < right.ordinals[j];
+            }
+            PartialAnalysis source = takeLeft ? left : right;
+            int index = takeLeft ? i++ : j++;
+            merged.add(source.ordinals[index], source.paths.get(index), source.results.get(index));
+        }
+        return merged;
+    }
+
+    /**
+     * Parcourt les résultats par rang croissant, leurs chemins résolus par rapport à la racine.
+     */
+    void forEach(Consumer<CodeAnalyzer.FileAnalysis> action) {
+        Path rootPath = Path.of(root);
+        for (int i = 0; i < results.size(); i++) {
+            CodeAnalyzer.FileAnalysis result = results.get(i);
+            String path = rootPath.resolve(paths.get(i)).toString();
+            action.accept(path.equals(result.path) ? result : result.withPath(path));
+        }
+    }
+
+    Path root() {
+        return Path.of(root);
+    }
+
+    /**
+     * Écrit le résultat partiel dans un fichier temporaire, puis le renomme.
+     */
+    void write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(CodeAnalyzer.EXTRACTOR_VERSION);
+            out.writeInt(MetricRegistry.SIGNATURE);
+            out.writeUTF(root);
+            out.writeInt(fileCount);
+            out.writeLong(treeHash);
+            out.writeInt(results.size());
+            for (int i = 0; i < results.size(); i++) {
+                CodeAnalyzer.FileAnalysis result = results.get(i);
+                out.writeInt(ordinals[i]);
+                out.writeUTF(paths.get(i));
+                out.writeBoolean(result.error != null);
+                if (result.error != null) {
+                    out.writeUTF(result.error);
+                } else {
+                    result.write(out);
+                }
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static PartialAnalysis read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Ce fichier n'est pas un résultat partiel : " + file);
+            }
+            if (in.readInt() != FORMAT_VERSION || in.readInt() != CodeAnalyzer.EXTRACTOR_VERSION) {
+                throw new IOException("Résultat partiel d'une autre version de l'analyseur : " + file);
+            }
+            if (in.readInt() != MetricRegistry.SIGNATURE) {
+                throw new IOException("Résultat partiel calculé avec d'autres métriques : " + file);
+            }
+            PartialAnalysis partial = new PartialAnalysis(in.readUTF());
+            partial.complete(in.readInt(), in.readLong());
+            int count = in.readInt();
+            Path rootPath = Path.of(partial.root);
+            for (int i = 0; i < count; i++) {
+                int ordinal = in.readInt();
+                String relativePath = in.readUTF();
+                String path = rootPath.resolve(relativePath).toString();
+                CodeAnalyzer.FileAnalysis result;
+                if (in.readBoolean()) {
+                    result = new CodeAnalyzer.FileAnalysis(path);
+                    result.error = in.readUTF();
+                } else {
+                    result = CodeAnalyzer.FileAnalysis.read(path, in);
+                }
+                partial.add(ordinal, relativePath, result);
+            }
+            return partial;
+        } catch (EOFException | IllegalArgumentException e) {
+            throw new IOException("Résultat partiel tronqué ou corrompu : " + file);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.CodeAnalyzer;
+
+/**
+ * Compteurs de l'étage de lecture anticipée d'une analyse (voir {@link CodeAnalyzer#getPipelineStatistics()}).
+ *
+ * {@code readNanos} est le temps passé par le thread d'E/S à lire les fichiers et
+ * {@code backpressureNanos} celui où il a attendu, faute de place, que l'analyse libère des contenus.
+ * {@code ioWaitNanos} est le temps où l'analyse a attendu un fichier pas encore lu, et
+ * {@code parseNanos} le temps d'analyse des fichiers, cumulé sur tous les threads, et
+ * {@code elapsedNanos} la durée totale de l'analyse.
+ */
+public record PipelineStatistics(
+    int filesRead,
+    long bytesRead,
+    int mappedFiles,
+    long readNanos,
+    long backpressureNanos,
+    long ioWaitNanos,
+    long parseNanos,
+    long peakBufferedBytes,
+    long elapsedNanos
+) {
+
+    /**
+     * Part de la durée de l'analyse passée à attendre un fichier pas encore lu.
+     */
+    public double ioWaitRatio() {
+        return elapsedNanos == 0 ? 0 : (double) ioWaitNanos / elapsedNanos;
+    }
+
+    /**
+     * Vrai si la lecture limite l'analyse : l'analyse a attendu les fichiers plus de la moitié du temps.
+     */
+    public boolean ioBound() {
+        return ioWaitRatio() > 0.5;
+    }
+}
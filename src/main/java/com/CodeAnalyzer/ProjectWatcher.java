@@ -0,0 +1,221 @@
+package com.CodeAnalyzer;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Surveille un projet déjà analysé et tient son modèle à jour au fil des modifications.
+ *
+ * Les répertoires retenus par la découverte sont enregistrés auprès d'un {@link WatchService},
+ * y compris ceux créés ensuite. Les événements sont regroupés : un lot est traité après
+ * {@link #QUIET_MILLIS} ms sans nouvel événement, ou au plus tard {@link #MAX_DELAY_MILLIS} ms
+ * après le premier, puis seuls les fichiers concernés sont relus par
+ * {@link CodeAnalyzer#update(java.util.Collection)}. La mise à jour et l'appel de l'écouteur se font
+ * en tenant le verrou de l'analyseur : les lecteurs du modèle se synchronisent sur lui. Le cache
+ * d'analyse est enregistré après {@link #SAVE_DELAY_MILLIS} ms sans modification, et à l'arrêt.
+ *
+ * Un changement de fichier {@code .gitignore} ne s'applique qu'aux fichiers modifiés ensuite.
+ */
+final class ProjectWatcher implements Closeable {
+    static final long QUIET_MILLIS = 200;
+    static final long MAX_DELAY_MILLIS = 2000;
+    static final long SAVE_DELAY_MILLIS = 5000;
+
+    /**
+     * Lot traité : fichiers relus ou retirés, résultats après mise à jour et durée de la mise à jour.
+     */
+    record Update(List<Path> files, AnalysisResult result, long durationNanos) {
+    }
+
+    private final CodeAnalyzer analyzer;
+    private final Path root;
+    private final Consumer<Update> listener;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private volatile boolean closed = false;
+
+    /**
+     * {@code analyzer} doit avoir analysé {@code root} en mode incrémental ;
+     * {@code listener} est appelé sur le thread de surveillance après chaque lot.
+     */
+    ProjectWatcher(CodeAnalyzer analyzer, Path root, Consumer<Update> listener) throws IOException {
+        if (!analyzer.isIncremental()) {
+            throw new IllegalArgumentException("L'analyseur doit être en mode incrémental");
+        }
+        this.analyzer = analyzer;
+        this.root = root;
+        this.listener = listener;
+        this.watchService = root.getFileSystem().newWatchService();
+        register(root, null);
+    }
+
+    /**
+     * Surveille le projet sur un thread démon.
+     */
+    void start() {
+        Thread thread = new Thread(() -> {
+            try {
+                run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "project-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Surveille le projet sur le thread appelant, jusqu'à {@link #close()} ou une interruption.
+     */
+    void run() throws InterruptedException {
+        Set<Path> changed = new LinkedHashSet<>();
+        long firstEvent = 0;
+        long lastEvent = 0;
+        boolean unsaved = false;
+        try {
+            while (!closed) {
+                WatchKey key;
+                if (changed.isEmpty()) {
+                    key = unsaved ? watchService.poll(SAVE_DELAY_MILLIS, TimeUnit.MILLISECONDS) : watchService.take();
+                    if (key == null) {
+                        analyzer.saveCache();
+                        unsaved = false;
+                        continue;
+                    }
+                } else {
+                    long now = System.currentTimeMillis();
+                    long wait = Math.min(lastEvent + QUIET_MILLIS, firstEvent + MAX_DELAY_MILLIS) - now;
+                    key = wait > 0 ? watchService.poll(wait, TimeUnit.MILLISECONDS) : null;
+                }
+                if (key == null) {
+                    unsaved |= process(changed);
+                    changed.clear();
+                    continue;
+                }
+
+                if (changed.isEmpty()) firstEvent = System.currentTimeMillis();
+                lastEvent = System.currentTimeMillis();
+                Path directory = directories.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // Des événements ont été perdus : tout le projet est comparé au modèle
+                        rescan(changed);
+                    } else if (directory != null) {
+                        Path path = directory.resolve((Path) event.context());
+                        changed.add(path);
+                        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+                                && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                            register(path, changed);
+                        }
+                    }
+                }
+                if (!key.reset()) {
+                    directories.remove(key);
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // Fermé par close()
+        } finally {
+            if (unsaved) analyzer.saveCache();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        watchService.close();
+    }
+
+    /**
+     * Enregistre {@code start} et ses sous-répertoires retenus par la découverte. Les fichiers
+     * trouvés sont ajoutés à {@code files} : ceux d'un répertoire créé ou déplacé dans le projet
+     * n'ont pas d'événement propre.
+     */
+    private void register(Path start, Set<Path> files) {
+        SourceDiscovery discovery = analyzer.getDiscovery();
+        try {
+            Files.walkFileTree(start, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) throws IOException {
+                    if (!dir.equals(root) && !discovery.accepts(root, dir)) return FileVisitResult.SKIP_SUBTREE;
+                    directories.put(dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY), dir);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    if (files != null) files.add(file);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Impossible de surveiller " + start + " : " + e.getMessage());
+        }
+    }
+
+    private void rescan(Set<Path> changed) {
+        synchronized (analyzer) {
+            for (String file : analyzer.getTrackedFiles()) {
+                changed.add(Path.of(file));
+            }
+        }
+        register(root, changed);
+    }
+
+    /**
+     * Relit les fichiers d'un lot. Un chemin supprimé retire aussi les fichiers suivis sous lui
+     * (répertoire supprimé ou déplacé hors du projet). Retourne vrai si le modèle a été mis à jour.
+     */
+    private boolean process(Set<Path> changed) {
+        long start = System.nanoTime();
+        SourceDiscovery discovery = analyzer.getDiscovery();
+        synchronized (analyzer) {
+            Set<String> tracked = analyzer.getTrackedFiles();
+            Set<Path> files = new LinkedHashSet<>();
+            for (Path path : changed) {
+                if (tracked.contains(path.toString())) {
+                    files.add(path);
+                } else if (Files.isRegularFile(path)) {
+                    if (discovery.accepts(root, path)) files.add(path);
+                } else if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+                    String prefix = path + File.separator;
+                    for (String file : tracked) {
+                        if (file.startsWith(prefix)) files.add(Path.of(file));
+                    }
+                }
+            }
+            if (files.isEmpty()) return false;
+
+            List<Path> batch = new ArrayList<>(files);
+            analyzer.update(batch);
+            listener.accept(new Update(batch, analyzer.getResult(), System.nanoTime() - start));
+            return true;
+        }
+    }
+}
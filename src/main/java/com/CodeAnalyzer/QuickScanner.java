@@ -0,0 +1,460 @@
+package com.CodeAnalyzer;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Set;
+
+/**
+ * Analyse rapide d'un fichier Java, sans construire d'AST.
+ *
+ * Un analyseur lexical minimal découpe le fichier en identificateurs, ponctuations et littéraux
+ * (les commentaires et les blancs ne servent qu'au décompte des lignes), puis une pile de blocs
+ * reconnaît le package, les déclarations de types, de méthodes et d'attributs. Le résultat a la
+ * même forme que celui de {@link SourceExtractor} pour les classes, méthodes, attributs, paramètres
+ * et lignes, mais sans appels ni métriques enfichables autres que les nombres d'attributs et de
+ * paramètres. Seules les erreurs lexicales et les accolades déséquilibrées sont signalées :
+ * un fichier syntaxiquement invalide peut être compté là où l'analyse complète l'écarterait.
+ * Une instance n'est utilisable que pour un seul fichier.
+ */
+final class QuickScanner {
+    private static final byte IDENTIFIER = 0;
+    private static final byte PUNCTUATION = 1;
+    private static final byte LITERAL = 2;
+
+    private static final int TOP = 0;
+    private static final int TYPE = 1;
+    private static final int METHOD = 2;
+    private static final int BLOCK = 3;
+
+    private static final Set<String> MODIFIERS = Set.of("public", "protected", "private", "static", "final",
+        "abstract", "native", "synchronized", "transient", "volatile", "strictfp", "default", "sealed", "non-sealed");
+
+    private final char[] text;
+    private final CodeAnalyzer.FileAnalysis result;
+
+    // Jetons significatifs : nature, début, fin (exclue) et ligne de début
+    private byte[] kinds = new byte[256];
+    private int[] starts = new int[256];
+    private int[] ends = new int[256];
+    private int[] lines = new int[256];
+    private int count;
+
+    private byte[] lineFlags = new byte[64];
+    private LineIndex lineIndex;
+
+    private QuickScanner(char[] text, CodeAnalyzer.FileAnalysis result) {
+        this.text = text;
+        this.result = result;
+    }
+
+    /**
+     * Analyse le contenu d'un fichier ; une erreur est rapportée dans le résultat.
+     */
+    static CodeAnalyzer.FileAnalysis scan(String path, byte[] content, Charset charset) {
+        return scan(path, ByteBuffer.wrap(content), charset);
+    }
+
+    /**
+     * Variante pour un contenu en tampon, décodé sans copie intermédiaire.
+     */
+    static CodeAnalyzer.FileAnalysis scan(String path, ByteBuffer content, Charset charset) {
+        CodeAnalyzer.FileAnalysis result = new CodeAnalyzer.FileAnalysis(path);
+        try {
+            CharBuffer chars = charset.decode(content);
+            char[] text = chars.limit() == chars.capacity() ? chars.array() : Arrays.copyOf(chars.array(), chars.limit());
+            new QuickScanner(text, result).scan();
+        } catch (IllegalStateException e) {
+            result.error = e.getMessage();
+            result.packageName = null;
+            result.classes.clear();
+        }
+        return result;
+    }
+
+    private void scan() {
+        int lineCount = tokenize();
+        lineIndex = LineIndex.of(Arrays.copyOf(lineFlags, Math.max(lineFlags.length, lineCount + 1)), lineCount);
+        result.lines = lineIndex.fileMetrics();
+        parse();
+    }
+
+    // --- Reconnaissance des déclarations ---
+
+    private void parse() {
+        Deque<Frame> frames = new ArrayDeque<>();
+        Frame frame = new Frame(TOP, null, null, 0);
+        for (int t = 0; t < count; t++) {
+            if (frame.segment < 0 && !isPunctuation(t, ';') && !isPunctuation(t, '}')) frame.segment = t;
+            if (kinds[t] == IDENTIFIER) {
+                if (frame.kind == TOP && result.packageName == null && is(t, "package")) {
+                    t = readPackage(t);
+                    frame.segment = -1;
+                } else if (!typeDeclaration(frame, t) && frame.tracksMember()) {
+                    memberIdentifier(frame, t);
+                }
+            } else if (kinds[t] == PUNCTUATION) {
+                char c = text[starts[t]];
+                if (c == '@' && t + 1 < count && kinds[t + 1] == IDENTIFIER && !is(t + 1, "interface")) {
+                    t = skipAnnotation(t);
+                } else if (c == '{') {
+                    frames.push(frame);
+                    frame = open(frame);
+                } else if (c == '}') {
+                    if (frames.isEmpty()) throw new IllegalStateException("Accolade fermante en trop ligne " + lines[t]);
+                    Frame closed = frame;
+                    frame = frames.pop();
+                    close(closed, frame, t);
+                } else if (c == ';') {
+                    endStatement(frame, t);
+                } else if (frame.tracksMember()) {
+                    memberPunctuation(frame, t, c);
+                }
+            }
+        }
+        if (!frames.isEmpty()) throw new IllegalStateException("Accolade non fermée en fin de fichier");
+    }
+
+    /**
+     * Mot-clé de déclaration de type suivi de son nom : le type s'ouvrira à la prochaine accolade.
+     * Seules les classes et interfaces produisent des {@link CodeAnalyzer.ClassInfo}.
+     */
+    private boolean typeDeclaration(Frame frame, int t) {
+        if (t + 1 >= count || kinds[t + 1] != IDENTIFIER || (t > 0 && isPunctuation(t - 1, '.'))) return false;
+        boolean classOrInterface;
+        if (is(t, "class")) {
+            classOrInterface = true;
+        } else if (is(t, "interface")) {
+            classOrInterface = !(t > 0 && isPunctuation(t - 1, '@'));
+        } else if (is(t, "enum")) {
+            classOrInterface = false;
+        } else if (is(t, "record") && t + 2 < count && (isPunctuation(t + 2, '(') || isPunctuation(t + 2, '<'))) {
+            classOrInterface = false;
+        } else {
+            return false;
+        }
+        frame.pendingType = t + 1;
+        frame.pendingClass = classOrInterface;
+        return true;
+    }
+
+    private Frame open(Frame parent) {
+        Frame child;
+        if (parent.pendingType >= 0) {
+            CodeAnalyzer.ClassInfo classInfo = null;
+            if (parent.pendingClass) {
+                classInfo = new CodeAnalyzer.ClassInfo(text(parent.pendingType));
+                result.classes.add(classInfo);
+            }
+            child = new Frame(TYPE, classInfo, null, lines[parent.segment]);
+            parent.pendingType = -1;
+        } else if (parent.tracksMember() && parent.signature == SIGNATURE_CLOSED && !parent.assigned) {
+            child = new Frame(METHOD, null, parent.method ? addMethod(parent) : null, lines[parent.segment]);
+        } else {
+            child = new Frame(BLOCK, null, null, 0);
+        }
+        return child;
+    }
+
+    private void close(Frame closed, Frame parent, int t) {
+        if (closed.kind == TYPE && closed.classInfo != null) {
+            closed.classInfo.lines = lineIndex.metrics(closed.beginLine, lines[t]);
+        } else if (closed.kind == METHOD && closed.methodInfo != null) {
+            closed.methodInfo.lines = lineIndex.metrics(closed.beginLine, lines[t]);
+        }
+        // Un bloc dans l'initialisation d'un attribut (tableau, classe anonyme, lambda) ne termine pas le membre
+        if (!(parent.tracksMember() && closed.kind == BLOCK && parent.assigned)) {
+            parent.reset();
+        }
+    }
+
+    private void endStatement(Frame frame, int t) {
+        if (frame.tracksMember() && frame.parens == 0) {
+            if (frame.signature == SIGNATURE_CLOSED) {
+                if (frame.method) addMethod(frame).lines = lineIndex.metrics(lines[frame.segment], lines[t]);
+            } else if (frame.segment >= 0 && frame.signature == NO_SIGNATURE) {
+                frame.classInfo.metrics[MetricRegistry.ATTRIBUTES]++;
+            }
+        }
+        frame.reset();
+    }
+
+    private CodeAnalyzer.MethodInfo addMethod(Frame frame) {
+        CodeAnalyzer.MethodInfo methodInfo = new CodeAnalyzer.MethodInfo(text(frame.name), null);
+        methodInfo.metrics[MetricRegistry.PARAMETERS] = frame.parameters;
+        frame.classInfo.methods.add(methodInfo);
+        return methodInfo;
+    }
+
+    /**
+     * Dans l'en-tête d'un membre, les identificateurs hors modificateurs et hors arguments de type
+     * précèdent la parenthèse d'une méthode (type de retour et nom) ou d'un constructeur (nom seul).
+     */
+    private void memberIdentifier(Frame frame, int t) {
+        if (frame.signature == NO_SIGNATURE) {
+            if (!frame.assigned && frame.parens == 0 && frame.angles == 0 && !MODIFIERS.contains(text(t))) {
+                frame.identifiers++;
+            }
+        } else if (frame.signature == IN_PARAMETERS && frame.parens == 1) {
+            frame.parameterSeen = true;
+            if (is(t, "this")) frame.receiver = true;  // Paramètre receveur, absent de la liste des paramètres
+        }
+    }
+
+    private void memberPunctuation(Frame frame, int t, char c) {
+        boolean header = frame.signature == NO_SIGNATURE && !frame.assigned && frame.parens == 0;
+        boolean parameters = frame.signature == IN_PARAMETERS && frame.parens == 1;
+        switch (c) {
+            case '(' -> {
+                if (header && kinds[t - 1] == IDENTIFIER) {
+                    frame.signature = IN_PARAMETERS;
+                    frame.name = t - 1;
+                    frame.method = frame.identifiers >= 2;
+                    frame.angles = 0;
+                }
+                frame.parens++;
+            }
+            case ')' -> {
+                frame.parens--;
+                if (frame.signature == IN_PARAMETERS && frame.parens == 0) {
+                    frame.signature = SIGNATURE_CLOSED;
+                    frame.parameters = frame.parameterSeen ? frame.commas + 1 - (frame.receiver ? 1 : 0) : 0;
+                }
+            }
+            case '<' -> {
+                if (header || parameters) frame.angles++;
+            }
+            case '>' -> {
+                if (header || parameters) frame.angles--;
+            }
+            case ',' -> {
+                if (parameters && frame.angles == 0) frame.commas++;
+            }
+            case '=' -> {
+                if (header) frame.assigned = true;
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Saute une annotation ({@code @Nom}, {@code @a.b.Nom(...)}) ; renvoie son dernier jeton.
+     */
+    private int skipAnnotation(int t) {
+        int last = t + 1;
+        while (last + 2 < count && isPunctuation(last + 1, '.') && kinds[last + 2] == IDENTIFIER) last += 2;
+        if (last + 1 < count && isPunctuation(last + 1, '(')) {
+            int depth = 0;
+            for (int k = last + 1; k < count; k++) {
+                if (isPunctuation(k, '(')) depth++;
+                else if (isPunctuation(k, ')') && --depth == 0) return k;
+            }
+            throw new IllegalStateException("Parenthèse non fermée ligne " + lines[t]);
+        }
+        return last;
+    }
+
+    private int readPackage(int t) {
+        StringBuilder name = new StringBuilder();
+        int k = t + 1;
+        for (; k < count && !isPunctuation(k, ';'); k++) {
+            if (kinds[k] == IDENTIFIER || isPunctuation(k, '.')) name.append(text, starts[k], ends[k] - starts[k]);
+        }
+        result.packageName = name.toString();
+        return k;
+    }
+
+    private boolean is(int t, String word) {
+        return kinds[t] == IDENTIFIER && ends[t] - starts[t] == word.length() && regionIs(starts[t], word);
+    }
+
+    private boolean isPunctuation(int t, char c) {
+        return kinds[t] == PUNCTUATION && text[starts[t]] == c;
+    }
+
+    private String text(int t) {
+        return new String(text, starts[t], ends[t] - starts[t]);
+    }
+
+    private static final int NO_SIGNATURE = 0;
+    private static final int IN_PARAMETERS = 1;
+    private static final int SIGNATURE_CLOSED = 2;
+
+    /**
+     * Bloc ouvert par une accolade, avec l'instruction ou le membre en cours dans ce bloc.
+     * Dans le corps d'une classe ou d'une interface, l'en-tête du membre en cours est suivi
+     * jusqu'à son accolade ou son point-virgule.
+     */
+    private static final class Frame {
+        final int kind;
+        final CodeAnalyzer.ClassInfo classInfo;    // TYPE : null pour une énumération, un record ou une annotation
+        final CodeAnalyzer.MethodInfo methodInfo;  // METHOD : null pour un constructeur
+        final int beginLine;
+        int segment = -1;       // Premier jeton du membre ou de l'instruction en cours
+        int pendingType = -1;   // Nom d'un type déclaré, ouvert à la prochaine accolade
+        boolean pendingClass;
+        int parens;
+        int angles;
+        int identifiers;
+        int signature;
+        int name;
+        boolean method;
+        boolean assigned;
+        int commas;
+        boolean parameterSeen;
+        boolean receiver;
+        int parameters;
+
+        Frame(int kind, CodeAnalyzer.ClassInfo classInfo, CodeAnalyzer.MethodInfo methodInfo, int beginLine) {
+            this.kind = kind;
+            this.classInfo = classInfo;
+            this.methodInfo = methodInfo;
+            this.beginLine = beginLine;
+        }
+
+        /**
+         * Vrai si le bloc est le corps d'une classe ou interface et qu'aucun type imbriqué n'est en cours de déclaration.
+         */
+        boolean tracksMember() {
+            return kind == TYPE && classInfo != null && pendingType < 0;
+        }
+
+        void reset() {
+            segment = -1;
+            pendingType = -1;
+            parens = 0;
+            angles = 0;
+            identifiers = 0;
+            signature = NO_SIGNATURE;
+            method = false;
+            assigned = false;
+            commas = 0;
+            parameterSeen = false;
+            receiver = false;
+            parameters = 0;
+        }
+    }
+
+    // --- Analyse lexicale ---
+
+    private int tokenize() {
+        int length = text.length;
+        int line = 1;
+        int lastLine = 0;
+        int i = 0;
+        while (i < length) {
+            char c = text[i];
+            lastLine = line;
+            if (c == '\n' || c == '\r') {
+                i += c == '\r' && i + 1 < length && text[i + 1] == '\n' ? 2 : 1;
+                line++;
+            } else if (Character.isWhitespace(c) || c == '\uFEFF' || c == '\u001A') {
+                i++;
+            } else if (c == '/' && i + 1 < length && text[i + 1] == '/') {
+                while (i < length && text[i] != '\n' && text[i] != '\r') i++;
+                mark(line, line, LineIndex.COMMENT);
+            } else if (c == '/' && i + 1 < length && text[i + 1] == '*') {
+                int begin = line;
+                i += 2;
+                while (true) {
+                    if (i + 1 >= length) throw new IllegalStateException("Commentaire non terminé ligne " + begin);
+                    char d = text[i];
+                    if (d == '*' && text[i + 1] == '/') {
+                        i += 2;
+                        break;
+                    }
+                    if (d == '\n' || d == '\r') {
+                        i += d == '\r' && text[i + 1] == '\n' ? 2 : 1;
+                        line++;
+                    } else {
+                        i++;
+                    }
+                }
+                lastLine = line;
+                mark(begin, line, LineIndex.COMMENT);
+            } else if (c == '"' || c == '\'') {
+                int begin = line;
+                int start = i;
+                boolean textBlock = c == '"' && i + 2 < length && text[i + 1] == '"' && text[i + 2] == '"';
+                i += textBlock ? 3 : 1;
+                while (true) {
+                    if (i >= length) throw new IllegalStateException("Littéral non terminé ligne " + begin);
+                    char d = text[i];
+                    if (d == '\\') {
+                        i += 2;
+                    } else if (textBlock ? d == '"' && i + 2 < length && text[i + 1] == '"' && text[i + 2] == '"' : d == c) {
+                        i += textBlock ? 3 : 1;
+                        break;
+                    } else if (d == '\n' || d == '\r') {
+                        if (!textBlock) throw new IllegalStateException("Littéral non terminé ligne " + begin);
+                        i += d == '\r' && i + 1 < length && text[i + 1] == '\n' ? 2 : 1;
+                        line++;
+                    } else {
+                        i++;
+                    }
+                }
+                lastLine = line;
+                add(LITERAL, start, i, begin, line);
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int start = i;
+                while (i < length && Character.isJavaIdentifierPart(text[i])) i++;
+                if (i - start == 3 && regionIs(start, "non") && regionIs(i, "-sealed")) i += 7;
+                add(IDENTIFIER, start, i, line, line);
+            } else if (Character.isDigit(c) || (c == '.' && i + 1 < length && Character.isDigit(text[i + 1]))) {
+                int start = i;
+                while (i < length) {
+                    char d = text[i];
+                    if (Character.isLetterOrDigit(d) || d == '_' || d == '.') {
+                        i++;
+                    } else if ((d == '+' || d == '-') && "eEpP".indexOf(text[i - 1]) >= 0) {
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                add(LITERAL, start, i, line, line);
+            } else {
+                add(PUNCTUATION, i, i + 1, line, line);
+                i++;
+            }
+        }
+        return lastLine;
+    }
+
+    private boolean regionIs(int offset, String word) {
+        if (offset + word.length() > text.length) return false;
+        for (int i = 0; i < word.length(); i++) {
+            if (text[offset + i] != word.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private void add(byte kind, int start, int end, int beginLine, int endLine) {
+        if (count == kinds.length) {
+            int capacity = count * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            lines = Arrays.copyOf(lines, capacity);
+        }
+        kinds[count] = kind;
+        starts[count] = start;
+        ends[count] = end;
+        lines[count] = beginLine;
+        count++;
+        mark(beginLine, endLine, LineIndex.CODE);
+    }
+
+    private void mark(int beginLine, int endLine, byte flag) {
+        if (lineFlags.length <= endLine) {
+            lineFlags = Arrays.copyOf(lineFlags, Math.max(lineFlags.length * 2, endLine + 1));
+        }
+        for (int line = beginLine; line <= endLine; line++) {
+            lineFlags[line] |= flag;
+        }
+    }
+}
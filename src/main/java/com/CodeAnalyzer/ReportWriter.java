@@ -0,0 +1,65 @@
+package com.CodeAnalyzer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Écriture en flux des enregistrements d'un rapport d'analyse.
+ *
+ * Chaque enregistrement est écrit dès sa production, sans être conservé : la mémoire
+ * utilisée ne dépend pas de la taille du rapport. Un enregistrement a un type
+ * ({@code summary}, {@code class}, {@code method}, {@code metric}, {@code call}, {@code failure}, {@code update},
+ * et avec l'analyse d'accessibilité {@code unreachable_method}, {@code unreachable_class},
+ * {@code transitive}, {@code closure})
+ * et une suite de champs nommés, passés en paires nom / valeur.
+ */
+abstract class ReportWriter implements AutoCloseable {
+    protected final Writer out;
+
+    protected ReportWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Crée l'écrivain correspondant au format demandé ({@code jsonl} ou {@code csv}).
+     */
+    static ReportWriter create(String format, Writer out) throws IOException {
+        switch (format.toLowerCase(Locale.ROOT)) {
+            case "jsonl":
+            case "json":
+                return new JsonLinesReportWriter(out);
+            case "csv":
+                return new CsvReportWriter(out);
+            default:
+                throw new IllegalArgumentException("Format de rapport inconnu : " + format);
+        }
+    }
+
+    /**
+     * Écrit un enregistrement ; {@code fields} alterne noms et valeurs, les valeurs nulles sont omises.
+     */
+    abstract void record(String type, Object... fields) throws IOException;
+
+    /**
+     * Transmet les enregistrements déjà écrits (mode surveillance, rapport sans fin).
+     */
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Formate un nombre indépendamment de la locale ; les décimaux gardent deux chiffres.
+     */
+    static String formatNumber(Number value) {
+        if (value instanceof Double || value instanceof Float) {
+            return String.format(Locale.ROOT, "%.2f", value.doubleValue());
+        }
+        return value.toString();
+    }
+}
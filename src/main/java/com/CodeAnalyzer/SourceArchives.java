@@ -0,0 +1,75 @@
+package com.CodeAnalyzer;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Archives {@code .jar} et {@code .zip} lues sur place par le système de fichiers zip du JDK.
+ *
+ * Les entrées d'une archive sont des {@link Path} ordinaires, lus sans extraction : une archive
+ * contenue dans une autre est ouverte à partir de son entrée, en mémoire. Chaque archive ouverte
+ * retient le chemin dont elle provient, pour nommer ses entrées {@code archive.jar!/a/B.java}.
+ */
+final class SourceArchives {
+    private static final Map<FileSystem, Path> ORIGINS = new ConcurrentHashMap<>();
+
+    private SourceArchives() {
+    }
+
+    /**
+     * Vrai si le nom du fichier désigne une archive lisible.
+     */
+    static boolean isArchive(Path file) {
+        Path name = file.getFileName();
+        if (name == null) return false;
+        String lowerCase = name.toString().toLowerCase(Locale.ROOT);
+        return lowerCase.endsWith(".jar") || lowerCase.endsWith(".zip");
+    }
+
+    /**
+     * Ouvre une archive en lecture ; à fermer par {@link #close(FileSystem)}.
+     */
+    static FileSystem open(Path archive) throws IOException {
+        FileSystem fileSystem = FileSystems.newFileSystem(archive);
+        ORIGINS.put(fileSystem, archive);
+        return fileSystem;
+    }
+
+    static void close(FileSystem fileSystem) {
+        ORIGINS.remove(fileSystem);
+        try {
+            fileSystem.close();
+        } catch (IOException e) {
+            // Archive ouverte en lecture seule : rien à écrire
+        }
+    }
+
+    /**
+     * Archive contenant le chemin, ou null pour un fichier ordinaire.
+     */
+    static Path archiveOf(Path path) {
+        return ORIGINS.get(path.getFileSystem());
+    }
+
+    /**
+     * Chemin affiché dans les résultats : celui du fichier, précédé des archives qui le contiennent.
+     */
+    static String displayPath(Path path) {
+        Path archive = archiveOf(path);
+        return archive == null ? path.toString() : displayPath(archive) + "!" + path;
+    }
+
+    /**
+     * Identité absolue d'un fichier, distincte pour deux entrées homonymes de deux archives.
+     */
+    static String key(Path path) {
+        Path archive = archiveOf(path);
+        String absolute = path.toAbsolutePath().normalize().toString();
+        return archive == null ? absolute : key(archive) + "!" + absolute;
+    }
+}
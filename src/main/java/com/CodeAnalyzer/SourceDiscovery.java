@@ -0,0 +1,470 @@
+package com.CodeAnalyzer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Découverte des fichiers sources d'un projet.
+ * Parcourt l'arborescence de façon paresseuse avec des {@link DirectoryStream} :
+ * les fichiers sont produits au fur et à mesure, ce qui permet de commencer
+ * l'analyse avant la fin du parcours.
+ *
+ * Les motifs d'inclusion et d'exclusion sont des globs : un motif sans '/' porte
+ * sur le nom du fichier ou du répertoire, sinon sur le chemin relatif à la racine.
+ * Les fichiers {@code .gitignore} rencontrés sont respectés.
+ *
+ * La racine peut être une archive {@code .jar} ou {@code .zip} : ses entrées sont parcourues
+ * sur place (voir {@link SourceArchives}), de même que les archives qu'elle contient. Leurs
+ * chemins relatifs sont ceux des entrées, préfixés par {@code archive.jar!/} pour une archive
+ * imbriquée. Chaque archive est fermée dès que le parcours la quitte.
+ */
+public class SourceDiscovery {
+    /**
+     * Répertoires ignorés par défaut : sorties de build, métadonnées VCS et sources générées.
+     */
+    public static final List<String> DEFAULT_EXCLUDES = List.of(
+        "target", ".git", ".svn", ".hg", "node_modules", "generated-sources", "generated-test-sources"
+    );
+
+    private static final String IGNORE_FILE = ".gitignore";
+
+    private final List<Glob> includes = new ArrayList<>();
+    private final List<Glob> excludes = new ArrayList<>();
+    private long maxFileSize = Long.MAX_VALUE;
+    private boolean useIgnoreFiles = true;
+    private boolean scanArchives = false;
+
+    public SourceDiscovery() {
+        includes.add(new Glob("*.java"));
+        DEFAULT_EXCLUDES.forEach(pattern -> excludes.add(new Glob(pattern)));
+    }
+
+    /**
+     * Remplace les motifs d'inclusion (par défaut {@code *.java}).
+     */
+    public void setIncludes(Collection<String> patterns) {
+        includes.clear();
+        patterns.forEach(pattern -> includes.add(new Glob(pattern)));
+    }
+
+    public void addExclude(String pattern) {
+        excludes.add(new Glob(pattern));
+    }
+
+    /**
+     * Retire les exclusions, y compris celles par défaut.
+     */
+    public void clearExcludes() {
+        excludes.clear();
+    }
+
+    /**
+     * Taille maximale (en octets) d'un fichier source ; les fichiers plus gros sont ignorés.
+     */
+    public void setMaxFileSize(long maxFileSize) {
+        if (maxFileSize <= 0) {
+            throw new IllegalArgumentException("La taille maximale doit être positive : " + maxFileSize);
+        }
+        this.maxFileSize = maxFileSize;
+    }
+
+    public void setUseIgnoreFiles(boolean useIgnoreFiles) {
+        this.useIgnoreFiles = useIgnoreFiles;
+    }
+
+    /**
+     * Parcourt aussi les archives rencontrées dans les répertoires du projet ; celles contenues
+     * dans une archive sont toujours parcourues. Les exclusions s'appliquent au nom de l'archive.
+     */
+    public void setScanArchives(boolean scanArchives) {
+        this.scanArchives = scanArchives;
+    }
+
+    /**
+     * Retourne un flux paresseux des fichiers sources sous la racine donnée.
+     * Chaque répertoire n'est lu qu'au moment où le flux l'atteint ; ses entrées
+     * sont triées par nom pour que l'ordre de parcours soit reproductible. Les fichiers issus
+     * d'une archive ne sont lisibles que jusqu'à la suite du parcours ou la fermeture du flux.
+     */
+    public Stream<Path> discover(Path root) {
+        Walker walker = new Walker(root);
+        Spliterator<Path> spliterator = Spliterators.spliteratorUnknownSize(walker,
+            Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT);
+        return StreamSupport.stream(spliterator, false).onClose(walker::close);
+    }
+
+    /**
+     * Vrai si {@link #discover(Path)} produirait ce fichier (ou entrerait dans ce répertoire) :
+     * mêmes motifs, même taille maximale et mêmes fichiers {@code .gitignore}, relus depuis la racine.
+     * Sert au mode surveillance, qui reçoit des chemins isolés plutôt qu'un parcours complet.
+     */
+    public boolean accepts(Path root, Path path) {
+        BasicFileAttributes attributes = readAttributes(path);
+        if (attributes == null) return false;
+        boolean directory = attributes.isDirectory();
+        if (!directory && (!attributes.isRegularFile() || attributes.size() > maxFileSize)) return false;
+        Path relative = root.relativize(path);
+        if (relative.toString().isEmpty()) return directory;
+        if (relative.startsWith("..")) return false;
+
+        List<IgnoreFile> ignoreFiles = new ArrayList<>();
+        Path current = root;
+        for (int i = 0; i < relative.getNameCount(); i++) {
+            if (useIgnoreFiles) {
+                IgnoreFile ignoreFile = IgnoreFile.load(current.resolve(IGNORE_FILE));
+                if (ignoreFile != null) ignoreFiles.add(ignoreFile);
+            }
+            current = current.resolve(relative.getName(i));
+            String name = current.getFileName().toString();
+            boolean isDirectory = i < relative.getNameCount() - 1 || directory;
+            if (isExcluded(relativize(root, current), name) || isIgnored(ignoreFiles, current, name, isDirectory)) {
+                return false;
+            }
+        }
+        return directory || isIncluded(relativize(root, path), path.getFileName().toString());
+    }
+
+    /**
+     * Chemin relatif à la racine, avec {@code /} comme séparateur quel que soit le système.
+     * Une entrée d'archive est relative à la racine de l'archive, précédée du chemin de
+     * l'archive et de {@code !/} sauf si l'archive est la racine elle-même.
+     */
+    static String relativize(Path root, Path path) {
+        Path archive = SourceArchives.archiveOf(path);
+        if (archive != null) {
+            String entry = path.getFileSystem().getPath("/").relativize(path).toString();
+            return archive.equals(root) ? entry : relativize(root, archive) + "!/" + entry;
+        }
+        String relative = root.relativize(path).toString();
+        String separator = path.getFileSystem().getSeparator();
+        return separator.equals("/") ? relative : relative.replace(separator, "/");
+    }
+
+    /**
+     * Applique les fichiers d'exclusion du plus général au plus proche :
+     * la dernière règle correspondante l'emporte, comme dans git.
+     */
+    private static boolean isIgnored(List<IgnoreFile> ignoreFiles, Path entry, String name, boolean directory) {
+        boolean ignored = false;
+        for (IgnoreFile ignoreFile : ignoreFiles) {
+            Boolean decision = ignoreFile.decide(entry, name, directory);
+            if (decision != null) ignored = decision;
+        }
+        return ignored;
+    }
+
+    private boolean isExcluded(String relativePath, String name) {
+        for (Glob exclude : excludes) {
+            if (exclude.matches(relativePath, name)) return true;
+        }
+        return false;
+    }
+
+    private boolean isIncluded(String relativePath, String name) {
+        for (Glob include : includes) {
+            if (include.matches(relativePath, name)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Parcours en profondeur piloté par la demande, sans récursion sur la pile Java.
+     */
+    private class Walker implements Iterator<Path>, AutoCloseable {
+        private final Path root;
+        private final Deque<Frame> stack = new ArrayDeque<>();
+        private Path next;
+
+        Walker(Path root) {
+            this.root = root;
+            BasicFileAttributes attributes = readAttributes(root);
+            if (attributes == null) return;
+            if (attributes.isDirectory()) {
+                enter(root, attributes, null);
+            } else if (attributes.isRegularFile() && SourceArchives.isArchive(root)) {
+                enterArchive(root, null);
+            } else if (attributes.isRegularFile() && attributes.size() <= maxFileSize) {
+                next = root;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = advance();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Path next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Path result = next;
+            next = null;
+            return result;
+        }
+
+        private Path advance() {
+            while (!stack.isEmpty()) {
+                Frame frame = stack.peek();
+                if (!frame.entries.hasNext()) {
+                    stack.pop();
+                    if (frame.archive != null) SourceArchives.close(frame.archive);
+                    continue;
+                }
+
+                Path entry = frame.entries.next();
+                BasicFileAttributes attributes = readAttributes(entry);
+                if (attributes == null) continue;
+
+                String name = entry.getFileName().toString();
+                String relativePath = relativize(entry);
+                boolean directory = attributes.isDirectory();
+                if (isExcluded(relativePath, name) || frame.isIgnored(entry, name, directory)) continue;
+
+                if (directory) {
+                    enter(entry, attributes, frame);
+                } else if (attributes.isRegularFile() && SourceArchives.isArchive(entry)
+                        && (scanArchives || frame.inArchive)) {
+                    enterArchive(entry, frame);
+                } else if (attributes.isRegularFile()
+                        && attributes.size() <= maxFileSize
+                        && isIncluded(relativePath, name)) {
+                    return entry;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Empile un répertoire, sauf s'il est déjà un ancêtre (boucle de liens symboliques).
+         */
+        private void enter(Path directory, BasicFileAttributes attributes, Frame parent) {
+            Object key = fileKey(directory, attributes);
+            for (Frame ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+                if (ancestor.key.equals(key)) return;
+            }
+            List<Path> entries = list(directory);
+            if (entries == null) return;
+            List<IgnoreFile> ignoreFiles = parent == null ? List.of() : parent.ignoreFiles;
+            push(directory, key, parent, entries, ignoreFiles, null);
+        }
+
+        /**
+         * Empile la racine d'une archive. Les fichiers {@code .gitignore} extérieurs ne
+         * s'appliquent pas à ses entrées ; une archive illisible est ignorée comme un répertoire.
+         */
+        private void enterArchive(Path file, Frame parent) {
+            FileSystem archive;
+            try {
+                archive = SourceArchives.open(file);
+            } catch (IOException | RuntimeException e) {
+                return;
+            }
+            Path directory = archive.getPath("/");
+            List<Path> entries = list(directory);
+            if (entries == null) {
+                SourceArchives.close(archive);
+                return;
+            }
+            push(directory, archive, parent, entries, List.of(), archive);
+        }
+
+        private List<Path> list(Path directory) {
+            List<Path> entries = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                stream.forEach(entries::add);
+            } catch (IOException e) {
+                return null;
+            }
+            entries.sort(Comparator.comparing(path -> path.getFileName().toString()));
+            return entries;
+        }
+
+        private void push(Path directory, Object key, Frame parent, List<Path> entries,
+                          List<IgnoreFile> ignoreFiles, FileSystem archive) {
+            if (useIgnoreFiles) {
+                IgnoreFile ignoreFile = IgnoreFile.load(directory.resolve(IGNORE_FILE));
+                if (ignoreFile != null) {
+                    ignoreFiles = new ArrayList<>(ignoreFiles);
+                    ignoreFiles.add(ignoreFile);
+                }
+            }
+            stack.push(new Frame(key, parent, entries.iterator(), ignoreFiles, archive));
+        }
+
+        /**
+         * Ferme les archives encore ouvertes quand le flux est fermé avant la fin du parcours.
+         */
+        @Override
+        public void close() {
+            while (!stack.isEmpty()) {
+                Frame frame = stack.pop();
+                if (frame.archive != null) SourceArchives.close(frame.archive);
+            }
+        }
+
+        private String relativize(Path path) {
+            return SourceDiscovery.relativize(root, path);
+        }
+    }
+
+    private static BasicFileAttributes readAttributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;  // Lien symbolique cassé ou fichier supprimé pendant le parcours
+        }
+    }
+
+    private static Object fileKey(Path directory, BasicFileAttributes attributes) {
+        if (attributes.fileKey() != null) return attributes.fileKey();
+        try {
+            return directory.toRealPath();
+        } catch (IOException e) {
+            return directory.toAbsolutePath().normalize();
+        }
+    }
+
+    /**
+     * Répertoire en cours de parcours ; {@code archive} n'est renseignée qu'à la racine d'une archive.
+     */
+    private static class Frame {
+        final Object key;
+        final Frame parent;
+        final Iterator<Path> entries;
+        final List<IgnoreFile> ignoreFiles;
+        final FileSystem archive;
+        final boolean inArchive;
+
+        Frame(Object key, Frame parent, Iterator<Path> entries, List<IgnoreFile> ignoreFiles, FileSystem archive) {
+            this.key = key;
+            this.parent = parent;
+            this.entries = entries;
+            this.ignoreFiles = ignoreFiles;
+            this.archive = archive;
+            this.inArchive = archive != null || parent != null && parent.inArchive;
+        }
+
+        boolean isIgnored(Path entry, String name, boolean directory) {
+            return SourceDiscovery.isIgnored(ignoreFiles, entry, name, directory);
+        }
+    }
+
+    /**
+     * Motif glob portant sur le nom (motif sans '/') ou sur le chemin relatif.
+     */
+    private static class Glob {
+        final PathMatcher matcher;
+        final boolean nameOnly;
+
+        Glob(String pattern) {
+            this.nameOnly = !pattern.contains("/");
+            this.matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+        }
+
+        boolean matches(String relativePath, String name) {
+            return matcher.matches(Path.of(nameOnly ? name : relativePath));
+        }
+    }
+
+    /**
+     * Sous-ensemble de la syntaxe {@code .gitignore} : commentaires, négation ('!'),
+     * motifs réservés aux répertoires ('/' final) et motifs ancrés ('/' initial ou interne).
+     */
+    private static class IgnoreFile {
+        private final Path directory;
+        private final List<Rule> rules;
+
+        private IgnoreFile(Path directory, List<Rule> rules) {
+            this.directory = directory;
+            this.rules = rules;
+        }
+
+        static IgnoreFile load(Path file) {
+            if (!Files.isRegularFile(file)) return null;
+
+            List<Rule> rules = new ArrayList<>();
+            try (BufferedReader reader = Files.newBufferedReader(file)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Rule rule = Rule.parse(line);
+                    if (rule != null) rules.add(rule);
+                }
+            } catch (IOException | RuntimeException e) {
+                return null;
+            }
+            return rules.isEmpty() ? null : new IgnoreFile(file.getParent(), rules);
+        }
+
+        /**
+         * Retourne {@code true} si l'entrée est ignorée, {@code false} si elle est
+         * ré-incluse par une négation, {@code null} si aucune règle ne s'applique.
+         */
+        Boolean decide(Path entry, String name, boolean isDirectory) {
+            String relativePath = null;
+            Boolean decision = null;
+            for (Rule rule : rules) {
+                if (rule.directoryOnly && !isDirectory) continue;
+                boolean matches;
+                if (rule.anchored) {
+                    if (relativePath == null) {
+                        relativePath = directory.relativize(entry).toString().replace('\\', '/');
+                    }
+                    matches = rule.matcher.matches(Path.of(relativePath));
+                } else {
+                    matches = rule.matcher.matches(Path.of(name));
+                }
+                if (matches) decision = !rule.negated;
+            }
+            return decision;
+        }
+    }
+
+    private static class Rule {
+        final PathMatcher matcher;
+        final boolean negated;
+        final boolean directoryOnly;
+        final boolean anchored;
+
+        private Rule(PathMatcher matcher, boolean negated, boolean directoryOnly, boolean anchored) {
+            this.matcher = matcher;
+            this.negated = negated;
+            this.directoryOnly = directoryOnly;
+            this.anchored = anchored;
+        }
+
+        static Rule parse(String line) {
+            String pattern = line.strip();
+            if (pattern.isEmpty() || pattern.startsWith("#")) return null;
+
+            boolean negated = pattern.startsWith("!");
+            if (negated) pattern = pattern.substring(1);
+            boolean directoryOnly = pattern.endsWith("/");
+            if (directoryOnly) pattern = pattern.substring(0, pattern.length() - 1);
+            boolean anchored = pattern.contains("/");
+            if (pattern.startsWith("/")) pattern = pattern.substring(1);
+            if (pattern.startsWith("**/")) {
+                // "**/x" équivaut à un motif non ancré sur le nom
+                pattern = pattern.substring(3);
+                anchored = pattern.contains("/");
+            }
+            if (pattern.isEmpty()) return null;
+
+            // Les accolades n'ont pas de sens particulier dans .gitignore
+            String glob = pattern.replace("{", "\\{").replace("}", "\\}");
+            PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+            return new Rule(matcher, negated, directoryOnly, anchored);
+        }
+    }
+}
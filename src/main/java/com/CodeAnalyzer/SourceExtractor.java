@@ -0,0 +1,188 @@
+package com.CodeAnalyzer;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.PackageDeclaration;
+import com.github.javaparser.ast.body.*;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.MethodReferenceExpr;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Extraction des informations d'un fichier en un seul parcours de l'AST.
+ *
+ * Le parcours maintient une pile des classes englobantes : chaque méthode est rattachée
+ * à la classe qui la déclare directement et chaque appel à la méthode nommée la plus
+ * proche, une seule fois. Une référence de méthode ({@code this::process}, {@code Foo::bar}) compte
+ * comme un appel à la méthode nommée ; les références de constructeur ({@code Foo::new}) sont
+ * ignorées, comme les constructeurs. Les corps de classes anonymes sont transparents (leurs appels
+ * reviennent à la méthode englobante) ; tout autre type imbriqué ouvre sa propre portée.
+ *
+ * Le même parcours alimente les métriques enregistrées ({@link MetricRegistry}) : chaque nœud
+ * est présenté aux métriques de la classe et de la méthode courantes, dont les valeurs et
+ * les états sont rangés dans des tableaux alloués une fois par classe et par méthode.
+ * Une instance n'est utilisable que pour un seul fichier.
+ */
+class SourceExtractor {
+    private static final Object[] NO_STATES = new Object[0];
+
+    private final Deque<Scope> scopes = new ArrayDeque<>();
+    private final LineIndex lineIndex;
+    private final CodeAnalyzer.FileAnalysis result;
+    private final List<CodeMetric> classMetrics = MetricRegistry.classMetrics();
+    private final List<CodeMetric> methodMetrics = MetricRegistry.methodMetrics();
+    private final MetricContext context = new MetricContext();
+
+    private SourceExtractor(LineIndex lineIndex, CodeAnalyzer.FileAnalysis result) {
+        this.lineIndex = lineIndex;
+        this.result = result;
+    }
+
+    /**
+     * Extrait les classes, méthodes, package, appels, métriques de lignes et métriques
+     * enregistrées de l'unité de compilation.
+     */
+    static void extract(CompilationUnit cu, CodeAnalyzer.FileAnalysis result) {
+        LineIndex lineIndex = LineIndex.of(cu);
+        result.lines = lineIndex.fileMetrics();
+        new SourceExtractor(lineIndex, result).visit(cu);
+    }
+
+    private void visit(Node node) {
+        Scope scope = scopes.peek();
+        if (node instanceof PackageDeclaration n) {
+            result.packageName = n.getNameAsString();
+        } else if (node instanceof ClassOrInterfaceDeclaration n) {
+            CodeAnalyzer.ClassInfo classInfo = new CodeAnalyzer.ClassInfo(n.getNameAsString());
+            classInfo.lines = lineIndex.metrics(n);
+            result.classes.add(classInfo);
+            visitScope(n, classInfo);
+        } else if (node instanceof EnumDeclaration || node instanceof RecordDeclaration
+                || node instanceof AnnotationDeclaration) {
+            visitScope(node, null);
+        } else if (node instanceof MethodDeclaration n && scope != null && scope.declares(n)) {
+            visitMethod(n, scope);
+        } else {
+            if (node instanceof MethodCallExpr n && scope != null && scope.caller != null) {
+                result.calls.add(new String[] { scope.caller, n.getNameAsString() });
+            } else if (node instanceof MethodReferenceExpr n && scope != null && scope.caller != null
+                    && !n.getIdentifier().equals("new")) {
+                result.calls.add(new String[] { scope.caller, n.getIdentifier() });
+            }
+            visitChildren(node, scope);
+        }
+    }
+
+    /**
+     * Parcourt un type nommé dans une nouvelle portée, sans méthode appelante courante.
+     * Seules les classes et interfaces produisent des {@link CodeAnalyzer.ClassInfo}.
+     */
+    private void visitScope(Node declaration, CodeAnalyzer.ClassInfo classInfo) {
+        Scope scope = new Scope(declaration, classInfo);
+        if (classInfo != null) scope.classStates = newStates(classMetrics);
+        scopes.push(scope);
+        try {
+            visitChildren(declaration, scope);
+            if (classInfo != null) finish(classMetrics, declaration, classInfo.metrics, scope.classStates);
+        } finally {
+            scopes.pop();
+        }
+    }
+
+    private void visitMethod(MethodDeclaration n, Scope scope) {
+        CodeAnalyzer.MethodInfo methodInfo = new CodeAnalyzer.MethodInfo(n.getNameAsString(), lineIndex.metrics(n));
+        scope.classInfo.methods.add(methodInfo);
+
+        String previousCaller = scope.caller;
+        scope.caller = scope.classInfo.name + "." + methodInfo.name;
+        scope.method = n;
+        scope.methodInfo = methodInfo;
+        scope.methodStates = newStates(methodMetrics);
+        try {
+            visitChildren(n, scope);
+            finish(methodMetrics, n, methodInfo.metrics, scope.methodStates);
+        } finally {
+            scope.caller = previousCaller;
+            scope.method = null;
+            scope.methodInfo = null;
+            scope.methodStates = null;
+        }
+    }
+
+    /**
+     * Présente le nœud aux métriques de la classe et de la méthode courantes, puis parcourt ses enfants.
+     */
+    private void visitChildren(Node node, Scope scope) {
+        boolean inClass = scope != null && scope.classInfo != null;
+        boolean inMethod = inClass && scope.methodInfo != null;
+        if (inClass) enter(classMetrics, node, scope.declaration, scope.classInfo.metrics, scope.classStates);
+        if (inMethod) enter(methodMetrics, node, scope.method, scope.methodInfo.metrics, scope.methodStates);
+
+        List<Node> children = node.getChildNodes();
+        for (int i = 0; i < children.size(); i++) {
+            visit(children.get(i));
+        }
+
+        if (inMethod) leave(methodMetrics, node, scope.method, scope.methodInfo.metrics, scope.methodStates);
+        if (inClass) leave(classMetrics, node, scope.declaration, scope.classInfo.metrics, scope.classStates);
+    }
+
+    private void enter(List<CodeMetric> metrics, Node node, Node declaration, int[] values, Object[] states) {
+        for (int slot = 0; slot < metrics.size(); slot++) {
+            context.point(declaration, values, states, slot);
+            metrics.get(slot).enter(node, context);
+        }
+    }
+
+    private void leave(List<CodeMetric> metrics, Node node, Node declaration, int[] values, Object[] states) {
+        for (int slot = 0; slot < metrics.size(); slot++) {
+            context.point(declaration, values, states, slot);
+            metrics.get(slot).leave(node, context);
+        }
+    }
+
+    private void finish(List<CodeMetric> metrics, Node declaration, int[] values, Object[] states) {
+        for (int slot = 0; slot < metrics.size(); slot++) {
+            context.point(declaration, values, states, slot);
+            metrics.get(slot).finish(context);
+        }
+    }
+
+    private static Object[] newStates(List<CodeMetric> metrics) {
+        Object[] states = NO_STATES;
+        for (int slot = 0; slot < metrics.size(); slot++) {
+            Object state = metrics.get(slot).newState();
+            if (state == null) continue;
+            if (states == NO_STATES) states = new Object[metrics.size()];
+            states[slot] = state;
+        }
+        return states;
+    }
+
+    /**
+     * Type nommé en cours de parcours, méthode courante dans ce type et états des métriques.
+     */
+    private static class Scope {
+        final Node declaration;
+        final CodeAnalyzer.ClassInfo classInfo;
+        Object[] classStates;
+        String caller;
+        MethodDeclaration method;
+        CodeAnalyzer.MethodInfo methodInfo;
+        Object[] methodStates;
+
+        Scope(Node declaration, CodeAnalyzer.ClassInfo classInfo) {
+            this.declaration = declaration;
+            this.classInfo = classInfo;
+        }
+
+        /**
+         * Vrai si le membre est déclaré directement dans une classe ou interface de cette portée.
+         */
+        boolean declares(BodyDeclaration<?> member) {
+            return classInfo != null && member.getParentNode().orElse(null) == declaration;
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package com.CodeAnalyzer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Étage de lecture anticipée entre la découverte des fichiers et leur analyse.
+ *
+ * Un thread d'E/S parcourt les fichiers découverts et lit leur contenu, dans l'ordre, pendant
+ * que les threads d'analyse travaillent sur les fichiers précédents. Les petits fichiers sont lus
+ * d'un bloc dans des tableaux d'un pool (classes de tailles en puissances de deux) ; à partir de
+ * {@link #MAP_THRESHOLD} octets, ils sont projetés en mémoire et chargés par le thread d'E/S.
+ * Les entrées d'archives ne sont jamais projetées : elles sont décompressées dans un tableau.
+ * Les octets en attente d'analyse sont plafonnés : au-delà, le thread d'E/S attend qu'un contenu
+ * soit rendu par {@link Content#release()}, ce qui borne la mémoire quelle que soit l'avance prise.
+ *
+ * Avec un cache, un fichier inchangé (taille et date) est résolu par le thread d'E/S sans être lu.
+ */
+final class SourcePrefetcher implements AutoCloseable {
+    static final long DEFAULT_MAX_BUFFERED_BYTES = 32L * 1024 * 1024;
+    static final int MAP_THRESHOLD = 1 << 20;
+    private static final int MIN_BUFFER_SIZE = 8 * 1024;
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final Source END = new Source(null, null, null, null, null, null);
+
+    /**
+     * Fichier prêt à être analysé : résultat trouvé dans le cache, contenu lu ou erreur de lecture.
+     * {@code path} est le chemin affiché, fixé pendant que l'archive d'une entrée est ouverte ;
+     * {@code fingerprint} n'est renseignée qu'avec un cache.
+     */
+    record Source(Path file, String path, CodeAnalyzer.FileAnalysis cached, AnalysisCache.Fingerprint fingerprint,
+                  Content content, IOException error) {
+    }
+
+    private final Iterator<Path> files;
+    private final AnalysisCache cache;
+    private final BufferPool pool;
+    private final BlockingQueue<Source> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread thread;
+    private volatile boolean closed = false;
+    private volatile RuntimeException failure;
+
+    // Compteurs du thread d'E/S, lus après la fin du parcours
+    private volatile long readNanos;
+    private volatile long backpressureNanos;
+    private volatile long bytesRead;
+    private volatile int filesRead;
+    private volatile int mappedFiles;
+    private long waitNanos;  // Attente du consommateur
+
+    /**
+     * Démarre la lecture de {@code files} ; {@code cache} peut être null.
+     */
+    SourcePrefetcher(Iterator<Path> files, AnalysisCache cache, long maxBufferedBytes) {
+        this.files = files;
+        this.cache = cache;
+        this.pool = new BufferPool(maxBufferedBytes);
+        this.thread = new Thread(this::run, "source-prefetcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Fichier suivant dans l'ordre de découverte, ou null à la fin. Une exception levée par
+     * la découverte est relancée ici. À appeler depuis un seul thread.
+     */
+    Source next() throws InterruptedException {
+        Source source = queue.poll();
+        if (source == null) {
+            // Attente de la lecture, hors du temps où le thread d'E/S attendait lui-même de la place
+            long start = System.nanoTime() - stalledNanos();
+            source = queue.take();
+            waitNanos += Math.max(0, System.nanoTime() - stalledNanos() - start);
+        }
+        if (source == END) {
+            queue.put(END);  // Les appels suivants renvoient aussi null
+            if (failure != null) throw failure;
+            return null;
+        }
+        return source;
+    }
+
+    /**
+     * Statistiques de lecture, complétées du temps d'analyse et de la durée totale mesurés par l'appelant.
+     */
+    PipelineStatistics statistics(long parseNanos, long elapsedNanos) {
+        return new PipelineStatistics(filesRead, bytesRead, mappedFiles, readNanos,
+            stalledNanos(), waitNanos, parseNanos, pool.peakBytes(), elapsedNanos);
+    }
+
+    private long stalledNanos() {
+        return backpressureNanos + pool.waitNanos();
+    }
+
+    /**
+     * Arrête le thread d'E/S et rend les contenus non consommés. La source des fichiers
+     * n'est plus utilisée au retour : elle peut être fermée.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        thread.interrupt();
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        for (Source source; (source = queue.poll()) != null; ) {
+            if (source.content() != null) source.content().release();
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private void run() {
+        try {
+            while (!closed && files.hasNext()) {
+                Source source = load(files.next());
+                long start = System.nanoTime();
+                queue.put(source);
+                backpressureNanos += System.nanoTime() - start;
+            }
+        } catch (InterruptedException e) {
+            // Fermé par close()
+        } catch (RuntimeException e) {
+            failure = e;
+        } finally {
+            if (!closed) {
+                try {
+                    queue.put(END);
+                } catch (InterruptedException e) {
+                    // Fermé par close() pendant l'attente d'une place
+                }
+            }
+        }
+    }
+
+    private Source load(Path file) throws InterruptedException {
+        long start = System.nanoTime() - pool.waitNanos();  // Attente de place exclue
+        String path = SourceArchives.displayPath(file);
+        AnalysisCache.Fingerprint fingerprint = null;
+        try {
+            if (cache != null) {
+                fingerprint = cache.fingerprint(file);
+                CodeAnalyzer.FileAnalysis cached = cache.lookup(fingerprint);
+                if (cached != null) return new Source(file, path, cached, fingerprint, null, null);
+            }
+            Content content = read(file);
+            filesRead++;
+            bytesRead += content.length();
+            return new Source(file, path, null, fingerprint, content, null);
+        } catch (IOException e) {
+            if (Thread.interrupted()) throw new InterruptedException();  // Lecture interrompue par close()
+            return new Source(file, path, null, fingerprint, null, e);
+        } finally {
+            readNanos += System.nanoTime() - pool.waitNanos() - start;
+        }
+    }
+
+    private Content read(Path file) throws IOException, InterruptedException {
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE - 1) throw new IOException("Fichier trop volumineux : " + file);
+            if (size >= MAP_THRESHOLD && channel instanceof FileChannel fileChannel) {
+                pool.reserve((int) size);
+                try {
+                    MappedByteBuffer mapped = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                    mapped.load();
+                    mappedFiles++;
+                    return new Content(pool, null, mapped, (int) size, (int) size);
+                } catch (IOException | RuntimeException e) {
+                    pool.unreserve((int) size);
+                    throw e;
+                }
+            }
+
+            byte[] array = pool.acquire((int) size);
+            ByteBuffer buffer = ByteBuffer.wrap(array);
+            try {
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // Lecture en bloc jusqu'à la fin du fichier ou du tableau
+                }
+                if (!buffer.hasRemaining() && channel.position() < channel.size()) {
+                    // Le fichier a grandi depuis sa taille lue : lecture complète hors du pool
+                    pool.release(array);
+                    byte[] all = Files.readAllBytes(file);
+                    return new Content(null, all, null, all.length, 0);
+                }
+            } catch (IOException | RuntimeException e) {
+                pool.release(array);
+                throw e;
+            }
+            return new Content(pool, array, null, buffer.position(), array.length);
+        }
+    }
+
+    /**
+     * Contenu d'un fichier, dans un tableau ou une projection. À rendre par {@link #release()}
+     * une fois analysé, depuis n'importe quel thread.
+     */
+    static final class Content {
+        private final BufferPool pool;
+        private final byte[] array;
+        private final ByteBuffer mapped;
+        private final int length;
+        private final int reserved;
+
+        private Content(BufferPool pool, byte[] array, ByteBuffer mapped, int length, int reserved) {
+            this.pool = pool;
+            this.array = array;
+            this.mapped = mapped;
+            this.length = length;
+            this.reserved = reserved;
+        }
+
+        /**
+         * Contenu lu directement, hors de l'étage de lecture anticipée.
+         */
+        static Content of(byte[] bytes) {
+            return new Content(null, bytes, null, bytes.length, 0);
+        }
+
+        int length() {
+            return length;
+        }
+
+        /**
+         * Vue en lecture seule du contenu.
+         */
+        ByteBuffer buffer() {
+            return array != null
+                ? ByteBuffer.wrap(array, 0, length).asReadOnlyBuffer()
+                : mapped.asReadOnlyBuffer();
+        }
+
+        InputStream stream() {
+            if (array != null) return new ByteArrayInputStream(array, 0, length);
+            ByteBuffer buffer = mapped.asReadOnlyBuffer();
+            return new InputStream() {
+                @Override
+                public int read() {
+                    return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+                }
+
+                @Override
+                public int read(byte[] bytes, int offset, int count) {
+                    if (count == 0) return 0;
+                    if (!buffer.hasRemaining()) return -1;
+                    int read = Math.min(count, buffer.remaining());
+                    buffer.get(bytes, offset, read);
+                    return read;
+                }
+
+                @Override
+                public int available() {
+                    return buffer.remaining();
+                }
+            };
+        }
+
+        void release() {
+            if (pool == null) return;
+            if (array != null) pool.release(array);
+            else pool.unreserve(reserved);
+        }
+    }
+
+    /**
+     * Tableaux réutilisables par classe de taille et plafond des octets en cours d'utilisation.
+     * Un fichier plus gros que le plafond est accepté seul, quand rien d'autre n'est en attente.
+     */
+    private static final class BufferPool {
+        private final long maxBytes;
+        private final ArrayDeque<byte[]>[] free;
+        private long usedBytes;
+        private long pooledBytes;
+        private long peakBytes;
+        private long waitNanos;
+
+        @SuppressWarnings("unchecked")
+        BufferPool(long maxBytes) {
+            this.maxBytes = maxBytes;
+            this.free = (ArrayDeque<byte[]>[]) new ArrayDeque<?>[sizeClass(MAP_THRESHOLD) + 1];
+            for (int i = 0; i < free.length; i++) {
+                free[i] = new ArrayDeque<>();
+            }
+        }
+
+        private static int sizeClass(int size) {
+            int capacity = Math.max(MIN_BUFFER_SIZE, Integer.highestOneBit(Math.max(1, size - 1)) << 1);
+            return Integer.numberOfTrailingZeros(capacity) - Integer.numberOfTrailingZeros(MIN_BUFFER_SIZE);
+        }
+
+        /**
+         * Tableau d'au moins {@code size + 1} octets : un octet de plus permet de détecter un fichier qui a grandi.
+         */
+        synchronized byte[] acquire(int size) throws InterruptedException {
+            int sizeClass = sizeClass(size + 1);
+            int capacity = sizeClass < free.length ? MIN_BUFFER_SIZE << sizeClass : size + 1;
+            waitFor(capacity);
+            usedBytes += capacity;
+            peakBytes = Math.max(peakBytes, usedBytes);
+            if (sizeClass >= free.length) return new byte[capacity];  // Hors des classes du pool
+            byte[] array = free[sizeClass].poll();
+            if (array != null) {
+                pooledBytes -= capacity;
+                return array;
+            }
+            return new byte[capacity];
+        }
+
+        synchronized void release(byte[] array) {
+            usedBytes -= array.length;
+            if (sizeClass(array.length) < free.length && pooledBytes + array.length <= maxBytes) {
+                free[sizeClass(array.length)].push(array);
+                pooledBytes += array.length;
+            }
+            notifyAll();
+        }
+
+        synchronized void reserve(int size) throws InterruptedException {
+            waitFor(size);
+            usedBytes += size;
+            peakBytes = Math.max(peakBytes, usedBytes);
+        }
+
+        synchronized void unreserve(int size) {
+            usedBytes -= size;
+            notifyAll();
+        }
+
+        synchronized long peakBytes() {
+            return peakBytes;
+        }
+
+        /**
+         * Temps passé à attendre de la place.
+         */
+        synchronized long waitNanos() {
+            return waitNanos;
+        }
+
+        private void waitFor(int size) throws InterruptedException {
+            if (usedBytes == 0 || usedBytes + size <= maxBytes) return;
+            long start = System.nanoTime();
+            try {
+                while (usedBytes > 0 && usedBytes + size > maxBytes) {
+                    wait();
+                }
+            } finally {
+                waitNanos += System.nanoTime() - start;
+            }
+        }
+    }
+}
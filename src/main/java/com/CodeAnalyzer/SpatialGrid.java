@@ -0,0 +1,119 @@
+package com.CodeAnalyzer;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Index spatial des nœuds d'un graphe dessiné : grille uniforme stockée en CSR.
+ *
+ * La taille des cellules est choisie pour qu'une cellule contienne en moyenne quelques
+ * nœuds ; une requête rectangulaire ne parcourt que les cellules qu'elle recouvre.
+ * L'index est immuable : il est reconstruit (en O(n)) quand les positions changent.
+ */
+final class SpatialGrid {
+    private static final int NODES_PER_CELL = 4;
+
+    private final double[] x;
+    private final double[] y;
+    private final double minX;
+    private final double minY;
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+    private final int[] cellStart;
+    private final int[] cellNodes;
+
+    SpatialGrid(double[] x, double[] y, int count) {
+        this.x = x;
+        this.y = y;
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            minX = Math.min(minX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxX = Math.max(maxX, x[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+        if (count == 0) {
+            minX = minY = maxX = maxY = 0;
+        }
+        this.minX = minX;
+        this.minY = minY;
+
+        double width = Math.max(1, maxX - minX);
+        double height = Math.max(1, maxY - minY);
+        int cellCount = Math.max(1, count / NODES_PER_CELL);
+        this.cellSize = Math.max(1e-6, Math.sqrt(width * height / cellCount));
+        this.columns = (int) Math.min(4096, Math.floor(width / cellSize) + 1);
+        this.rows = (int) Math.min(4096, Math.floor(height / cellSize) + 1);
+
+        // Tri par comptage des nœuds par cellule
+        this.cellStart = new int[columns * rows + 1];
+        int[] cellOf = new int[count];
+        for (int i = 0; i < count; i++) {
+            cellOf[i] = cell(column(x[i]), row(y[i]));
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < columns * rows; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        this.cellNodes = new int[count];
+        int[] cursor = Arrays.copyOf(cellStart, columns * rows);
+        for (int i = 0; i < count; i++) {
+            cellNodes[cursor[cellOf[i]]++] = i;
+        }
+    }
+
+    private int column(double value) {
+        return clamp((int) Math.floor((value - minX) / cellSize), columns);
+    }
+
+    private int row(double value) {
+        return clamp((int) Math.floor((value - minY) / cellSize), rows);
+    }
+
+    private static int clamp(int index, int size) {
+        return Math.max(0, Math.min(size - 1, index));
+    }
+
+    private int cell(int column, int row) {
+        return row * columns + column;
+    }
+
+    /**
+     * Appelle {@code action} pour chaque nœud situé dans le rectangle donné (bornes incluses).
+     */
+    void query(double fromX, double fromY, double toX, double toY, IntConsumer action) {
+        if (cellNodes.length == 0) return;
+        int firstColumn = column(fromX), lastColumn = column(toX);
+        int firstRow = row(fromY), lastRow = row(toY);
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstColumn; c <= lastColumn; c++) {
+                int cell = cell(c, r);
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int node = cellNodes[k];
+                    if (x[node] >= fromX && x[node] <= toX && y[node] >= fromY && y[node] <= toY) {
+                        action.accept(node);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Retourne le nœud le plus proche du point, à une distance au plus {@code radius}, ou -1.
+     */
+    int nearest(double pointX, double pointY, double radius) {
+        int[] best = { -1 };
+        double[] bestDistance = { radius * radius };
+        query(pointX - radius, pointY - radius, pointX + radius, pointY + radius, node -> {
+            double dx = x[node] - pointX, dy = y[node] - pointY;
+            double distance = dx * dx + dy * dy;
+            if (distance <= bestDistance[0]) {
+                bestDistance[0] = distance;
+                best[0] = node;
+            }
+        });
+        return best[0];
+    }
+}
@@ -0,0 +1,169 @@
+package com.CodeAnalyzer;
+
+import java.util.*;
+
+/**
+ * Composantes fortement connexes du graphe d'appel et profondeur d'appel maximale.
+ *
+ * L'algorithme de Tarjan est déroulé avec des piles explicites : aucune récursion sur
+ * la pile Java, quelle que soit la longueur des chaînes d'appel. Tarjan émet les
+ * composantes dans l'ordre topologique inverse du graphe condensé (DAG), ce qui permet
+ * de calculer le plus long chemin pendant le même parcours, en O(V + E).
+ *
+ * La profondeur d'une composante vaut son nombre de méthodes plus la profondeur
+ * maximale des composantes qu'elle appelle : chaque méthode d'un cycle compte une fois.
+ * Sur un graphe résolu ({@link CompactCallGraph#resolve}), un nom simple résolu n'est qu'un
+ * relais vers les méthodes déclarées : il ne compte ni dans la profondeur ni dans les cycles.
+ * Un nom non résolu (méthode de bibliothèque) compte comme une méthode appelée.
+ */
+final class StronglyConnectedComponents {
+    private final CompactCallGraph graph;
+    private final int[] componentOf;
+    private final List<int[]> cycles = new ArrayList<>();
+    private int componentCount = 0;
+    private int maxDepth = 0;
+
+    StronglyConnectedComponents(CompactCallGraph graph) {
+        this.graph = graph;
+        this.componentOf = new int[graph.methodCount()];
+        compute();
+    }
+
+    private void compute() {
+        int n = graph.methodCount();
+        int[] offsets = graph.forwardOffsets();
+        int[] targets = graph.forwardTargets();
+
+        int[] index = new int[n];
+        int[] lowLink = new int[n];
+        Arrays.fill(index, -1);
+        boolean[] onStack = new boolean[n];
+        int[] sccStack = new int[n];
+        int sccTop = 0;
+        int[] callStack = new int[n];
+        int[] nextEdge = new int[n];
+        int[] componentDepth = new int[n];
+        int nextIndex = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] != -1) continue;
+
+            int callTop = 0;
+            callStack[callTop++] = root;
+            index[root] = lowLink[root] = nextIndex++;
+            nextEdge[root] = offsets[root];
+            sccStack[sccTop++] = root;
+            onStack[root] = true;
+
+            while (callTop > 0) {
+                int node = callStack[callTop - 1];
+                if (nextEdge[node] < offsets[node + 1]) {
+                    int child = targets[nextEdge[node]++];
+                    if (index[child] == -1) {
+                        index[child] = lowLink[child] = nextIndex++;
+                        nextEdge[child] = offsets[child];
+                        sccStack[sccTop++] = child;
+                        onStack[child] = true;
+                        callStack[callTop++] = child;
+                    } else if (onStack[child]) {
+                        lowLink[node] = Math.min(lowLink[node], index[child]);
+                    }
+                    continue;
+                }
+
+                callTop--;
+                if (callTop > 0) {
+                    int parent = callStack[callTop - 1];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+                }
+                if (lowLink[node] == index[node]) {
+                    sccTop = emitComponent(node, sccStack, sccTop, onStack, componentDepth);
+                }
+            }
+        }
+    }
+
+    /**
+     * Dépile la composante dont {@code head} est la racine et calcule sa profondeur.
+     * Toutes les composantes qu'elle appelle ont déjà été émises.
+     */
+    private int emitComponent(int head, int[] sccStack, int sccTop, boolean[] onStack, int[] componentDepth) {
+        int[] offsets = graph.forwardOffsets();
+        int[] targets = graph.forwardTargets();
+        int component = componentCount++;
+
+        int start = sccTop;
+        do {
+            start--;
+            onStack[sccStack[start]] = false;
+            componentOf[sccStack[start]] = component;
+        } while (sccStack[start] != head);
+
+        int size = 0;
+        int maxChildDepth = 0;
+        boolean selfLoop = false;
+        for (int i = start; i < sccTop; i++) {
+            int node = sccStack[i];
+            if (counts(node)) size++;
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                int childComponent = componentOf[targets[e]];
+                if (childComponent == component) {
+                    selfLoop |= targets[e] == node;
+                } else {
+                    maxChildDepth = Math.max(maxChildDepth, componentDepth[childComponent]);
+                }
+            }
+        }
+        componentDepth[component] = size + maxChildDepth;
+        maxDepth = Math.max(maxDepth, componentDepth[component]);
+
+        if (sccTop - start > 1 || selfLoop) {
+            int[] members = Arrays.stream(sccStack, start, sccTop)
+                .filter(member -> CompactCallGraph.isDeclared(graph.nameOf(member)))
+                .sorted()
+                .toArray();
+            cycles.add(members);
+        }
+        return start;
+    }
+
+    /**
+     * Vrai si le nœud est une méthode : déclarée, ou appelée sans être résolue.
+     */
+    private boolean counts(int node) {
+        return CompactCallGraph.isDeclared(graph.nameOf(node)) || graph.outDegree(node) == 0;
+    }
+
+    /**
+     * Profondeur maximale des appels ; 0 pour un graphe sans arête.
+     */
+    int maxDepth() {
+        return graph.edgeCount() == 0 ? 0 : maxDepth;
+    }
+
+    int componentCount() {
+        return componentCount;
+    }
+
+    int componentOf(int node) {
+        return componentOf[node];
+    }
+
+    /**
+     * Cycles récursifs : composantes de plusieurs méthodes ou méthodes qui s'appellent
+     * elles-mêmes, des plus grandes aux plus petites.
+     */
+    List<List<String>> cycles() {
+        List<List<String>> result = new ArrayList<>(cycles.size());
+        for (int[] members : cycles) {
+            List<String> names = new ArrayList<>(members.length);
+            for (int member : members) {
+                names.add(graph.nameOf(member));
+            }
+            result.add(Collections.unmodifiableList(names));
+        }
+        result.sort(Comparator.<List<String>>comparingInt(List::size).reversed()
+            .thenComparing(names -> names.get(0)));
+        return result;
+    }
+}
@@ -1,8 +1,19 @@
+// CodeMetric expose des nœuds JavaParser : les modules de métriques doivent lire ce module automatique
+@SuppressWarnings({"requires-automatic", "requires-transitive-automatic"})
 module com.CodeAnalyzer {
     requires javafx.controls;
     requires javafx.fxml;
-    requires com.github.javaparser.core;
+    requires transitive com.github.javaparser.core;
 	requires javafx.graphics;
 
     exports com.CodeAnalyzer;
+
+    uses com.CodeAnalyzer.CodeMetric;
+    provides com.CodeAnalyzer.CodeMetric with
+        com.CodeAnalyzer.AttributeCountMetric,
+        com.CodeAnalyzer.CouplingMetric,
+        com.CodeAnalyzer.CohesionMetric,
+        com.CodeAnalyzer.ParameterCountMetric,
+        com.CodeAnalyzer.CyclomaticComplexityMetric,
+        com.CodeAnalyzer.NestingDepthMetric;
 }
\ No newline at end of file